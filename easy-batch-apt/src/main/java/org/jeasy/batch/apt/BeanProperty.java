@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.apt;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * A property of an annotated bean, resolved at compile time.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class BeanProperty {
+
+    private final String name;
+    private final String getter;
+    private final String setter;
+    private final TypeMirror type;
+
+    BeanProperty(String name, String getter, String setter, TypeMirror type) {
+        this.name = name;
+        this.getter = getter;
+        this.setter = setter;
+        this.type = type;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getGetter() {
+        return getter;
+    }
+
+    String getSetter() {
+        return setter;
+    }
+
+    TypeMirror getType() {
+        return type;
+    }
+}
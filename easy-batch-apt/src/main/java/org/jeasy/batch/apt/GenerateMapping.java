@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.apt;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate reflection-free mapping classes for the annotated JavaBean at compile time.
+ * For a type named {@code Person}, the {@link MappingProcessor} generates the following
+ * classes in the same package, depending on the Easy Batch modules found on the compile classpath:
+ *
+ * <ul>
+ *     <li>{@code PersonFieldExtractor}: a {@code FieldExtractor<Person>} (easy-batch-core)</li>
+ *     <li>{@code PersonDelimitedRecordMapper}: a {@code RecordMapper<String, Person>} for delimited records (easy-batch-flatfile)</li>
+ *     <li>{@code PersonPreparedStatementProvider}: a {@code PreparedStatementProvider} (easy-batch-jdbc)</li>
+ * </ul>
+ *
+ * The annotated type must have a public no-argument constructor, and mapped fields must have
+ * a public getter and a public setter.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateMapping {
+
+    /**
+     * Names of the fields to map, in the same order as in records. Defaults to all
+     * fields having a public getter and a public setter, in declaration order
+     * (fields of super classes first).
+     *
+     * @return names of fields to map
+     */
+    String[] fields() default {};
+
+    /**
+     * Delimiter of fields in delimited records.
+     *
+     * @return the delimiter of fields
+     */
+    String delimiter() default ",";
+
+    /**
+     * Qualifier of fields in delimited records. Empty if fields are not qualified.
+     *
+     * @return the qualifier of fields
+     */
+    String qualifier() default "";
+
+    /**
+     * Trim white spaces around fields of delimited records.
+     *
+     * @return true if white spaces should be trimmed
+     */
+    boolean trimWhitespaces() default false;
+
+}
@@ -0,0 +1,305 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.apt;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Generator of the source code of mapping classes of an annotated bean.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class MappingGenerator {
+
+    // same converters as the ones registered by default in the ObjectMapper
+    private static final Map<String, String> TYPE_CONVERTERS = new HashMap<>();
+    // same SQL types as the ones used by the BeanPropertiesPreparedStatementProvider
+    private static final Map<String, String> SQL_TYPES = new HashMap<>();
+
+    static {
+        TYPE_CONVERTERS.put("java.util.concurrent.atomic.AtomicInteger", "AtomicIntegerTypeConverter");
+        TYPE_CONVERTERS.put("java.util.concurrent.atomic.AtomicLong", "AtomicLongTypeConverter");
+        TYPE_CONVERTERS.put("java.math.BigDecimal", "BigDecimalTypeConverter");
+        TYPE_CONVERTERS.put("java.math.BigInteger", "BigIntegerTypeConverter");
+        TYPE_CONVERTERS.put("java.lang.Boolean", "BooleanTypeConverter");
+        TYPE_CONVERTERS.put("java.lang.Byte", "ByteTypeConverter");
+        TYPE_CONVERTERS.put("java.lang.Character", "CharacterTypeConverter");
+        TYPE_CONVERTERS.put("java.lang.Double", "DoubleTypeConverter");
+        TYPE_CONVERTERS.put("java.lang.Float", "FloatTypeConverter");
+        TYPE_CONVERTERS.put("java.lang.Integer", "IntegerTypeConverter");
+        TYPE_CONVERTERS.put("java.lang.Long", "LongTypeConverter");
+        TYPE_CONVERTERS.put("java.lang.Short", "ShortTypeConverter");
+        TYPE_CONVERTERS.put("java.util.Date", "DateTypeConverter");
+        TYPE_CONVERTERS.put("java.util.Calendar", "GregorianCalendarTypeConverter");
+        TYPE_CONVERTERS.put("java.util.GregorianCalendar", "GregorianCalendarTypeConverter");
+        TYPE_CONVERTERS.put("java.sql.Date", "SqlDateTypeConverter");
+        TYPE_CONVERTERS.put("java.sql.Time", "SqlTimeTypeConverter");
+        TYPE_CONVERTERS.put("java.sql.Timestamp", "SqlTimestampTypeConverter");
+        TYPE_CONVERTERS.put("java.time.LocalDate", "LocalDateConverter");
+        TYPE_CONVERTERS.put("java.time.LocalTime", "LocalTimeConverter");
+        TYPE_CONVERTERS.put("java.time.LocalDateTime", "LocalDateTimeConverter");
+
+        SQL_TYPES.put("java.lang.Boolean", "BOOLEAN");
+        SQL_TYPES.put("java.lang.Byte", "TINYINT");
+        SQL_TYPES.put("java.lang.Short", "SMALLINT");
+        SQL_TYPES.put("java.lang.Integer", "INTEGER");
+        SQL_TYPES.put("java.lang.Long", "BIGINT");
+        SQL_TYPES.put("java.math.BigInteger", "BIGINT");
+        SQL_TYPES.put("java.lang.Float", "FLOAT");
+        SQL_TYPES.put("java.lang.Double", "DOUBLE");
+        SQL_TYPES.put("java.math.BigDecimal", "DECIMAL");
+        SQL_TYPES.put("java.util.Date", "DATE");
+        SQL_TYPES.put("java.util.Calendar", "DATE");
+        SQL_TYPES.put("java.sql.Date", "DATE");
+        SQL_TYPES.put("java.sql.Time", "TIME");
+        SQL_TYPES.put("java.sql.Timestamp", "TIMESTAMP");
+        SQL_TYPES.put("java.time.LocalDate", "DATE");
+        SQL_TYPES.put("java.time.LocalTime", "TIME");
+        SQL_TYPES.put("java.time.LocalDateTime", "TIMESTAMP");
+        SQL_TYPES.put("java.time.OffsetTime", "TIME_WITH_TIMEZONE");
+        SQL_TYPES.put("java.time.OffsetDateTime", "TIMESTAMP_WITH_TIMEZONE");
+        SQL_TYPES.put("java.sql.Blob", "BLOB");
+        SQL_TYPES.put("java.sql.Clob", "CLOB");
+        SQL_TYPES.put("java.lang.CharSequence", "VARCHAR");
+        SQL_TYPES.put("java.lang.String", "VARCHAR");
+        SQL_TYPES.put("java.lang.StringBuffer", "VARCHAR");
+        SQL_TYPES.put("java.lang.StringBuilder", "VARCHAR");
+    }
+
+    private final ProcessingEnvironment processingEnvironment;
+    private final TypeElement type;
+    private final String packageName;
+    private final String classPrefix;
+    private final List<BeanProperty> properties;
+
+    MappingGenerator(ProcessingEnvironment processingEnvironment, TypeElement type, String classPrefix, List<BeanProperty> properties) {
+        this.processingEnvironment = processingEnvironment;
+        this.type = type;
+        this.packageName = processingEnvironment.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        this.classPrefix = classPrefix;
+        this.properties = properties;
+    }
+
+    String getFieldExtractorName() {
+        return qualify(classPrefix + "FieldExtractor");
+    }
+
+    String getDelimitedRecordMapperName() {
+        return qualify(classPrefix + "DelimitedRecordMapper");
+    }
+
+    String getPreparedStatementProviderName() {
+        return qualify(classPrefix + "PreparedStatementProvider");
+    }
+
+    String generateFieldExtractor() {
+        String beanType = type.getQualifiedName().toString();
+        StringBuilder source = header();
+        source.append("import org.jeasy.batch.core.field.FieldExtractor;\n\n")
+                .append("import java.util.Arrays;\n\n");
+        source.append("/**\n * Field extractor of {@link ").append(beanType).append("}.\n */\n")
+                .append(generated())
+                .append("public class ").append(classPrefix).append("FieldExtractor implements FieldExtractor<").append(beanType).append("> {\n\n")
+                .append("    @Override\n")
+                .append("    public Iterable<Object> extractFields(").append(beanType).append(" payload) {\n")
+                .append("        return Arrays.asList(new Object[]{");
+        for (int i = 0; i < properties.size(); i++) {
+            source.append(i == 0 ? "\n" : ",\n")
+                    .append("                payload.").append(properties.get(i).getGetter()).append("()");
+        }
+        source.append("\n        });\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    /*
+     * Returns null if a field type is not supported.
+     */
+    String generateDelimitedRecordMapper(String delimiter, String qualifier, boolean trimWhitespaces) {
+        String beanType = type.getQualifiedName().toString();
+        StringBuilder converters = new StringBuilder();
+        StringBuilder bindings = new StringBuilder();
+        for (int i = 0; i < properties.size(); i++) {
+            BeanProperty property = properties.get(i);
+            String conversion = conversion(property);
+            if (conversion == null) {
+                processingEnvironment.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Type conversion not supported for type " + property.getType() + " of field " + property.getName()
+                                + ", please exclude this field with @GenerateMapping(fields = {..})", type);
+                return null;
+            }
+            if (TYPE_CONVERTERS.containsKey(boxedTypeName(property.getType()))) {
+                converters.append("    private static final TypeConverter<String, ").append(boxedTypeName(property.getType())).append("> ")
+                        .append(converterName(property)).append(" = new org.jeasy.batch.core.converter.").append(TYPE_CONVERTERS.get(boxedTypeName(property.getType()))).append("();\n");
+            }
+            bindings.append("        token = tokenizer.getToken(").append(i).append(");\n")
+                    .append("        if (!token.isEmpty()) {\n")
+                    .append("            try {\n")
+                    .append("                object.").append(property.getSetter()).append("(").append(conversion).append(");\n")
+                    .append("            } catch (Exception e) {\n")
+                    .append("                throw new Exception(String.format(\"Unable to convert %s to type %s for field %s\", token, \"")
+                    .append(property.getType()).append("\", \"").append(property.getName()).append("\"), e);\n")
+                    .append("            }\n")
+                    .append("        }\n");
+        }
+
+        StringBuilder source = header();
+        source.append("import org.jeasy.batch.core.converter.TypeConverter;\n")
+                .append("import org.jeasy.batch.core.mapper.RecordMapper;\n")
+                .append("import org.jeasy.batch.core.record.GenericRecord;\n")
+                .append("import org.jeasy.batch.core.record.Record;\n")
+                .append("import org.jeasy.batch.flatfile.DelimitedTokenizer;\n\n");
+        source.append("/**\n * Delimited record mapper of {@link ").append(beanType).append("}.\n */\n")
+                .append(generated())
+                .append("public class ").append(classPrefix).append("DelimitedRecordMapper implements RecordMapper<String, ").append(beanType).append("> {\n\n")
+                .append("    private static final int RECORD_EXPECTED_LENGTH = ").append(properties.size()).append(";\n\n")
+                .append(converters).append(converters.length() > 0 ? "\n" : "")
+                .append("    private final ThreadLocal<DelimitedTokenizer> tokenizer = ThreadLocal.withInitial(\n")
+                .append("            () -> new DelimitedTokenizer(").append(literal(delimiter)).append(", ").append(literal(qualifier)).append(", ").append(trimWhitespaces).append("));\n\n")
+                .append("    @Override\n")
+                .append("    public Record<").append(beanType).append("> processRecord(Record<String> record) throws Exception {\n")
+                .append("        DelimitedTokenizer tokenizer = this.tokenizer.get();\n")
+                .append("        int tokenCount = tokenizer.tokenize(record.getPayload());\n")
+                .append("        if (tokenCount != RECORD_EXPECTED_LENGTH) {\n")
+                .append("            throw new Exception(\"record length (\" + tokenCount + \" fields) not equal to expected length of \"\n")
+                .append("                    + RECORD_EXPECTED_LENGTH + \" fields\");\n")
+                .append("        }\n")
+                .append("        ").append(beanType).append(" object = new ").append(beanType).append("();\n")
+                .append("        String token;\n")
+                .append(bindings)
+                .append("        return new GenericRecord<>(record.getHeader(), object);\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    String generatePreparedStatementProvider() {
+        String beanType = type.getQualifiedName().toString();
+        StringBuilder source = header();
+        source.append("import org.jeasy.batch.jdbc.PreparedStatementProvider;\n\n")
+                .append("import java.sql.PreparedStatement;\n")
+                .append("import java.sql.SQLException;\n")
+                .append("import java.sql.Types;\n\n");
+        source.append("/**\n * Prepared statement provider of {@link ").append(beanType).append("}.\n */\n")
+                .append(generated())
+                .append("public class ").append(classPrefix).append("PreparedStatementProvider implements PreparedStatementProvider {\n\n")
+                .append("    @Override\n")
+                .append("    public void prepareStatement(PreparedStatement preparedStatement, Object record) throws SQLException {\n")
+                .append("        ").append(beanType).append(" payload = (").append(beanType).append(") record;\n");
+        for (int i = 0; i < properties.size(); i++) {
+            BeanProperty property = properties.get(i);
+            String sqlType = SQL_TYPES.get(boxedTypeName(property.getType()));
+            source.append("        preparedStatement.setObject(").append(i + 1).append(", payload.").append(property.getGetter()).append("()");
+            if (sqlType != null) {
+                source.append(", Types.").append(sqlType);
+            }
+            source.append(");\n");
+        }
+        source.append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private String conversion(BeanProperty property) {
+        TypeMirror propertyType = property.getType();
+        String typeName = boxedTypeName(propertyType);
+        if (typeName.equals(String.class.getName())) {
+            return "token";
+        }
+        if (TYPE_CONVERTERS.containsKey(typeName)) {
+            return converterName(property) + ".convert(token)";
+        }
+        if (propertyType.getKind() == TypeKind.DECLARED) {
+            Element element = ((DeclaredType) propertyType).asElement();
+            if (element.getKind() == ElementKind.ENUM) {
+                return typeName + ".valueOf(token)";
+            }
+        }
+        return null;
+    }
+
+    private String boxedTypeName(TypeMirror propertyType) {
+        if (propertyType.getKind().isPrimitive()) {
+            return processingEnvironment.getTypeUtils().boxedClass((PrimitiveType) propertyType).getQualifiedName().toString();
+        }
+        return processingEnvironment.getTypeUtils().erasure(propertyType).toString();
+    }
+
+    // firstName gives FIRST_NAME_CONVERTER
+    private static String converterName(BeanProperty property) {
+        return property.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT) + "_CONVERTER";
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': literal.append("\\\""); break;
+                case '\\': literal.append("\\\\"); break;
+                case '\t': literal.append("\\t"); break;
+                case '\n': literal.append("\\n"); break;
+                case '\r': literal.append("\\r"); break;
+                default:
+                    if (c < ' ' || c > '~') {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private StringBuilder header() {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        return source;
+    }
+
+    private String generated() {
+        if (processingEnvironment.getElementUtils().getTypeElement("javax.annotation.processing.Generated") != null) {
+            return "@javax.annotation.processing.Generated(\"" + MappingProcessor.class.getName() + "\")\n";
+        }
+        return "";
+    }
+
+    private String qualify(String className) {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.apt;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor generating mapping classes for types annotated with {@link GenerateMapping}.
+ * Generated classes access beans through their getters and setters, without any reflection,
+ * so they do not need any warm-up and can be used in native images.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@SupportedAnnotationTypes("org.jeasy.batch.apt.GenerateMapping")
+public class MappingProcessor extends AbstractProcessor {
+
+    static final String FIELD_EXTRACTOR = "org.jeasy.batch.core.field.FieldExtractor";
+    static final String DELIMITED_TOKENIZER = "org.jeasy.batch.flatfile.DelimitedTokenizer";
+    static final String PREPARED_STATEMENT_PROVIDER = "org.jeasy.batch.jdbc.PreparedStatementProvider";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(GenerateMapping.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@GenerateMapping can only be used on classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            try {
+                process(type, type.getAnnotation(GenerateMapping.class));
+            } catch (IOException e) {
+                error(type, "Unable to generate mapping classes: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void process(TypeElement type, GenerateMapping annotation) throws IOException {
+        if (!isInstantiable(type)) {
+            error(type, "Type " + type.getQualifiedName() + " must be a public concrete class with a public no-argument constructor");
+            return;
+        }
+        List<BeanProperty> properties = getProperties(type, annotation.fields());
+        if (properties == null) {
+            return; // errors already reported
+        }
+        MappingGenerator generator = new MappingGenerator(processingEnv, type, getGeneratedClassPrefix(type), properties);
+        if (isOnClasspath(FIELD_EXTRACTOR)) {
+            write(type, generator.getFieldExtractorName(), generator.generateFieldExtractor());
+        }
+        if (isOnClasspath(DELIMITED_TOKENIZER)) {
+            String source = generator.generateDelimitedRecordMapper(annotation.delimiter(), annotation.qualifier(), annotation.trimWhitespaces());
+            if (source != null) {
+                write(type, generator.getDelimitedRecordMapperName(), source);
+            }
+        }
+        if (isOnClasspath(PREPARED_STATEMENT_PROVIDER)) {
+            write(type, generator.getPreparedStatementProviderName(), generator.generatePreparedStatementProvider());
+        }
+    }
+
+    private boolean isInstantiable(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)
+                || (type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC))
+                || (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<BeanProperty> getProperties(TypeElement type, String[] fields) {
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+        boolean explicitFields = fields.length > 0;
+        Set<String> names = explicitFields ? new LinkedHashSet<>(Arrays.asList(fields)) : getDeclaredFields(type);
+        List<BeanProperty> properties = new ArrayList<>();
+        boolean valid = true;
+        for (String name : names) {
+            ExecutableElement getter = findGetter(methods, name);
+            ExecutableElement setter = getter == null ? null : findSetter(methods, name, getter.getReturnType());
+            if (getter == null || setter == null) {
+                if (explicitFields) {
+                    error(type, "No public getter and setter found for field " + name + " in type " + type.getQualifiedName());
+                    valid = false;
+                }
+                continue;
+            }
+            properties.add(new BeanProperty(name, getter.getSimpleName().toString(), setter.getSimpleName().toString(), getter.getReturnType()));
+        }
+        return valid ? properties : null;
+    }
+
+    // fields of super classes first, in declaration order
+    private Set<String> getDeclaredFields(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+            hierarchy.add(0, current);
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (TypeElement element : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    names.add(field.getSimpleName().toString());
+                }
+            }
+        }
+        return names;
+    }
+
+    private ExecutableElement findGetter(List<ExecutableElement> methods, String property) {
+        String suffix = capitalize(property);
+        for (ExecutableElement method : methods) {
+            String name = method.getSimpleName().toString();
+            boolean booleanGetter = name.equals("is" + suffix) && method.getReturnType().getKind() == TypeKind.BOOLEAN;
+            if ((name.equals("get" + suffix) || booleanGetter) && method.getParameters().isEmpty()
+                    && method.getReturnType().getKind() != TypeKind.VOID && isPublicInstanceMethod(method)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private ExecutableElement findSetter(List<ExecutableElement> methods, String property, TypeMirror type) {
+        String name = "set" + capitalize(property);
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == 1 && isPublicInstanceMethod(method)
+                    && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), type)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private boolean isPublicInstanceMethod(ExecutableElement method) {
+        return method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC);
+    }
+
+    // Outer.Inner gives Outer_Inner
+    private String getGeneratedClassPrefix(TypeElement type) {
+        StringBuilder prefix = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            prefix.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return prefix.toString();
+    }
+
+    private boolean isOnClasspath(String type) {
+        return processingEnv.getElementUtils().getTypeElement(type) != null;
+    }
+
+    private void write(TypeElement type, String className, String source) throws IOException {
+        JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(className, type);
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(source);
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String capitalize(String name) {
+        return name.isEmpty() ? name : Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
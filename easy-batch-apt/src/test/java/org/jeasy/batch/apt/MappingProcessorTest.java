@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.apt;
+
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.record.StringRecord;
+import org.jeasy.batch.flatfile.DelimitedRecordMarshaller;
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class MappingProcessorTest {
+
+    private final Header header = new Header(1L, "test", LocalDateTime.now());
+
+    @Test
+    public void generatedMapperShouldMapAllReadWriteProperties() throws Exception {
+        PersonDelimitedRecordMapper mapper = new PersonDelimitedRecordMapper();
+
+        Record<Person> record = mapper.processRecord(new StringRecord(header, "foo,bar,30,1990-12-12,true,FEMALE"));
+
+        Person person = record.getPayload();
+        assertThat(record.getHeader()).isEqualTo(header);
+        assertThat(person.getFirstName()).isEqualTo("foo");
+        assertThat(person.getLastName()).isEqualTo("bar");
+        assertThat(person.getAge()).isEqualTo(30);
+        assertThat(person.getBirthDate()).isEqualTo(LocalDate.of(1990, 12, 12));
+        assertThat(person.isMarried()).isTrue();
+        assertThat(person.getGender()).isEqualTo(Person.Gender.FEMALE);
+    }
+
+    @Test
+    public void generatedMapperShouldIgnoreEmptyFields() throws Exception {
+        PersonDelimitedRecordMapper mapper = new PersonDelimitedRecordMapper();
+
+        Person person = mapper.processRecord(new StringRecord(header, "foo,,,,,")).getPayload();
+
+        assertThat(person.getFirstName()).isEqualTo("foo");
+        assertThat(person.getLastName()).isNull();
+        assertThat(person.getAge()).isZero();
+        assertThat(person.getGender()).isNull();
+    }
+
+    @Test
+    public void generatedMapperShouldRejectRecordsWithUnexpectedLength() {
+        PersonDelimitedRecordMapper mapper = new PersonDelimitedRecordMapper();
+
+        try {
+            mapper.processRecord(new StringRecord(header, "foo,bar"));
+        } catch (Exception e) {
+            assertThat(e).hasMessage("record length (2 fields) not equal to expected length of 6 fields");
+            return;
+        }
+        throw new AssertionError("An exception should have been thrown");
+    }
+
+    @Test
+    public void generatedMapperShouldReportConversionErrors() {
+        PersonDelimitedRecordMapper mapper = new PersonDelimitedRecordMapper();
+
+        try {
+            mapper.processRecord(new StringRecord(header, "foo,bar,thirty,1990-12-12,true,MALE"));
+        } catch (Exception e) {
+            assertThat(e).hasMessage("Unable to convert thirty to type int for field age");
+            assertThat(e).hasCauseInstanceOf(NumberFormatException.class);
+            return;
+        }
+        throw new AssertionError("An exception should have been thrown");
+    }
+
+    @Test
+    public void generatedMapperShouldUseAnnotationSettings() throws Exception {
+        Person_TweetDelimitedRecordMapper mapper = new Person_TweetDelimitedRecordMapper();
+
+        Person.Tweet tweet = mapper.processRecord(new StringRecord(header, "\"1\";\"hello; \"\"world\"\"\"")).getPayload();
+
+        assertThat(tweet.getId()).isEqualTo(1L);
+        assertThat(tweet.getUser()).isNull();
+        assertThat(tweet.getMessage()).isEqualTo("hello; \"world\"");
+    }
+
+    @Test
+    public void generatedFieldExtractorShouldExtractFieldsInOrder() throws Exception {
+        Person person = new Person();
+        person.setFirstName("foo");
+        person.setAge(30);
+        person.setMarried(true);
+
+        Iterable<Object> fields = new PersonFieldExtractor().extractFields(person);
+
+        assertThat(fields).containsExactly("foo", null, 30, null, true, null);
+    }
+
+    @Test
+    public void generatedFieldExtractorShouldBeUsableByMarshallers() throws Exception {
+        Person.Tweet tweet = new Person.Tweet();
+        tweet.setId(1L);
+        tweet.setMessage("hello");
+        DelimitedRecordMarshaller<Person.Tweet> marshaller = new DelimitedRecordMarshaller<>(new Person_TweetFieldExtractor());
+
+        Record<String> record = marshaller.processRecord(new org.jeasy.batch.core.record.GenericRecord<>(header, tweet));
+
+        assertThat(record.getPayload()).isEqualTo("\"1\",\"hello\"");
+    }
+
+    @Test
+    public void generatedPreparedStatementProviderShouldSetParametersInOrder() throws Exception {
+        Person.Tweet tweet = new Person.Tweet();
+        tweet.setId(1L);
+        tweet.setMessage("hello");
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+        new Person_TweetPreparedStatementProvider().prepareStatement(preparedStatement, tweet);
+
+        verify(preparedStatement).setObject(1, 1L, Types.BIGINT);
+        verify(preparedStatement).setObject(2, "hello", Types.VARCHAR);
+        verifyNoMoreInteractions(preparedStatement);
+    }
+
+    @Test
+    public void generatedPreparedStatementProviderShouldNotSetSqlTypeOfUnknownTypes() throws Exception {
+        Person person = new Person();
+        person.setGender(Person.Gender.MALE);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+        new PersonPreparedStatementProvider().prepareStatement(preparedStatement, person);
+
+        verify(preparedStatement).setObject(6, Person.Gender.MALE);
+    }
+
+}
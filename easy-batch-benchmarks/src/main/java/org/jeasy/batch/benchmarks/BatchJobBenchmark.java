@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jeasy.batch.core.job.Job;
+import org.jeasy.batch.core.job.JobBuilder;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.reader.IterableRecordReader;
+import org.jeasy.batch.core.writer.RecordWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the framework overhead per record of the job loop, with an
+ * in-memory reader, no processors and a no-op writer.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchJobBenchmark {
+
+    static final int NUMBER_OF_RECORDS = 100_000;
+
+    @Param({"1", "100", "1000"})
+    private int batchSize;
+
+    private List<String> dataSource;
+
+    @Setup
+    public void setUp() {
+        dataSource = new ArrayList<>(NUMBER_OF_RECORDS);
+        for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+            dataSource.add("record-" + i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_RECORDS)
+    public JobReport noOpJob() {
+        Job job = new JobBuilder<String, String>()
+                .reader(new IterableRecordReader<>(dataSource))
+                .writer((RecordWriter<String>) batch -> { })
+                .batchSize(batchSize)
+                .build();
+        return job.call();
+    }
+
+}
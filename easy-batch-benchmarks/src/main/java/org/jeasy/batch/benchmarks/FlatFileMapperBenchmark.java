@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.record.StringRecord;
+import org.jeasy.batch.flatfile.DelimitedRecordMapper;
+import org.jeasy.batch.flatfile.FixedLengthRecordMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the mapping time of a single flat file record to a Java bean.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlatFileMapperBenchmark {
+
+    private static final String[] FIELDS = {"id", "user", "message"};
+
+    private DelimitedRecordMapper<Tweet> delimitedRecordMapper;
+    private DelimitedRecordMapper<Tweet> qualifiedDelimitedRecordMapper;
+    private FixedLengthRecordMapper<Tweet> fixedLengthRecordMapper;
+    private StringRecord delimitedRecord;
+    private StringRecord qualifiedDelimitedRecord;
+    private StringRecord fixedLengthRecord;
+
+    @Setup
+    public void setUp() {
+        Header header = new Header(1L, "benchmark", LocalDateTime.now());
+        delimitedRecordMapper = new DelimitedRecordMapper<>(Tweet.class, FIELDS);
+        delimitedRecord = new StringRecord(header, "1,foo,easy batch rocks! #EasyBatch");
+        qualifiedDelimitedRecordMapper = new DelimitedRecordMapper<>(Tweet.class, FIELDS);
+        qualifiedDelimitedRecordMapper.setQualifier("\"");
+        qualifiedDelimitedRecord = new StringRecord(header, "\"1\",\"foo\",\"easy batch rocks! #EasyBatch\"");
+        fixedLengthRecordMapper = new FixedLengthRecordMapper<>(Tweet.class, new int[]{4, 8, 32}, FIELDS);
+        fixedLengthRecord = new StringRecord(header, String.format("%-4s%-8s%-32s", "1", "foo", "easy batch rocks! #EasyBatch"));
+    }
+
+    @Benchmark
+    public Record<Tweet> delimitedRecordMapper() throws Exception {
+        return delimitedRecordMapper.processRecord(delimitedRecord);
+    }
+
+    @Benchmark
+    public Record<Tweet> qualifiedDelimitedRecordMapper() throws Exception {
+        return qualifiedDelimitedRecordMapper.processRecord(qualifiedDelimitedRecord);
+    }
+
+    @Benchmark
+    public Record<Tweet> fixedLengthRecordMapper() throws Exception {
+        return fixedLengthRecordMapper.processRecord(fixedLengthRecord);
+    }
+
+}
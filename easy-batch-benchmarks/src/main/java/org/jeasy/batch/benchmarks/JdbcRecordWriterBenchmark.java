@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.benchmarks;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.jdbc.BeanPropertiesPreparedStatementProvider;
+import org.jeasy.batch.jdbc.JdbcRecordWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the writing time per record of the JDBC record writer
+ * (including the transaction commit) against an in-memory HSQLDB database.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcRecordWriterBenchmark {
+
+    static final int BATCH_SIZE = 1000;
+
+    @Param({"1", "100", "1000"})
+    private int recordsPerCommit;
+
+    private JDBCDataSource dataSource;
+    private JdbcRecordWriter<Tweet> jdbcRecordWriter;
+    private Batch<Tweet>[] batches;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        dataSource = new JDBCDataSource();
+        dataSource.setUrl("jdbc:hsqldb:mem:benchmark");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        execute("create table tweet (id integer, user varchar(32), message varchar(140))");
+
+        batches = new Batch[BATCH_SIZE / recordsPerCommit];
+        for (int i = 0; i < batches.length; i++) {
+            batches[i] = new Batch<>();
+            for (int j = 0; j < recordsPerCommit; j++) {
+                int id = i * recordsPerCommit + j;
+                Header header = new Header((long) id, "benchmark", LocalDateTime.now());
+                batches[i].addRecord(new GenericRecord<>(header, new Tweet(id, "foo", "easy batch rocks! #EasyBatch")));
+            }
+        }
+
+        String query = "insert into tweet (id, user, message) values (?, ?, ?)";
+        jdbcRecordWriter = new JdbcRecordWriter<>(dataSource, query,
+                new BeanPropertiesPreparedStatementProvider(Tweet.class, "id", "user", "message"));
+        jdbcRecordWriter.open();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTable() throws Exception {
+        execute("delete from tweet");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void writeRecords() throws Exception {
+        for (Batch<Tweet> batch : batches) {
+            jdbcRecordWriter.writeRecords(batch);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jdbcRecordWriter.close();
+        execute("shutdown");
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.json.JsonRecordReader;
+import org.jeasy.batch.xml.XmlRecordReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the reading time per record of the XML and JSON record readers
+ * over in-memory documents.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordReaderBenchmark {
+
+    static final int NUMBER_OF_RECORDS = 10_000;
+
+    private byte[] xmlDocument;
+    private byte[] jsonDocument;
+
+    @Setup
+    public void setUp() {
+        StringBuilder xml = new StringBuilder("<tweets>");
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= NUMBER_OF_RECORDS; i++) {
+            xml.append("<tweet id=\"").append(i).append("\">")
+                    .append("<user>foo</user>")
+                    .append("<message>easy batch rocks! #EasyBatch</message>")
+                    .append("</tweet>");
+            json.append("{\"id\":").append(i)
+                    .append(",\"user\":\"foo\"")
+                    .append(",\"message\":\"easy batch rocks! #EasyBatch\"}");
+            if (i < NUMBER_OF_RECORDS) {
+                json.append(",");
+            }
+        }
+        xmlDocument = xml.append("</tweets>").toString().getBytes(StandardCharsets.UTF_8);
+        jsonDocument = json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_RECORDS)
+    public void xmlRecordReader(Blackhole blackhole) throws Exception {
+        readAll(new XmlRecordReader(new ByteArrayInputStream(xmlDocument), "tweet", StandardCharsets.UTF_8), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_RECORDS)
+    public void jsonRecordReader(Blackhole blackhole) throws Exception {
+        readAll(new JsonRecordReader(new ByteArrayInputStream(jsonDocument), StandardCharsets.UTF_8), blackhole);
+    }
+
+    private void readAll(RecordReader<?> recordReader, Blackhole blackhole) throws Exception {
+        recordReader.open();
+        try {
+            Record<?> record;
+            while ((record = recordReader.readRecord()) != null) {
+                blackhole.consume(record);
+            }
+        } finally {
+            recordReader.close();
+        }
+    }
+
+}
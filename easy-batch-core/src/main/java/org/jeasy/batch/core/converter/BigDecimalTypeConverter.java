@@ -33,7 +33,7 @@ import org.jeasy.batch.core.util.Utils;
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class BigDecimalTypeConverter implements TypeConverter<String, BigDecimal> {
+public class BigDecimalTypeConverter implements CharSequenceTypeConverter<BigDecimal> {
 
     /**
      * {@inheritDoc}
@@ -42,7 +42,20 @@ public class BigDecimalTypeConverter implements TypeConverter<String, BigDecimal
     public BigDecimal convert(final String value) {
         Utils.checkArgument(value != null, "Value to convert must not be null");
         Utils.checkArgument(!value.isEmpty(), "Value to convert must not be empty");
-        return new BigDecimal(value);
+        return convert(value, 0, value.length());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal convert(final CharSequence value, final int start, final int end) {
+        FastParsers.checkRange(value, start, end);
+        BigDecimal result = FastParsers.parseBigDecimal(value, start, end);
+        if (result != null) {
+            return result;
+        }
+        return new BigDecimal(value.subSequence(start, end).toString());
     }
 
 }
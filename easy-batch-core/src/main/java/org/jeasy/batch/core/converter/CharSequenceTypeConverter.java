@@ -0,0 +1,47 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.converter;
+
+/**
+ * A type converter able to convert a range of characters without creating an
+ * intermediate {@link String}. Mappers which parse records in place use this
+ * method when the registered converter of a type implements this interface.
+ *
+ * @param <T> The target type.
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public interface CharSequenceTypeConverter<T> extends TypeConverter<String, T> {
+
+    /**
+     * Convert the characters of a value between {@code start} (inclusive)
+     * and {@code end} (exclusive) into a target type.
+     *
+     * @param value holding the characters to convert
+     * @param start index of the first character to convert
+     * @param end index after the last character to convert
+     * @return The converted value
+     */
+    T convert(final CharSequence value, final int start, final int end);
+
+}
@@ -25,6 +25,8 @@ package org.jeasy.batch.core.converter;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 
 import org.jeasy.batch.core.util.Utils;
@@ -34,20 +36,33 @@ import org.jeasy.batch.core.util.Utils;
  * Converts a String date (by default in the "yyyy-MM-dd" format) to a {@link java.util.Date} type.
  * Does not accept {@code null} or empty strings.
  *
+ * Date formats are created once per thread and reused. Dates in the default format
+ * are parsed without any date format.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class DateTypeConverter implements TypeConverter<String, Date> {
+public class DateTypeConverter implements CharSequenceTypeConverter<Date> {
 
     /**
      * The default date format.
      */
     public static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd";
 
+    /**
+     * Julian dates are not supported by the fast path.
+     */
+    private static final int GREGORIAN_CUTOVER_YEAR = 1582;
+
     /**
      * The date format to use.
      */
     private String dateFormat;
 
+    /**
+     * Date formats are not thread-safe, hence one instance per thread.
+     */
+    private final ThreadLocal<SimpleDateFormat> dateFormats;
+
     /**
      * Create a Date converter with the default format {@link DateTypeConverter#DEFAULT_DATE_FORMAT}
      */
@@ -62,6 +77,7 @@ public class DateTypeConverter implements TypeConverter<String, Date> {
      */
     public DateTypeConverter(String dateFormat) {
         this.dateFormat = dateFormat;
+        this.dateFormats = ThreadLocal.withInitial(() -> new SimpleDateFormat(dateFormat));
     }
 
     /**
@@ -71,10 +87,26 @@ public class DateTypeConverter implements TypeConverter<String, Date> {
     public Date convert(final String value) {
         Utils.checkArgument(value != null, "Value to convert must not be null");
         Utils.checkArgument(!value.isEmpty(), "Value to convert must not be empty");
+        return convert(value, 0, value.length());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date convert(final CharSequence value, final int start, final int end) {
+        FastParsers.checkRange(value, start, end);
+        if (DEFAULT_DATE_FORMAT.equals(dateFormat)) {
+            LocalDate date = FastParsers.parseIsoDate(value, start, end);
+            if (date != null && date.getYear() > GREGORIAN_CUTOVER_YEAR) {
+                return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+            }
+        }
+        String text = value.subSequence(start, end).toString();
         try {
-            return new SimpleDateFormat(dateFormat).parse(value);
+            return dateFormats.get().parse(text);
         } catch (ParseException e) {
-            throw new IllegalArgumentException("Unable to convert value '" + value + "' to a Date object with format "
+            throw new IllegalArgumentException("Unable to convert value '" + text + "' to a Date object with format "
                     + dateFormat, e);
         }
     }
@@ -0,0 +1,190 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.converter;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.jeasy.batch.core.util.Utils;
+
+/**
+ * Hand written parsers for the most common shapes of numbers and ISO dates.
+ * Each parser returns a marker value (or null) when its input does not have the
+ * expected shape, in which case converters fall back to the JDK parsers, which
+ * remain the reference for accepted formats and error reporting.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class FastParsers {
+
+    /**
+     * Returned by {@link #parseLong(CharSequence, int, int)} when the input is not a plain integer.
+     */
+    static final long NOT_A_LONG = Long.MIN_VALUE;
+
+    // up to 18 digits can not overflow a long
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private FastParsers() {
+    }
+
+    static void checkRange(final CharSequence value, final int start, final int end) {
+        Utils.checkArgument(value != null, "Value to convert must not be null");
+        Utils.checkArgument(end > start, "Value to convert must not be empty");
+    }
+
+    /*
+     * Parse [+-]?[0-9]{1,18}, otherwise return NOT_A_LONG.
+     */
+    static long parseLong(final CharSequence value, final int start, final int end) {
+        int index = start;
+        boolean negative = false;
+        char first = value.charAt(index);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index++;
+        }
+        int digits = end - index;
+        if (digits < 1 || digits > MAX_LONG_DIGITS) {
+            return NOT_A_LONG;
+        }
+        long result = 0;
+        for (; index < end; index++) {
+            int digit = value.charAt(index) - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_LONG;
+            }
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    /*
+     * Parse [+-]?[0-9]*(.[0-9]*)? with at most 18 digits, otherwise return null.
+     */
+    static BigDecimal parseBigDecimal(final CharSequence value, final int start, final int end) {
+        int index = start;
+        boolean negative = false;
+        char first = value.charAt(index);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; index < end; index++) {
+            char c = value.charAt(index);
+            if (c == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9 || ++digits > MAX_LONG_DIGITS) {
+                return null;
+            }
+            unscaled = unscaled * 10 + digit;
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    /*
+     * Parse yyyy-MM-dd, otherwise return null.
+     */
+    static LocalDate parseIsoDate(final CharSequence value, final int start, final int end) {
+        if (end - start != 10 || value.charAt(start + 4) != '-' || value.charAt(start + 7) != '-') {
+            return null;
+        }
+        int year = parseDigits(value, start, 4);
+        int month = parseDigits(value, start + 5, 2);
+        int day = parseDigits(value, start + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /*
+     * Parse HH:mm[:ss[.S{1,9}]], otherwise return null.
+     */
+    static LocalTime parseIsoTime(final CharSequence value, final int start, final int end) {
+        int length = end - start;
+        if (length < 5 || length == 6 || length == 7 || length == 9 || length > 18 || value.charAt(start + 2) != ':') {
+            return null;
+        }
+        int hour = parseDigits(value, start, 2);
+        int minute = parseDigits(value, start + 3, 2);
+        int second = 0;
+        int nanos = 0;
+        if (length >= 8) {
+            if (value.charAt(start + 5) != ':') {
+                return null;
+            }
+            second = parseDigits(value, start + 6, 2);
+            if (length > 8) {
+                if (value.charAt(start + 8) != '.') {
+                    return null;
+                }
+                int fractionDigits = length - 9;
+                nanos = parseDigits(value, start + 9, fractionDigits);
+                for (int i = fractionDigits; i < 9 && nanos >= 0; i++) {
+                    nanos *= 10;
+                }
+            }
+        }
+        if (hour < 0 || minute < 0 || second < 0 || nanos < 0) {
+            return null;
+        }
+        try {
+            return LocalTime.of(hour, minute, second, nanos);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    // parse exactly count digits, or return -1
+    private static int parseDigits(final CharSequence value, final int start, final int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
@@ -31,7 +31,7 @@ import org.jeasy.batch.core.util.Utils;
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class IntegerTypeConverter implements TypeConverter<String, Integer> {
+public class IntegerTypeConverter implements CharSequenceTypeConverter<Integer> {
 
     /**
      * {@inheritDoc}
@@ -40,7 +40,20 @@ public class IntegerTypeConverter implements TypeConverter<String, Integer> {
     public Integer convert(final String value) {
         Utils.checkArgument(value != null, "Value to convert must not be null");
         Utils.checkArgument(!value.isEmpty(), "Value to convert must not be empty");
-        return Double.valueOf(value).intValue();
+        return convert(value, 0, value.length());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer convert(final CharSequence value, final int start, final int end) {
+        FastParsers.checkRange(value, start, end);
+        long result = FastParsers.parseLong(value, start, end);
+        if (result >= Integer.MIN_VALUE && result <= Integer.MAX_VALUE) {
+            return (int) result;
+        }
+        return Double.valueOf(value.subSequence(start, end).toString()).intValue();
     }
 
 }
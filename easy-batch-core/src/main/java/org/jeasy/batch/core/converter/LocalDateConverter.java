@@ -28,14 +28,41 @@ import java.time.format.DateTimeFormatter;
 
 /**
  * {@link java.time.LocalDate} type converter.
- * Converts a String date in the {@link DateTimeFormatter#ISO_LOCAL_DATE} format to a {@link java.time.LocalDate} type.
+ * Converts a String date in the {@link DateTimeFormatter#ISO_LOCAL_DATE} format (or in a custom pattern) to a {@link java.time.LocalDate} type.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class LocalDateConverter implements TypeConverter<String, LocalDate> {
+public class LocalDateConverter implements CharSequenceTypeConverter<LocalDate> {
+
+	private final DateTimeFormatter formatter;
+
+	/**
+	 * Create a converter of dates in the {@link DateTimeFormatter#ISO_LOCAL_DATE} format.
+	 */
+	public LocalDateConverter() {
+		this.formatter = null;
+	}
+
+	/**
+	 * Create a converter of dates in the given pattern.
+	 *
+	 * @param pattern of dates, as defined in {@link DateTimeFormatter}
+	 */
+	public LocalDateConverter(String pattern) {
+		this.formatter = DateTimeFormatter.ofPattern(pattern);
+	}
 
 	@Override
 	public LocalDate convert(String value) {
-		return LocalDate.parse(value);
+		return convert(value, 0, value.length());
+	}
+
+	@Override
+	public LocalDate convert(CharSequence value, int start, int end) {
+		if (formatter != null) {
+			return LocalDate.parse(value.subSequence(start, end), formatter);
+		}
+		LocalDate date = FastParsers.parseIsoDate(value, start, end);
+		return date != null ? date : LocalDate.parse(value.subSequence(start, end));
 	}
 }
@@ -23,19 +23,55 @@
  */
 package org.jeasy.batch.core.converter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 
 /**
  * {@link LocalDateTime} type converter.
- * Converts a String date time in the {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} format to a {@link LocalDateTime} type.
+ * Converts a String date time in the {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} format (or in a custom pattern) to a {@link LocalDateTime} type.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class LocalDateTimeConverter implements TypeConverter<String, LocalDateTime> {
+public class LocalDateTimeConverter implements CharSequenceTypeConverter<LocalDateTime> {
+
+	private final DateTimeFormatter formatter;
+
+	/**
+	 * Create a converter of date times in the {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} format.
+	 */
+	public LocalDateTimeConverter() {
+		this.formatter = null;
+	}
+
+	/**
+	 * Create a converter of date times in the given pattern.
+	 *
+	 * @param pattern of date times, as defined in {@link DateTimeFormatter}
+	 */
+	public LocalDateTimeConverter(String pattern) {
+		this.formatter = DateTimeFormatter.ofPattern(pattern);
+	}
 
 	@Override
 	public LocalDateTime convert(String value) {
-		return LocalDateTime.parse(value);
+		return convert(value, 0, value.length());
+	}
+
+	@Override
+	public LocalDateTime convert(CharSequence value, int start, int end) {
+		if (formatter != null) {
+			return LocalDateTime.parse(value.subSequence(start, end), formatter);
+		}
+		// yyyy-MM-ddTHH:mm at least
+		if (end - start >= 16 && value.charAt(start + 10) == 'T') {
+			LocalDate date = FastParsers.parseIsoDate(value, start, start + 10);
+			LocalTime time = FastParsers.parseIsoTime(value, start + 11, end);
+			if (date != null && time != null) {
+				return LocalDateTime.of(date, time);
+			}
+		}
+		return LocalDateTime.parse(value.subSequence(start, end));
 	}
 }
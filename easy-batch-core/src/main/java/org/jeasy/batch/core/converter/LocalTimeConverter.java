@@ -28,14 +28,41 @@ import java.time.format.DateTimeFormatter;
 
 /**
  * {@link LocalTime} type converter.
- * Converts a String time in the {@link DateTimeFormatter#ISO_LOCAL_TIME} format to a {@link LocalTime} type.
+ * Converts a String time in the {@link DateTimeFormatter#ISO_LOCAL_TIME} format (or in a custom pattern) to a {@link LocalTime} type.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class LocalTimeConverter implements TypeConverter<String, LocalTime> {
+public class LocalTimeConverter implements CharSequenceTypeConverter<LocalTime> {
+
+	private final DateTimeFormatter formatter;
+
+	/**
+	 * Create a converter of times in the {@link DateTimeFormatter#ISO_LOCAL_TIME} format.
+	 */
+	public LocalTimeConverter() {
+		this.formatter = null;
+	}
+
+	/**
+	 * Create a converter of times in the given pattern.
+	 *
+	 * @param pattern of times, as defined in {@link DateTimeFormatter}
+	 */
+	public LocalTimeConverter(String pattern) {
+		this.formatter = DateTimeFormatter.ofPattern(pattern);
+	}
 
 	@Override
 	public LocalTime convert(String value) {
-		return LocalTime.parse(value);
+		return convert(value, 0, value.length());
+	}
+
+	@Override
+	public LocalTime convert(CharSequence value, int start, int end) {
+		if (formatter != null) {
+			return LocalTime.parse(value.subSequence(start, end), formatter);
+		}
+		LocalTime time = FastParsers.parseIsoTime(value, start, end);
+		return time != null ? time : LocalTime.parse(value.subSequence(start, end));
 	}
 }
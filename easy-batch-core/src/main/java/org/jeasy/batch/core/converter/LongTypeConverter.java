@@ -28,10 +28,12 @@ import org.jeasy.batch.core.util.Utils;
 /**
  * Long type converter.
  * Does not accept {@code null} or empty strings.
+ * Integer values are converted exactly, other values (like {@code "5.0"}) are parsed
+ * as a {@code double} and truncated.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class LongTypeConverter implements TypeConverter<String, Long> {
+public class LongTypeConverter implements CharSequenceTypeConverter<Long> {
 
     /**
      * {@inheritDoc}
@@ -40,7 +42,20 @@ public class LongTypeConverter implements TypeConverter<String, Long> {
     public Long convert(final String value) {
         Utils.checkArgument(value != null, "Value to convert must not be null");
         Utils.checkArgument(!value.isEmpty(), "Value to convert must not be empty");
-        return Double.valueOf(value).longValue();
+        return convert(value, 0, value.length());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long convert(final CharSequence value, final int start, final int end) {
+        FastParsers.checkRange(value, start, end);
+        long result = FastParsers.parseLong(value, start, end);
+        if (result != FastParsers.NOT_A_LONG) {
+            return result;
+        }
+        return Double.valueOf(value.subSequence(start, end).toString()).longValue();
     }
 
 }
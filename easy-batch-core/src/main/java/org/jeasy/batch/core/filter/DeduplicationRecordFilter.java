@@ -0,0 +1,241 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.filter;
+
+import org.jeasy.batch.core.job.JobMetrics;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.listener.JobListener;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.util.Utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filter records having the same key as a previously seen record. Only the first
+ * record with a given key is kept.
+ *
+ * Keys are tracked outside of the Java heap so that hundreds of millions of keys can
+ * be deduplicated without putting pressure on the garbage collector:
+ *
+ * <ul>
+ *     <li>A Bloom filter sized for the expected number of keys answers the common
+ *     case (a key that was never seen) without further lookup.</li>
+ *     <li>When the Bloom filter reports a possible duplicate, an exact set of keys
+ *     confirms it, so that false positives of the Bloom filter do not drop records.
+ *     The exact set can be disabled with {@link #setExactDeduplication(boolean)} to
+ *     trade a few wrongly filtered records (at the configured false positive rate)
+ *     for a smaller memory footprint.</li>
+ * </ul>
+ *
+ * This filter is also a {@link JobListener}: when registered as a job listener, it
+ * reports the following custom metrics in the {@link JobMetrics} of the job report:
+ *
+ * <ul>
+ *     <li>{@value #DUPLICATES_METRIC}: number of filtered duplicate records</li>
+ *     <li>{@value #MEMORY_METRIC}: off-heap memory used by the filter, in bytes</li>
+ *     <li>{@value #FALSE_POSITIVE_RATE_METRIC}: false positive rate of the Bloom filter,
+ *     observed when exact deduplication is enabled and estimated otherwise</li>
+ * </ul>
+ *
+ * The filter is thread safe, but when records are processed in parallel, which one of
+ * several records with the same key is kept is not defined.
+ *
+ * <p><strong>Off-heap memory is allocated in direct buffers, which are limited by the
+ * {@code -XX:MaxDirectMemorySize} JVM option (defaulting to the maximum heap size) and
+ * released only when the filter is garbage collected.</strong> The limit must be sized for:</p>
+ * <ul>
+ *     <li>the Bloom filter: about {@code -1.44 * log2(falsePositiveRate)} bits per expected key
+ *     (about 1.2 bytes per key for 1%)</li>
+ *     <li>the exact set of keys (unless disabled): the UTF-8 bytes of each key plus 4 bytes, and a
+ *     table of 12 bytes per slot with 2 to 4 slots per key. When the table grows, the old and the
+ *     new tables are allocated at the same time, so the peak is 1.5 times the size of the new
+ *     table (up to 72 bytes per key)</li>
+ * </ul>
+ * <p>For example, 300 million keys of 16 bytes need about 0.4GB for the Bloom filter, 6GB for
+ * keys and up to 21.6GB for the table while it grows. {@link #getMemoryUsage()} reports the
+ * memory currently used.</p>
+ *
+ * @param <P> type of the record's payload
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class DeduplicationRecordFilter<P> implements RecordFilter<P>, JobListener {
+
+    public static final String DUPLICATES_METRIC = "deduplicationDuplicates";
+    public static final String MEMORY_METRIC = "deduplicationMemory";
+    public static final String FALSE_POSITIVE_RATE_METRIC = "deduplicationFalsePositiveRate";
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final KeyExtractor<P> keyExtractor;
+    private final OffHeapBloomFilter bloomFilter;
+    private OffHeapKeySet keySet = new OffHeapKeySet();
+    private long keys;
+    private long duplicates;
+    private long falsePositives;
+
+    /**
+     * Create a new {@link DeduplicationRecordFilter} with a false positive rate of
+     * {@value #DEFAULT_FALSE_POSITIVE_RATE} for the Bloom filter.
+     *
+     * @param keyExtractor used to extract the deduplication key of records
+     * @param expectedKeys number of distinct keys expected
+     */
+    public DeduplicationRecordFilter(KeyExtractor<P> keyExtractor, long expectedKeys) {
+        this(keyExtractor, expectedKeys, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Create a new {@link DeduplicationRecordFilter}.
+     *
+     * @param keyExtractor used to extract the deduplication key of records
+     * @param expectedKeys number of distinct keys expected
+     * @param falsePositiveRate targeted false positive rate of the Bloom filter
+     */
+    public DeduplicationRecordFilter(KeyExtractor<P> keyExtractor, long expectedKeys, double falsePositiveRate) {
+        Utils.checkNotNull(keyExtractor, "key extractor");
+        Utils.checkArgument(expectedKeys > 0, "expected keys must be greater than zero");
+        Utils.checkArgument(falsePositiveRate > 0 && falsePositiveRate < 1, "false positive rate must be between 0 and 1 exclusive");
+        this.keyExtractor = keyExtractor;
+        this.bloomFilter = new OffHeapBloomFilter(expectedKeys, falsePositiveRate);
+    }
+
+    /**
+     * Confirm possible duplicates reported by the Bloom filter with an exact set of keys
+     * (enabled by default). When disabled, the exact set is not allocated and a record
+     * may be wrongly filtered as a duplicate.
+     *
+     * @param exactDeduplication true to confirm possible duplicates, false to trust the Bloom filter
+     */
+    public synchronized void setExactDeduplication(boolean exactDeduplication) {
+        if (keys != 0) {
+            throw new IllegalStateException("Exact deduplication can not be changed once records have been processed");
+        }
+        this.keySet = exactDeduplication ? new OffHeapKeySet() : null;
+    }
+
+    @Override
+    public Record<P> processRecord(Record<P> record) {
+        byte[] key = keyExtractor.extractKey(record).getBytes(StandardCharsets.UTF_8);
+        long hash = hash(key);
+        synchronized (this) {
+            if (!bloomFilter.put(hash)) {
+                // definitely a new key
+                if (keySet != null) {
+                    keySet.add(key, hash);
+                }
+                keys++;
+                return record;
+            }
+            if (keySet != null && keySet.add(key, hash)) {
+                falsePositives++;
+                keys++;
+                return record;
+            }
+            duplicates++;
+            return null;
+        }
+    }
+
+    /**
+     * Report deduplication metrics in the given job metrics.
+     *
+     * @param metrics in which to report deduplication metrics
+     */
+    public synchronized void reportMetrics(JobMetrics metrics) {
+        metrics.addMetric(DUPLICATES_METRIC, duplicates);
+        metrics.addMetric(MEMORY_METRIC, getMemoryUsage());
+        metrics.addMetric(FALSE_POSITIVE_RATE_METRIC, getFalsePositiveRate());
+    }
+
+    @Override
+    public void afterJob(JobReport jobReport) {
+        reportMetrics(jobReport.getMetrics());
+    }
+
+    /**
+     * Return the number of filtered duplicate records.
+     *
+     * @return the number of filtered duplicate records
+     */
+    public synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Return the off-heap memory used by the Bloom filter and the exact set of keys.
+     *
+     * @return the off-heap memory used by the filter, in bytes
+     */
+    public synchronized long getMemoryUsage() {
+        return bloomFilter.memoryUsage() + (keySet != null ? keySet.memoryUsage() : 0);
+    }
+
+    /**
+     * Return the false positive rate of the Bloom filter. When exact deduplication is
+     * enabled, this is the ratio of new keys that the Bloom filter reported as possible
+     * duplicates. Otherwise, this is an estimation based on the number of distinct keys
+     * seen so far.
+     *
+     * @return the false positive rate of the Bloom filter
+     */
+    public synchronized double getFalsePositiveRate() {
+        if (keySet != null) {
+            return keys == 0 ? 0 : (double) falsePositives / keys;
+        }
+        return bloomFilter.expectedFalsePositiveRate(keys);
+    }
+
+    // FNV-1a followed by the finalizer of MurmurHash3 to spread bits over the whole hash
+    private static long hash(byte[] key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Extract the deduplication key of a record.
+     *
+     * @param <P> type of the record's payload
+     */
+    @FunctionalInterface
+    public interface KeyExtractor<P> {
+
+        /**
+         * Extract the deduplication key of the given record.
+         *
+         * @param record from which to extract the key
+         * @return the key of the record
+         */
+        String extractKey(Record<P> record);
+
+    }
+
+}
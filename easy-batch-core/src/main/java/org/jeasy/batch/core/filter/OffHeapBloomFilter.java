@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.filter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bloom filter whose bit array is allocated outside of the Java heap, in direct
+ * byte buffers of at most 1GB each so that more than 2^31 bytes can be addressed.
+ * Bit positions are derived from a single 64-bit hash with double hashing.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class OffHeapBloomFilter {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private final ByteBuffer[] segments;
+    private final long bits;
+    private final int hashFunctions;
+
+    /**
+     * Create a Bloom filter sized for the given number of keys and false positive rate.
+     *
+     * @param expectedKeys number of keys expected to be added
+     * @param falsePositiveRate targeted false positive rate, between 0 and 1 exclusive
+     */
+    OffHeapBloomFilter(long expectedKeys, double falsePositiveRate) {
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long bytes = (Math.max(optimalBits, Long.SIZE) + 7) >>> 3;
+        this.bits = bytes << 3;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bits / expectedKeys * ln2));
+        int segmentCount = (int) ((bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new ByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long remaining = bytes - ((long) i << SEGMENT_SHIFT);
+            segments[i] = ByteBuffer.allocateDirect((int) Math.min(remaining, 1L << SEGMENT_SHIFT));
+        }
+    }
+
+    /**
+     * Add a key to the filter.
+     *
+     * @param hash 64-bit hash of the key
+     * @return true if the key might have been added before, false if it definitely was not
+     */
+    boolean put(long hash) {
+        long h1 = hash;
+        long h2 = Long.rotateLeft(hash, 32) | 1;
+        boolean present = true;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            long byteIndex = bit >>> 3;
+            ByteBuffer segment = segments[(int) (byteIndex >>> SEGMENT_SHIFT)];
+            int offset = (int) (byteIndex & SEGMENT_MASK);
+            byte current = segment.get(offset);
+            byte mask = (byte) (1 << (bit & 7));
+            if ((current & mask) == 0) {
+                segment.put(offset, (byte) (current | mask));
+                present = false;
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Estimate the false positive rate of the filter after the given number of
+     * distinct keys have been added.
+     *
+     * @param keys number of distinct keys added
+     * @return the estimated false positive rate
+     */
+    double expectedFalsePositiveRate(long keys) {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * keys / bits), hashFunctions);
+    }
+
+    long memoryUsage() {
+        return bits >>> 3;
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.filter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exact set of binary keys stored outside of the Java heap.
+ *
+ * Keys are appended to an arena of direct byte buffers as {@code [length][bytes]}
+ * entries. An open addressing table (linear probing) maps the 64-bit hash of each
+ * key to the location of its entry in the arena. The table is indexed by the top
+ * bits of the hash and keeps the upper half of each hash, so that it can be resized
+ * without reading the arena and so that most probes are rejected without comparing
+ * key bytes. Both the table and the arena are split in several buffers to go beyond
+ * the 2GB limit of a single buffer.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class OffHeapKeySet {
+
+    private static final int INITIAL_CAPACITY_BITS = 10;
+    private static final int MAX_CAPACITY_BITS = 32;
+    private static final int INITIAL_SEGMENT_SIZE = 64 * 1024;
+    private static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    // slot layout: 8 bytes for the location of the entry (+1, 0 meaning empty), 4 bytes for the upper half of the hash
+    private static final int SLOT_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int SLOTS_PER_TABLE_SEGMENT_BITS = 26;
+    private static final int SLOTS_PER_TABLE_SEGMENT = 1 << SLOTS_PER_TABLE_SEGMENT_BITS;
+
+    private final List<ByteBuffer> arena = new ArrayList<>();
+    private ByteBuffer[] table;
+    private int capacityBits;
+    private long size;
+    private long arenaSize;
+
+    OffHeapKeySet() {
+        table = allocateTable(INITIAL_CAPACITY_BITS);
+    }
+
+    /**
+     * Add a key to the set.
+     *
+     * @param key to add
+     * @param hash 64-bit hash of the key
+     * @return true if the key was added, false if it was already present
+     */
+    boolean add(byte[] key, long hash) {
+        long mask = capacity() - 1;
+        int tag = (int) (hash >>> 32);
+        long slot = hash >>> (Long.SIZE - capacityBits);
+        long location;
+        while ((location = location(table, slot)) != 0) {
+            if (tag(table, slot) == tag && matches(location - 1, key)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        put(table, slot, append(key) + 1, tag);
+        if (++size * 2 > capacity()) {
+            resize();
+        }
+        return true;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long memoryUsage() {
+        return capacity() * SLOT_SIZE + arenaSize;
+    }
+
+    private long capacity() {
+        return 1L << capacityBits;
+    }
+
+    private boolean matches(long location, byte[] key) {
+        ByteBuffer segment = arena.get((int) (location >>> 32));
+        int offset = (int) location;
+        if (segment.getInt(offset) != key.length) {
+            return false;
+        }
+        offset += Integer.BYTES;
+        for (int i = 0; i < key.length; i++) {
+            if (segment.get(offset + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // returns the location of the entry: segment index in the high 32 bits, offset in the low 32 bits
+    private long append(byte[] key) {
+        int entrySize = Integer.BYTES + key.length;
+        ByteBuffer segment = arena.isEmpty() ? null : arena.get(arena.size() - 1);
+        if (segment == null || segment.remaining() < entrySize) {
+            int segmentSize = segment == null ? INITIAL_SEGMENT_SIZE : Math.min(segment.capacity() * 2, MAX_SEGMENT_SIZE);
+            segment = ByteBuffer.allocateDirect(Math.max(segmentSize, entrySize));
+            arena.add(segment);
+            arenaSize += segment.capacity();
+        }
+        long location = ((long) (arena.size() - 1) << 32) | segment.position();
+        segment.putInt(key.length);
+        segment.put(key);
+        return location;
+    }
+
+    private void resize() {
+        if (capacityBits == MAX_CAPACITY_BITS) {
+            throw new IllegalStateException("Too many keys: " + size);
+        }
+        ByteBuffer[] oldTable = table;
+        long oldCapacity = capacity();
+        table = allocateTable(capacityBits + 1);
+        long mask = capacity() - 1;
+        for (long i = 0; i < oldCapacity; i++) {
+            long location = location(oldTable, i);
+            if (location != 0) {
+                int tag = tag(oldTable, i);
+                long slot = ((long) tag << 32) >>> (Long.SIZE - capacityBits);
+                while (location(table, slot) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                put(table, slot, location, tag);
+            }
+        }
+    }
+
+    private ByteBuffer[] allocateTable(int capacityBits) {
+        this.capacityBits = capacityBits;
+        long slots = 1L << capacityBits;
+        ByteBuffer[] segments = new ByteBuffer[(int) Math.max(1, slots >>> SLOTS_PER_TABLE_SEGMENT_BITS)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect((int) Math.min(slots, SLOTS_PER_TABLE_SEGMENT) * SLOT_SIZE);
+        }
+        return segments;
+    }
+
+    private static long location(ByteBuffer[] table, long slot) {
+        return segment(table, slot).getLong(offset(slot));
+    }
+
+    private static int tag(ByteBuffer[] table, long slot) {
+        return segment(table, slot).getInt(offset(slot) + Long.BYTES);
+    }
+
+    private static void put(ByteBuffer[] table, long slot, long location, int tag) {
+        ByteBuffer segment = segment(table, slot);
+        int offset = offset(slot);
+        segment.putLong(offset, location);
+        segment.putInt(offset + Long.BYTES, tag);
+    }
+
+    private static ByteBuffer segment(ByteBuffer[] table, long slot) {
+        return table[(int) (slot >>> SLOTS_PER_TABLE_SEGMENT_BITS)];
+    }
+
+    private static int offset(long slot) {
+        return (int) (slot & (SLOTS_PER_TABLE_SEGMENT - 1)) * SLOT_SIZE;
+    }
+
+}
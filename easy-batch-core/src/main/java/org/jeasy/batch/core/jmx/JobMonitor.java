@@ -24,7 +24,10 @@
 package org.jeasy.batch.core.jmx;
 
 import org.jeasy.batch.core.job.Job;
+import org.jeasy.batch.core.job.JobMetrics;
+import org.jeasy.batch.core.job.JobParameters;
 import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.job.LatencyHistogram;
 import org.jeasy.batch.core.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,11 +40,21 @@ import javax.management.ObjectName;
 
 import java.lang.management.ManagementFactory;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * JMX MBean implementation of {@link JobMonitorMBean}.
  *
+ * Attributes are read from the live job report when they are requested. Job report
+ * update notifications are coalesced: at most one notification is sent per
+ * notification interval, whatever the number of updates in between.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class JobMonitor extends NotificationBroadcasterSupport implements JobMonitorMBean {
@@ -51,7 +64,17 @@ public class JobMonitor extends NotificationBroadcasterSupport implements JobMon
     /**
      * JMX notification sequence number.
      */
-    private long sequenceNumber = 1;
+    private final AtomicLong sequenceNumber = new AtomicLong(1);
+
+    /**
+     * Time (in nanoseconds) of the last sent notification.
+     */
+    private final AtomicLong lastNotificationTime = new AtomicLong(System.nanoTime());
+
+    /**
+     * Minimum interval (in nanoseconds) between two notifications.
+     */
+    private volatile long notificationInterval = TimeUnit.MILLISECONDS.toNanos(JobParameters.DEFAULT_JMX_NOTIFICATION_INTERVAL);
 
     /**
      * The batch report holding data exposed as JMX attributes.
@@ -62,6 +85,15 @@ public class JobMonitor extends NotificationBroadcasterSupport implements JobMon
         this.jobReport = jobReport;
     }
 
+    /**
+     * Set the minimum interval between two job report update notifications.
+     *
+     * @param notificationInterval in milliseconds, 0 to notify every update
+     */
+    public void setNotificationInterval(long notificationInterval) {
+        this.notificationInterval = TimeUnit.MILLISECONDS.toNanos(notificationInterval);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -102,6 +134,47 @@ public class JobMonitor extends NotificationBroadcasterSupport implements JobMon
         return jobReport.getMetrics().getWriteCount();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getThroughput() {
+        return jobReport.getMetrics().getThroughput();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getAverageThroughput() {
+        return jobReport.getMetrics().getAverageThroughput();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getProgress() {
+        return jobReport.getMetrics().getProgress();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getEstimatedEndTime() {
+        LocalDateTime estimatedEndTime = jobReport.getMetrics().getEstimatedEndTime();
+        return estimatedEndTime == null ? "" : Utils.formatTime(estimatedEndTime);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCurrentBatchSize() {
+        return jobReport.getMetrics().getCurrentBatchSize();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -118,15 +191,83 @@ public class JobMonitor extends NotificationBroadcasterSupport implements JobMon
         return (jobReport.getMetrics().getEndTime() == null) ? "" : Utils.formatTime(jobReport.getMetrics().getEndTime());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDuration() {
+        JobMetrics metrics = jobReport.getMetrics();
+        LocalDateTime startTime = metrics.getStartTime();
+        if (startTime == null) {
+            return "";
+        }
+        LocalDateTime endTime = metrics.getEndTime() == null ? LocalDateTime.now() : metrics.getEndTime();
+        return Utils.formatDuration(Duration.between(startTime, endTime));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLastError() {
+        Throwable lastError = jobReport.getLastError();
+        return lastError == null ? "" : lastError.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNotificationInterval() {
+        return TimeUnit.NANOSECONDS.toMillis(notificationInterval);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getLatencyHistograms() {
+        Map<String, LatencyHistogram> histograms = jobReport.getMetrics().getLatencyHistograms();
+        List<String> summaries = new ArrayList<>(histograms.size());
+        for (Map.Entry<String, LatencyHistogram> histogram : histograms.entrySet()) {
+            summaries.add(histogram.getKey() + ": " + histogram.getValue());
+        }
+        return summaries.toArray(new String[0]);
+    }
+
     @Override
     public String getJobStatus() {
         return jobReport.getStatus().name();
     }
 
+    /**
+     * Notify listeners that the job report has been updated. Updates are coalesced:
+     * no notification is sent if the last one has been sent less than the notification
+     * interval ago. This method is cheap enough to be called for each record.
+     */
     public void notifyJobReportUpdate() {
+        long now = System.nanoTime();
+        long lastNotification = lastNotificationTime.get();
+        if (now - lastNotification < notificationInterval
+                || !lastNotificationTime.compareAndSet(lastNotification, now)) {
+            return; // too early, or another thread is sending the notification
+        }
+        sendJobReportUpdate();
+    }
+
+    /**
+     * Notify listeners that the job report has been updated, regardless of the
+     * notification interval. This is used to publish the final job report.
+     */
+    public void flushJobReportUpdate() {
+        lastNotificationTime.set(System.nanoTime());
+        sendJobReportUpdate();
+    }
+
+    private void sendJobReportUpdate() {
         Notification notification = new AttributeChangeNotification(
                 this,
-                sequenceNumber++,
+                sequenceNumber.getAndIncrement(),
                 Timestamp.valueOf(LocalDateTime.now()).getTime(),
                 "job report updated",
                 "JobReport",
@@ -69,6 +69,43 @@ public interface JobMonitorMBean {
      */
     long getErrorCount();
 
+    /**
+     * Get the read throughput over the last sampling period (about one second).
+     *
+     * @return the number of read records per second
+     */
+    double getThroughput();
+
+    /**
+     * Get the exponentially weighted moving average of the read throughput.
+     *
+     * @return the average number of read records per second
+     */
+    double getAverageThroughput();
+
+    /**
+     * Get the job progress. The progress is known only if the job's reader is a
+     * {@link org.jeasy.batch.core.reader.ProgressAwareRecordReader}.
+     *
+     * @return the progress percentage (between 0 and 100), or a negative value if unknown
+     */
+    double getProgress();
+
+    /**
+     * Get the estimated end time of the job, extrapolated from the progress so far.
+     *
+     * @return the estimated end time, or an empty string if unknown
+     */
+    String getEstimatedEndTime();
+
+    /**
+     * Get the current batch size. This value changes during the job execution
+     * when adaptive batch sizing is enabled.
+     *
+     * @return the current batch size
+     */
+    int getCurrentBatchSize();
+
     /**
      * Get batch execution start time.
      *
@@ -83,6 +120,36 @@ public interface JobMonitorMBean {
      */
     String getEndTime();
 
+    /**
+     * Get the job duration so far, or the total job duration if the job is finished.
+     *
+     * @return the job duration
+     */
+    String getDuration();
+
+    /**
+     * Get the last error of the job, if any.
+     *
+     * @return the last error or an empty string if no error occurred
+     */
+    String getLastError();
+
+    /**
+     * Get the minimum interval (in milliseconds) between two job report update notifications.
+     * Attributes of this MBean are always up-to-date when they are read, regardless of this interval.
+     *
+     * @return the notification interval in milliseconds
+     */
+    long getNotificationInterval();
+
+    /**
+     * Get latency histograms summaries (count, p50, p99, p999 and max), one per
+     * measured stage. Empty unless latency histograms are enabled.
+     *
+     * @return latency histograms summaries
+     */
+    String[] getLatencyHistograms();
+
     /**
      * Get the job {@link JobStatus}.
      *
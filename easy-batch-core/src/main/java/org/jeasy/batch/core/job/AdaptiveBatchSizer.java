@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+/**
+ * Adapts the batch size between a lower and an upper bound based on the
+ * observed write throughput (hill climbing) and write failures (multiplicative decrease).
+ *
+ * <p>After each successful write, the batch size is moved by a fixed step in the current
+ * direction. The direction is reversed when the throughput drops compared to the previous
+ * batch. When a write fails, the batch size is halved.</p>
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class AdaptiveBatchSizer {
+
+    /**
+     * Throughput variations within this ratio are considered as noise.
+     */
+    private static final double TOLERANCE = 0.05;
+    private static final int NUMBER_OF_STEPS = 20;
+
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final int step;
+    private volatile int batchSize;
+    private int direction = 1;
+    private double lastThroughput;
+
+    AdaptiveBatchSizer(int initialBatchSize, int minBatchSize, int maxBatchSize) {
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.step = Math.max(1, (maxBatchSize - minBatchSize) / NUMBER_OF_STEPS);
+        this.batchSize = clamp(initialBatchSize);
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    synchronized void onBatchWritten(long size, long writeTimeNanos) {
+        if (size == 0 || writeTimeNanos <= 0) {
+            return;
+        }
+        double throughput = (double) size / writeTimeNanos;
+        if (throughput < lastThroughput * (1 - TOLERANCE)) {
+            direction = -direction;
+        }
+        lastThroughput = throughput;
+        batchSize = clamp(batchSize + direction * step);
+    }
+
+    synchronized void onBatchWritingFailure() {
+        direction = 1;
+        lastThroughput = 0;
+        batchSize = clamp(batchSize / 2);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minBatchSize, Math.min(maxBatchSize, size));
+    }
+}
@@ -24,6 +24,18 @@
 package org.jeasy.batch.core.job;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jeasy.batch.core.jmx.JobMonitor;
 import org.jeasy.batch.core.listener.BatchListener;
@@ -38,6 +50,8 @@ import org.jeasy.batch.core.listener.RecordReaderListener;
 import org.jeasy.batch.core.listener.RecordWriterListener;
 import org.jeasy.batch.core.processor.CompositeRecordProcessor;
 import org.jeasy.batch.core.processor.RecordProcessor;
+import org.jeasy.batch.core.reader.PollableRecordReader;
+import org.jeasy.batch.core.reader.ProgressAwareRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
 import org.jeasy.batch.core.record.Batch;
 import org.jeasy.batch.core.record.Record;
@@ -55,13 +69,21 @@ class BatchJob<I , O> implements Job {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BatchJob.class);
     private static final String DEFAULT_JOB_NAME = "job";
+    private static final long PIPELINE_STOP_TIMEOUT = 1000; // in ms
 
     private String name;
 
     private RecordReader<I> recordReader;
     private RecordWriter<O> recordWriter;
     private RecordProcessor<I, O> recordProcessor;
+    // record processor used by this execution, possibly decorated to record latencies
+    private RecordProcessor<I, O> processingPipeline;
     private RecordTracker recordTracker;
+    private boolean readerClosed;
+    private ExecutorService processingExecutor;
+    private AdaptiveBatchSizer batchSizer;
+    private LatencyHistogram readLatency;
+    private LatencyHistogram writeLatency;
 
     private JobListener jobListener;
     private BatchListener<O> batchListener;
@@ -93,6 +115,7 @@ class BatchJob<I , O> implements Job {
         batchListener = new CompositeBatchListener<>();
         jobListener = new CompositeJobListener();
         recordTracker = new RecordTracker();
+        processingExecutor = ForkJoinPool.commonPool();
     }
 
     @Override
@@ -107,9 +130,14 @@ class BatchJob<I , O> implements Job {
             openReader();
             openWriter();
             setStatus(JobStatus.STARTED);
-            while (moreRecords() && !isInterrupted()) {
-                Batch<O> batch = readAndProcessBatch();
-                writeBatch(batch);
+            if (parameters.isPipeliningEnabled()) {
+                readProcessAndWriteInPipeline();
+            } else {
+                while (moreRecords() && !isInterrupted()) {
+                    Batch<O> batch = readAndProcessBatch();
+                    writeBatch(batch);
+                    updateProgress();
+                }
             }
             setStatus(JobStatus.STOPPING);
         } catch (Throwable exception) {
@@ -131,16 +159,57 @@ class BatchJob<I , O> implements Job {
         setStatus(JobStatus.STARTING);
         jobListener.beforeJob(parameters);
         recordTracker = new RecordTracker();
+        readerClosed = false;
         metrics.setStartTime(LocalDateTime.now());
         LOGGER.debug("Batch size: {}", parameters.getBatchSize());
+        if (parameters.isAdaptiveBatchSizeEnabled()) {
+            LOGGER.debug("Adaptive batch size: [{}, {}]", parameters.getMinBatchSize(), parameters.getMaxBatchSize());
+            batchSizer = new AdaptiveBatchSizer(parameters.getBatchSize(), parameters.getMinBatchSize(), parameters.getMaxBatchSize());
+        }
+        metrics.setCurrentBatchSize(currentBatchSize());
+        LOGGER.debug("Max batch latency: {}", isMaxBatchLatencyEnabled() ? parameters.getMaxBatchLatency() + "ms" : "N/A");
         LOGGER.debug("Error threshold: {}", Utils.formatErrorThreshold(parameters.getErrorThreshold()));
         LOGGER.debug("Jmx monitoring: {}", parameters.isJmxMonitoring());
+        if (parameters.isJmxMonitoring()) {
+            LOGGER.debug("Jmx notification interval: {}ms", parameters.getJmxNotificationInterval());
+        }
         LOGGER.debug("Batch scanning: {}", parameters.isBatchScanningEnabled());
+        LOGGER.debug("Batch scanning strategy: {}", parameters.getBatchScanningStrategy());
+        LOGGER.debug("Pipelining: {}", parameters.isPipeliningEnabled());
+        LOGGER.debug("Parallel processing: {}", parameters.isParallelProcessingEnabled());
+        LOGGER.debug("Latency histograms: {}", parameters.isLatencyHistogramsEnabled());
+        processingPipeline = recordProcessor;
+        if (parameters.isLatencyHistogramsEnabled()) {
+            registerLatencyHistograms();
+        }
         registerJobMonitor();
     }
 
+    @SuppressWarnings(value = "unchecked,rawtypes")
+    private void registerLatencyHistograms() {
+        readLatency = new LatencyHistogram();
+        metrics.addLatencyHistogram(JobMetrics.READ_LATENCY, readLatency);
+        if (recordProcessor instanceof CompositeRecordProcessor) {
+            // time each processor through a copy of the composite, leaving the user's processors untouched
+            List<RecordProcessor> processors = ((CompositeRecordProcessor) recordProcessor).getRecordProcessors();
+            CompositeRecordProcessor timedProcessors = new CompositeRecordProcessor();
+            for (int i = 0; i < processors.size(); i++) {
+                LatencyHistogram processorLatency = new LatencyHistogram();
+                metrics.addLatencyHistogram("Processor " + (i + 1) + " (" + processors.get(i).getClass().getSimpleName() + ")", processorLatency);
+                timedProcessors.addRecordProcessor(new TimedRecordProcessor(processors.get(i), processorLatency));
+            }
+            processingPipeline = timedProcessors;
+        }
+        LatencyHistogram pipelineLatency = new LatencyHistogram();
+        metrics.addLatencyHistogram(JobMetrics.PIPELINE_LATENCY, pipelineLatency);
+        processingPipeline = new TimedRecordProcessor<>(processingPipeline, pipelineLatency);
+        writeLatency = new LatencyHistogram();
+        metrics.addLatencyHistogram(JobMetrics.WRITE_LATENCY, writeLatency);
+    }
+
     private void registerJobMonitor() {
         if (parameters.isJmxMonitoring()) {
+            monitor.setNotificationInterval(parameters.getJmxNotificationInterval());
             monitor.registerJmxMBeanFor(this);
         }
     }
@@ -149,6 +218,11 @@ class BatchJob<I , O> implements Job {
         try {
             LOGGER.debug("Opening record reader");
             recordReader.open();
+            if (recordReader instanceof ProgressAwareRecordReader) {
+                long totalWork = ((ProgressAwareRecordReader<I>) recordReader).getTotalWork();
+                LOGGER.debug("Total work: {}", totalWork);
+                metrics.setTotalWork(totalWork);
+            }
         } catch (Throwable e) {
             LOGGER.error("Unable to open record reader", e);
             throw e;
@@ -173,21 +247,34 @@ class BatchJob<I , O> implements Job {
         report.setStatus(status);
     }
 
+    private void updateProgress() {
+        metrics.sampleThroughput();
+        if (recordReader instanceof ProgressAwareRecordReader) {
+            ProgressAwareRecordReader<I> progressAwareRecordReader = (ProgressAwareRecordReader<I>) recordReader;
+            metrics.setCompletedWork(progressAwareRecordReader.getCompletedWork());
+        }
+    }
+
     private boolean moreRecords() {
         return recordTracker.moreRecords();
     }
 
     private Batch<O> readAndProcessBatch() throws Exception {
+        if (parameters.isParallelProcessingEnabled()) {
+            return processBatch(readBatch());
+        }
         Batch<O> batch = new Batch<>();
         batchListener.beforeBatchReading();
-        for (int i = 0; i < parameters.getBatchSize(); i++) {
-            Record<I> record = readRecord();
+        int batchSize = currentBatchSize();
+        long batchDeadline = 0;
+        for (int i = 0; i < batchSize; i++) {
+            Record<I> record = i == 0 ? readNextRecord() : pollNextRecord(batchDeadline);
             if (record == null) {
-                LOGGER.debug("No more records");
-                recordTracker.noMoreRecords();
                 break;
-            } else {
-                metrics.incrementReadCount();
+            }
+            metrics.incrementReadCount();
+            if (i == 0) {
+                batchDeadline = batchDeadline();
             }
             processRecord(record, batch);
         }
@@ -195,12 +282,225 @@ class BatchJob<I , O> implements Job {
         return batch;
     }
 
+    /*
+     * Pipelined mode: records are read in a reader thread, processed in a processor thread
+     * and written in the job's thread. Stages are connected with bounded FIFO queues, so
+     * batches are written in the same order they have been read.
+     */
+    private void readProcessAndWriteInPipeline() throws Exception {
+        BlockingQueue<List<Record<I>>> readRecords = new ArrayBlockingQueue<>(parameters.getPipelineQueueCapacity());
+        BlockingQueue<Batch<O>> processedBatches = new ArrayBlockingQueue<>(parameters.getPipelineQueueCapacity());
+        List<Record<I>> endOfReading = new ArrayList<>(0);
+        Batch<O> endOfProcessing = new Batch<>();
+        AtomicReference<Throwable> stageError = new AtomicReference<>();
+        Thread readerStage = new Thread(() -> readBatches(readRecords, endOfReading, stageError), name + "-reader");
+        Thread processorStage = new Thread(() -> processBatches(readRecords, endOfReading, processedBatches, endOfProcessing, stageError), name + "-processor");
+        readerStage.setDaemon(true); // a stage blocked in the reader must not prevent the JVM from exiting
+        processorStage.setDaemon(true);
+        readerStage.start();
+        processorStage.start();
+        try {
+            Batch<O> batch = processedBatches.take();
+            while (batch != endOfProcessing) {
+                writeBatch(batch);
+                updateProgress();
+                batch = processedBatches.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stopPipelineStages(readerStage, processorStage);
+        }
+        Throwable error = stageError.get();
+        if (error instanceof Exception) {
+            throw (Exception) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+    }
+
+    private void readBatches(BlockingQueue<List<Record<I>>> readRecords, List<Record<I>> endOfReading,
+                             AtomicReference<Throwable> stageError) {
+        try {
+            while (moreRecords() && !isInterrupted()) {
+                readRecords.put(readBatch());
+            }
+        } catch (InterruptedException e) {
+            return; // the pipeline is being stopped
+        } catch (Throwable e) {
+            stageError.compareAndSet(null, e);
+        }
+        signalEndOfStage(readRecords, endOfReading);
+    }
+
+    private void processBatches(BlockingQueue<List<Record<I>>> readRecords, List<Record<I>> endOfReading,
+                                BlockingQueue<Batch<O>> processedBatches, Batch<O> endOfProcessing,
+                                AtomicReference<Throwable> stageError) {
+        try {
+            List<Record<I>> records = readRecords.take();
+            while (records != endOfReading) {
+                processedBatches.put(processBatch(records));
+                records = readRecords.take();
+            }
+        } catch (InterruptedException e) {
+            return; // the pipeline is being stopped
+        } catch (Throwable e) {
+            stageError.compareAndSet(null, e);
+        }
+        signalEndOfStage(processedBatches, endOfProcessing);
+    }
+
+    private <T> void signalEndOfStage(BlockingQueue<T> queue, T endOfStage) {
+        try {
+            queue.put(endOfStage);
+        } catch (InterruptedException e) {
+            // the pipeline is being stopped
+        }
+    }
+
+    /*
+     * Stages are interrupted, and waited for with a timeout since a stage may be blocked
+     * in an I/O which ignores interrupts (in the record reader for instance). Closing the
+     * reader is then the only way to unblock it, which is done before waiting again.
+     */
+    private void stopPipelineStages(Thread... stages) {
+        boolean interrupted = Thread.interrupted();
+        for (Thread stage : stages) {
+            stage.interrupt();
+        }
+        interrupted |= awaitPipelineStages(stages);
+        if (isAnyAlive(stages)) {
+            LOGGER.warn("Pipeline stages still running {}ms after being interrupted, closing the record reader to unblock them", PIPELINE_STOP_TIMEOUT);
+            closeReader();
+            interrupted |= awaitPipelineStages(stages);
+            if (isAnyAlive(stages)) {
+                LOGGER.warn("Pipeline stages still running after the record reader has been closed, giving up on them");
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // returns true if the current thread has been interrupted while waiting
+    private boolean awaitPipelineStages(Thread... stages) {
+        boolean interrupted = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PIPELINE_STOP_TIMEOUT);
+        for (Thread stage : stages) {
+            long remainingTime = deadline - System.nanoTime();
+            while (stage.isAlive() && remainingTime > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedJoin(stage, remainingTime);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+                remainingTime = deadline - System.nanoTime();
+            }
+        }
+        return interrupted;
+    }
+
+    private static boolean isAnyAlive(Thread... threads) {
+        for (Thread thread : threads) {
+            if (thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Record<I>> readBatch() throws Exception {
+        int batchSize = currentBatchSize();
+        List<Record<I>> records = new ArrayList<>(batchSize);
+        batchListener.beforeBatchReading();
+        long batchDeadline = 0;
+        for (int i = 0; i < batchSize; i++) {
+            Record<I> record = i == 0 ? readNextRecord() : pollNextRecord(batchDeadline);
+            if (record == null) {
+                break;
+            }
+            metrics.incrementReadCount();
+            if (i == 0) {
+                batchDeadline = batchDeadline();
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /*
+     * The first record of a batch is always read with a regular (blocking) read:
+     * a null record here means that the end of the data source is reached.
+     */
+    private Record<I> readNextRecord() throws Exception {
+        Record<I> record = readRecord();
+        if (record == null) {
+            LOGGER.debug("No more records");
+            recordTracker.noMoreRecords();
+        }
+        return record;
+    }
+
+    /*
+     * Returns null when the batch should be closed, either because the end of the data source
+     * is reached or because the oldest record of the batch exceeded the max batch latency.
+     */
+    @SuppressWarnings("unchecked")
+    private Record<I> pollNextRecord(long batchDeadline) throws Exception {
+        if (!isMaxBatchLatencyEnabled()) {
+            return readNextRecord();
+        }
+        long remainingTime = batchDeadline - System.nanoTime();
+        if (remainingTime <= 0) {
+            LOGGER.debug("Max batch latency reached, closing batch");
+            return null;
+        }
+        if (!(recordReader instanceof PollableRecordReader)) {
+            return readNextRecord();
+        }
+        Record<I> record = readRecord(() -> ((PollableRecordReader<I>) recordReader).pollRecord(remainingTime, TimeUnit.NANOSECONDS));
+        if (record == null) {
+            LOGGER.debug("Max batch latency reached, closing batch");
+        }
+        return record;
+    }
+
+    private long batchDeadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(parameters.getMaxBatchLatency());
+    }
+
+    private boolean isMaxBatchLatencyEnabled() {
+        return parameters.getMaxBatchLatency() > 0;
+    }
+
+    private Batch<O> processBatch(List<Record<I>> records) throws Exception {
+        Batch<O> batch = new Batch<>();
+        if (parameters.isParallelProcessingEnabled()) {
+            processRecordsInParallel(records, batch);
+        } else {
+            for (Record<I> record : records) {
+                processRecord(record, batch);
+            }
+        }
+        batchListener.afterBatchProcessing(batch);
+        return batch;
+    }
+
     private Record<I> readRecord() throws Exception {
+        return readRecord(recordReader::readRecord);
+    }
+
+    private Record<I> readRecord(Callable<Record<I>> reading) throws Exception {
         Record<I> record;
         try {
             LOGGER.debug("Reading next record");
             recordReaderListener.beforeRecordReading();
-            record = recordReader.readRecord();
+            long readStartTime = System.nanoTime();
+            record = reading.call();
+            if (readLatency != null && record != null) {
+                readLatency.record(System.nanoTime() - readStartTime);
+            }
             recordReaderListener.afterRecordReading(record);
             return record;
         } catch (Exception e) {
@@ -221,7 +521,7 @@ class BatchJob<I , O> implements Job {
                 LOGGER.debug("Record {} has been filtered", record);
                 metrics.incrementFilterCount();
             } else {
-                processedRecord = recordProcessor.processRecord(preProcessedRecord);
+                processedRecord = processingPipeline.processRecord(preProcessedRecord);
                 if (processedRecord == null) {
                     LOGGER.debug("Record {} has been filtered", record);
                     metrics.incrementFilterCount();
@@ -233,30 +533,115 @@ class BatchJob<I , O> implements Job {
         } catch (Exception e) {
             LOGGER.error("Unable to process record {}", record, e);
             pipelineListener.onRecordProcessingException(record, e);
-            metrics.incrementErrorCount();
-            report.setLastError(e);
-            if (metrics.getErrorCount() > parameters.getErrorThreshold()) {
-                String errorMessage = "Error threshold exceeded. Aborting execution";
-                LOGGER.error(errorMessage, e);
-                throw new ErrorThresholdExceededException(errorMessage, e);
+            handleProcessingError(e);
+        }
+    }
+
+    private void handleProcessingError(Exception e) throws ErrorThresholdExceededException {
+        metrics.incrementErrorCount();
+        report.setLastError(e);
+        if (metrics.getErrorCount() > parameters.getErrorThreshold()) {
+            String errorMessage = "Error threshold exceeded. Aborting execution";
+            LOGGER.error(errorMessage, e);
+            throw new ErrorThresholdExceededException(errorMessage, e);
+        }
+    }
+
+    /*
+     * Parallel processing: records of a batch are processed concurrently by the processing executor,
+     * while filter and error accounting is done in the calling thread in the original order of records.
+     * Records are submitted in a sliding window, so that when the error threshold is exceeded (or the
+     * job is interrupted), at most a window of records after the current one has been submitted.
+     */
+    private void processRecordsInParallel(List<Record<I>> records, Batch<O> batch) throws ErrorThresholdExceededException {
+        int window = parallelProcessingWindow();
+        List<Future<Record<O>>> processedRecords = new ArrayList<>(records.size());
+        try {
+            for (int i = 0; i < records.size(); i++) {
+                while (processedRecords.size() < records.size() && processedRecords.size() < i + window) {
+                    Record<I> record = records.get(processedRecords.size());
+                    processedRecords.add(processingExecutor.submit(() -> processRecordInParallel(record)));
+                }
+                notifyJobUpdate();
+                try {
+                    Record<O> processedRecord = processedRecords.get(i).get();
+                    if (processedRecord == null) {
+                        LOGGER.debug("Record {} has been filtered", records.get(i));
+                        metrics.incrementFilterCount();
+                    } else {
+                        batch.addRecord(processedRecord);
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    handleProcessingError((Exception) cause);
+                } catch (InterruptedException e) {
+                    LOGGER.debug("Interrupted while waiting for record {} to be processed", records.get(i));
+                    Thread.currentThread().interrupt(); // the job is aborted once the current batch is written
+                    return;
+                }
+            }
+        } finally {
+            for (Future<Record<O>> processedRecord : processedRecords) {
+                processedRecord.cancel(false); // no-op for completed records
             }
         }
     }
 
+    private int parallelProcessingWindow() {
+        if (processingExecutor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) processingExecutor).getParallelism();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    @SuppressWarnings(value = "unchecked,rawtypes")
+    private Record<O> processRecordInParallel(Record<I> record) throws Exception {
+        Record processedRecord = null;
+        try {
+            LOGGER.debug("Processing record {}", record);
+            Record preProcessedRecord = pipelineListener.beforeRecordProcessing(record);
+            if (preProcessedRecord != null) {
+                processedRecord = processingPipeline.processRecord(preProcessedRecord);
+            }
+            pipelineListener.afterRecordProcessing(record, processedRecord);
+            return processedRecord;
+        } catch (Exception e) {
+            LOGGER.error("Unable to process record {}", record, e);
+            pipelineListener.onRecordProcessingException(record, e);
+            throw e;
+        }
+    }
+
     private void writeBatch(Batch<O> batch) throws Exception {
         try {
             if (!batch.isEmpty()) {
                 LOGGER.debug("Writing records {}", batch);
                 recordWriterListener.beforeRecordWriting(batch);
+                long writeStartTime = System.nanoTime();
                 recordWriter.writeRecords(batch);
+                long writeTime = System.nanoTime() - writeStartTime;
                 recordWriterListener.afterRecordWriting(batch);
                 batchListener.afterBatchWriting(batch);
+                if (writeLatency != null) {
+                    writeLatency.record(writeTime);
+                }
                 metrics.incrementWriteCount(batch.size());
+                if (batchSizer != null) {
+                    batchSizer.onBatchWritten(batch.size(), writeTime);
+                    metrics.setCurrentBatchSize(batchSizer.getBatchSize());
+                }
             }
         } catch (Exception e) {
             recordWriterListener.onRecordWritingException(batch, e);
             batchListener.onBatchWritingException(batch, e);
             report.setLastError(e);
+            if (batchSizer != null) {
+                batchSizer.onBatchWritingFailure();
+                metrics.setCurrentBatchSize(batchSizer.getBatchSize());
+            }
             if (parameters.isBatchScanningEnabled()) {
                 scan(batch);
             } else {
@@ -268,21 +653,56 @@ class BatchJob<I , O> implements Job {
 
     private void scan(Batch<O> batch) {
         LOGGER.debug("Scanning records {}", batch);
+        List<Record<O>> records = new ArrayList<>();
         for (Record<O> record : batch) {
             record.getHeader().setScanned(true);
-            Batch<O> scannedBatch = new Batch<>(record);
-            try {
-                recordWriterListener.beforeRecordWriting(scannedBatch);
-                recordWriter.writeRecords(scannedBatch);
-                recordWriterListener.afterRecordWriting(scannedBatch);
-                metrics.incrementWriteCount(scannedBatch.size());
-            } catch (Exception exception) {
-                recordWriterListener.onRecordWritingException(scannedBatch, exception);
+            records.add(record);
+        }
+        if (parameters.getBatchScanningStrategy() == BatchScanningStrategy.BISECTION) {
+            bisect(records);
+        } else {
+            for (Record<O> record : records) {
+                writeScannedRecords(Collections.singletonList(record));
+            }
+        }
+        LOGGER.debug("End of records scanning");
+    }
+
+    private void bisect(List<Record<O>> records) {
+        int middle = records.size() / 2;
+        writeScannedRecords(records.subList(0, middle));
+        writeScannedRecords(records.subList(middle, records.size()));
+    }
+
+    /*
+     * Listeners are notified of every scanned write attempt, including failed sub-batches
+     * of the bisection strategy which are then split again. Only isolated records are
+     * accounted as errors.
+     */
+    private void writeScannedRecords(List<Record<O>> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Batch<O> scannedBatch = new Batch<>(new ArrayList<>(records));
+        try {
+            recordWriterListener.beforeRecordWriting(scannedBatch);
+            recordWriter.writeRecords(scannedBatch);
+            recordWriterListener.afterRecordWriting(scannedBatch);
+            metrics.incrementWriteCount(scannedBatch.size());
+        } catch (Exception exception) {
+            recordWriterListener.onRecordWritingException(scannedBatch, exception);
+            if (records.size() > 1) {
+                LOGGER.debug("Unable to write {} scanned records, splitting them in halves", records.size());
+                bisect(records);
+            } else {
                 metrics.incrementErrorCount();
                 report.setLastError(exception);
             }
         }
-        LOGGER.debug("End of records scanning");
+    }
+
+    private int currentBatchSize() {
+        return batchSizer != null ? batchSizer.getBatchSize() : parameters.getBatchSize();
     }
 
     private boolean isInterrupted() {
@@ -299,7 +719,7 @@ class BatchJob<I , O> implements Job {
         metrics.setEndTime(LocalDateTime.now());
         LOGGER.info( "Job '{}' finished with status {} in {}",
                 name, report.getStatus(), Utils.formatDuration(report.getMetrics().getDuration()));
-        notifyJobUpdate();
+        flushJobUpdate();
         jobListener.afterJob(report);
     }
 
@@ -309,6 +729,10 @@ class BatchJob<I , O> implements Job {
     }
 
     private void closeReader() {
+        if (readerClosed) {
+            return; // already closed to stop pipeline stages
+        }
+        readerClosed = true;
         try {
             LOGGER.debug("Closing record reader");
             recordReader.close();
@@ -334,6 +758,12 @@ class BatchJob<I , O> implements Job {
         }
     }
 
+    private void flushJobUpdate() {
+        if (parameters.isJmxMonitoring()) {
+            monitor.flushJobReportUpdate();
+        }
+    }
+
     /*
      * Setters for job components
      */
@@ -346,6 +776,10 @@ class BatchJob<I , O> implements Job {
         this.recordWriter = recordWriter;
     }
 
+    public void setProcessingExecutor(ExecutorService processingExecutor) {
+        this.processingExecutor = processingExecutor;
+    }
+
     public void addRecordProcessor(RecordProcessor<?, ?> recordProcessor) {
         ((CompositeRecordProcessor) this.recordProcessor).addRecordProcessor(recordProcessor);
     }
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A report merger that generates a merged report defined as follows:
@@ -38,6 +39,7 @@ import java.util.List;
  * <li>The total written records is the sum of total written records</li>
  * <li>The total filtered records is the sum of total filtered records</li>
  * <li>The total error records is the sum of total error records</li>
+ * <li>Latency histograms with the same name are merged</li>
  * <li>The final status is {@link JobStatus#COMPLETED} (if all partials are completed) or {@link JobStatus#FAILED} (if one of partials has failed).</li>
  * <li>The final name is the concatenation of partial job names.</li>
  * </ul>
@@ -73,6 +75,7 @@ public class DefaultJobReportMerger implements JobReportMerger {
             calculateWrittenRecords(finalJobReport, jobReport);
             calculateFilteredRecords(finalJobReport, jobReport);
             calculateErrorRecords(finalJobReport, jobReport);
+            mergeLatencyHistograms(finalJobReport, jobReport);
             setStatus(finalJobReport, jobReport);
             jobNames.add(jobReport.getJobName());
             finalJobReport.setSystemProperties(jobReport.getSystemProperties()); // works unless partial jobs are run in different JVMs..
@@ -110,6 +113,18 @@ public class DefaultJobReportMerger implements JobReportMerger {
         finalJobReport.getMetrics().incrementFilterCount(jobReport.getMetrics().getFilterCount());
     }
 
+    private void mergeLatencyHistograms(JobReport finalJobReport, JobReport jobReport) {
+        JobMetrics finalMetrics = finalJobReport.getMetrics();
+        for (Map.Entry<String, LatencyHistogram> histogram : jobReport.getMetrics().getLatencyHistograms().entrySet()) {
+            LatencyHistogram finalHistogram = finalMetrics.getLatencyHistograms().get(histogram.getKey());
+            if (finalHistogram == null) {
+                finalHistogram = new LatencyHistogram();
+                finalMetrics.addLatencyHistogram(histogram.getKey(), finalHistogram);
+            }
+            finalHistogram.merge(histogram.getValue());
+        }
+    }
+
     private String concatenate(List<String> names) {
         StringBuilder stringBuilder = new StringBuilder();
         Iterator<String> iterator = names.iterator();
@@ -37,6 +37,9 @@ import org.jeasy.batch.core.util.Utils;
 import org.jeasy.batch.core.validator.RecordValidator;
 import org.jeasy.batch.core.writer.RecordWriter;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Batch job builder.
  * This is the main entry point to configure batch jobs.
@@ -177,6 +180,21 @@ public final class JobBuilder<I, O> {
         return this;
     }
 
+    /**
+     * Set the minimum interval between two JMX job report update notifications.
+     * Updates happening in between are coalesced into the next notification, and
+     * a final notification is always sent when the job finishes. JMX attributes
+     * are read from the live job report and are not affected by this interval.
+     *
+     * @param jmxNotificationInterval in milliseconds, 0 to send a notification on every update
+     * @return the job builder
+     */
+    public JobBuilder<I, O> jmxNotificationInterval(final long jmxNotificationInterval) {
+        Utils.checkArgument(jmxNotificationInterval >= 0, "JMX notification interval must be >= 0");
+        parameters.setJmxNotificationInterval(jmxNotificationInterval);
+        return this;
+    }
+
     /**
      * Activate batch scanning. When activated, batch scanning will be kicked in
      * when an exception occurs during the batch writing. Records will be attempted
@@ -199,6 +217,123 @@ public final class JobBuilder<I, O> {
         return this;
     }
 
+    /**
+     * Set the strategy used to scan a batch when batch scanning is enabled.
+     * Defaults to {@link BatchScanningStrategy#RECORD_BY_RECORD}.
+     *
+     * <p>With {@link BatchScanningStrategy#BISECTION}, the failed batch is recursively
+     * split in halves until faulty records are isolated. Record writer listeners are notified
+     * of every write attempt: each {@code beforeRecordWriting} call is followed by either
+     * {@code afterRecordWriting} or {@code onRecordWritingException}, including for sub-batches
+     * that are split again. Only isolated (singleton) faulty records are counted as errors.</p>
+     *
+     * @param batchScanningStrategy the batch scanning strategy
+     * @return the job builder
+     */
+    public JobBuilder<I, O> batchScanningStrategy(final BatchScanningStrategy batchScanningStrategy) {
+        Utils.checkNotNull(batchScanningStrategy, "batch scanning strategy");
+        parameters.setBatchScanningStrategy(batchScanningStrategy);
+        return this;
+    }
+
+    /**
+     * Activate pipelining. When activated, reading, processing and writing are
+     * executed in separate threads connected by bounded queues, so that the next
+     * batch is read and processed while the current one is being written.
+     * Batches are still written in the same order they were read.
+     *
+     * <p><strong>Record readers and record processors (and their listeners) are
+     * invoked from dedicated threads, while record writers (and their listeners)
+     * are invoked from the job's thread. Readers and writers are each used by a
+     * single thread at a time. So are processors and pipeline listeners, unless
+     * parallel processing is also enabled (see {@link #enableParallelProcessing(boolean)}),
+     * in which case the processor stage invokes them concurrently from the processing
+     * executor.</strong></p>
+     *
+     * <p><strong>The batch listener is an exception: it is called concurrently from
+     * the three threads ({@code beforeBatchReading} from the reader thread,
+     * {@code afterBatchProcessing} from the processor thread and {@code afterBatchWriting}
+     * as well as {@code onBatchWritingException} from the job's thread). Callbacks of
+     * different batches may be interleaved: {@code beforeBatchReading} for batch N+1 may
+     * be called before {@code afterBatchWriting} for batch N. A batch listener used with
+     * pipelining must therefore be thread safe and must not rely on callbacks order
+     * across batches.</strong></p>
+     *
+     * @param pipelining true to enable pipelining. False by default.
+     * @return the job builder
+     */
+    public JobBuilder<I, O> enablePipelining(final boolean pipelining) {
+        parameters.setPipeliningEnabled(pipelining);
+        return this;
+    }
+
+    /**
+     * Set the number of batches that can be buffered between two pipeline stages.
+     * This parameter is only used when pipelining is enabled.
+     *
+     * @param pipelineQueueCapacity the capacity of pipeline queues
+     * @return the job builder
+     */
+    public JobBuilder<I, O> pipelineQueueCapacity(final int pipelineQueueCapacity) {
+        Utils.checkArgument(pipelineQueueCapacity >= 1, "Pipeline queue capacity must be >= 1");
+        parameters.setPipelineQueueCapacity(pipelineQueueCapacity);
+        return this;
+    }
+
+    /**
+     * Activate parallel processing. When activated, records of each batch are
+     * read first and then processed concurrently using the processing executor
+     * (see {@link #processingExecutor(ExecutorService)}). Processed records are
+     * reassembled in their original order before the batch is written, and
+     * filter/error counts as well as the error threshold are accounted in that order.
+     *
+     * <p>Records are submitted to the executor in a window of as many records as the
+     * executor's parallelism (the number of available processors for executors other
+     * than a {@link java.util.concurrent.ForkJoinPool}). Unlike sequential processing,
+     * when the error threshold is exceeded, records following the failing one in that
+     * window may have already been processed (and pipeline listeners notified for them),
+     * but they are not written.</p>
+     *
+     * <p><strong>Record processors and pipeline listeners are invoked concurrently
+     * and must be thread-safe.</strong></p>
+     *
+     * @param parallelProcessing true to enable parallel processing. False by default.
+     * @return the job builder
+     */
+    public JobBuilder<I, O> enableParallelProcessing(final boolean parallelProcessing) {
+        parameters.setParallelProcessingEnabled(parallelProcessing);
+        return this;
+    }
+
+    /**
+     * Set the executor used to process records when parallel processing is enabled.
+     * Defaults to {@link ForkJoinPool#commonPool()}. The executor is not shutdown
+     * at the end of the job.
+     *
+     * @param executorService the executor to use to process records
+     * @return the job builder
+     */
+    public JobBuilder<I, O> processingExecutor(final ExecutorService executorService) {
+        Utils.checkNotNull(executorService, "processing executor");
+        job.setProcessingExecutor(executorService);
+        return this;
+    }
+
+    /**
+     * Activate latency histograms. When activated, the job records latency histograms
+     * of record reading, of each record processor, of the whole processing pipeline
+     * and of batch writing (including the listeners committing the batch). Histograms
+     * are available in {@link JobMetrics#getLatencyHistograms()}, in the job report
+     * and through JMX.
+     *
+     * @param latencyHistograms true to enable latency histograms
+     * @return the job builder
+     */
+    public JobBuilder<I, O> enableLatencyHistograms(final boolean latencyHistograms) {
+        parameters.setLatencyHistogramsEnabled(latencyHistograms);
+        return this;
+    }
+
     /**
      * Set the batch size.
      *
@@ -211,6 +346,46 @@ public final class JobBuilder<I, O> {
         return this;
     }
 
+    /**
+     * Activate adaptive batch sizing. When activated, the batch size is adjusted
+     * after each write between the given bounds, based on the observed write
+     * throughput and write failures. The batch size set with {@link #batchSize(int)}
+     * is used as initial size. The current batch size is available in
+     * {@link JobMetrics#getCurrentBatchSize()} and through JMX.
+     *
+     * @param minBatchSize the minimum batch size
+     * @param maxBatchSize the maximum batch size
+     * @return the job builder
+     */
+    public JobBuilder<I, O> adaptiveBatchSize(final int minBatchSize, final int maxBatchSize) {
+        Utils.checkArgument(minBatchSize >= 1, "Minimum batch size must be >= 1");
+        Utils.checkArgument(maxBatchSize >= minBatchSize, "Maximum batch size must be >= minimum batch size");
+        parameters.setAdaptiveBatchSizeEnabled(true);
+        parameters.setMinBatchSize(minBatchSize);
+        parameters.setMaxBatchSize(maxBatchSize);
+        return this;
+    }
+
+    /**
+     * Set the maximum batch latency in milliseconds. When set, a partial batch is
+     * closed and written as soon as its oldest record has been read for longer than
+     * the given latency, instead of waiting for the batch to be full or for the reader
+     * to time out. This bounds end-to-end latency with streaming readers at low traffic
+     * without shrinking batches when records arrive faster than the batch is filled.
+     *
+     * Waiting for the next record is interrupted at the latency limit only with a
+     * {@link org.jeasy.batch.core.reader.PollableRecordReader}. With other readers,
+     * the latency is checked between records.
+     *
+     * @param maxBatchLatency the maximum batch latency in milliseconds
+     * @return the job builder
+     */
+    public JobBuilder<I, O> maxBatchLatency(final long maxBatchLatency) {
+        Utils.checkArgument(maxBatchLatency >= 1, "Max batch latency must be >= 1");
+        parameters.setMaxBatchLatency(maxBatchLatency);
+        return this;
+    }
+
     /**
      * Register a job listener.
      * See {@link JobListener} for available callback methods.
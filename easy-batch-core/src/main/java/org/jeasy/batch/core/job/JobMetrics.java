@@ -26,50 +26,67 @@ package org.jeasy.batch.core.job;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Metrics of a job.
  *
+ * Metrics are thread-safe: counters and custom metrics can be updated concurrently
+ * (by parallel processing threads, shared writers, etc) and read at any time
+ * (by the JMX monitor for instance) without locking. Use {@link #snapshot()} to
+ * get a copy of all metrics at a given point in time.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class JobMetrics implements Serializable {
 
-    private LocalDateTime startTime;
-    private LocalDateTime endTime;
-    private long readCount;
-    private long writeCount;
-    private long filterCount;
-    private long errorCount;
-    private Map<String, Object> customMetrics = new HashMap<>();
+    public static final String READ_LATENCY = "Read";
+    public static final String PIPELINE_LATENCY = "Pipeline";
+    public static final String WRITE_LATENCY = "Write";
+
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime endTime;
+    private final LongAdder readCount = new LongAdder();
+    private final LongAdder writeCount = new LongAdder();
+    private final LongAdder filterCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private volatile int currentBatchSize;
+    private final Map<String, Object> customMetrics = new ConcurrentHashMap<>();
+    private volatile Map<String, LatencyHistogram> latencyHistograms = Collections.emptyMap();
+    private ThroughputTracker throughputTracker = new ThroughputTracker();
+    private volatile long totalWork = -1;
+    private volatile long completedWork;
 
     public void incrementFilterCount() {
-        filterCount++;
+        filterCount.increment();
     }
 
     public void incrementFilterCount(long count) {
-        filterCount += count;
+        filterCount.add(count);
     }
 
     public void incrementErrorCount() {
-        errorCount++;
+        errorCount.increment();
     }
 
     public void incrementErrorCount(long count) {
-        errorCount += count;
+        errorCount.add(count);
     }
 
     public void incrementReadCount() {
-        readCount++;
+        readCount.increment();
     }
 
     public void incrementReadCount(long count) {
-        readCount += count;
+        readCount.add(count);
     }
 
     public void incrementWriteCount(long count) {
-        writeCount += count;
+        writeCount.add(count);
     }
 
     public LocalDateTime getStartTime() {
@@ -96,26 +113,205 @@ public class JobMetrics implements Serializable {
     }
 
     public long getFilterCount() {
-        return filterCount;
+        return filterCount.sum();
     }
 
     public long getErrorCount() {
-        return errorCount;
+        return errorCount.sum();
     }
 
     public long getReadCount() {
-        return readCount;
+        return readCount.sum();
     }
 
     public long getWriteCount() {
-        return writeCount;
+        return writeCount.sum();
+    }
+
+    /**
+     * Get the size of the batch currently being read. This value changes
+     * during the job execution when adaptive batch sizing is enabled.
+     *
+     * @return the current batch size
+     */
+    public int getCurrentBatchSize() {
+        return currentBatchSize;
+    }
+
+    public void setCurrentBatchSize(int currentBatchSize) {
+        this.currentBatchSize = currentBatchSize;
+    }
+
+    /**
+     * Get the read throughput over the last sampling period (about one second).
+     *
+     * @return the number of read records per second
+     */
+    public double getThroughput() {
+        return throughputTracker.getThroughput();
+    }
+
+    /**
+     * Get the exponentially weighted moving average of the read throughput,
+     * with a time constant of 30 seconds.
+     *
+     * @return the average number of read records per second
+     */
+    public double getAverageThroughput() {
+        return throughputTracker.getAverageThroughput();
+    }
+
+    /**
+     * Sample the read count to update throughput values. This is called
+     * by the job after each batch.
+     */
+    public void sampleThroughput() {
+        throughputTracker.sample(System.nanoTime(), getReadCount());
+    }
+
+    /**
+     * Get the total amount of work of the job, as reported by a
+     * {@link org.jeasy.batch.core.reader.ProgressAwareRecordReader}.
+     *
+     * @return the total amount of work, or a negative value if unknown
+     */
+    public long getTotalWork() {
+        return totalWork;
+    }
+
+    public void setTotalWork(long totalWork) {
+        this.totalWork = totalWork;
+    }
+
+    /**
+     * Get the amount of work done so far, in the same unit as {@link #getTotalWork()}.
+     *
+     * @return the amount of work done so far
+     */
+    public long getCompletedWork() {
+        return completedWork;
+    }
+
+    public void setCompletedWork(long completedWork) {
+        this.completedWork = completedWork;
+    }
+
+    /**
+     * Get the progress of the job.
+     *
+     * @return the progress percentage (between 0 and 100), or a negative value if the total amount of work is unknown
+     */
+    public double getProgress() {
+        long total = totalWork;
+        if (total < 0) {
+            return -1;
+        }
+        if (total == 0) {
+            return 100;
+        }
+        return Math.min(100, completedWork * 100d / total);
     }
 
+    /**
+     * Get the estimated end time of the job, extrapolated from the progress so far.
+     *
+     * @return the estimated end time, or {@code null} if it can not be estimated
+     */
+    public LocalDateTime getEstimatedEndTime() {
+        if (endTime != null) {
+            return endTime;
+        }
+        double progress = getProgress();
+        LocalDateTime start = startTime;
+        if (progress <= 0 || start == null) {
+            return null;
+        }
+        long elapsedTime = Duration.between(start, LocalDateTime.now()).toMillis();
+        long remainingTime = (long) (elapsedTime * (100 - progress) / progress);
+        return LocalDateTime.now().plus(Duration.ofMillis(remainingTime));
+    }
+
+    /**
+     * Add a custom metric. Adding a metric with a {@code null} value removes it.
+     *
+     * @param name of the metric
+     * @param value of the metric
+     */
     public void addMetric(String name, Object value) {
-        customMetrics.put(name, value);
+        if (value == null) {
+            customMetrics.remove(name);
+        } else {
+            customMetrics.put(name, value);
+        }
+    }
+
+    /**
+     * Atomically add the given delta to a numeric custom metric. If the metric
+     * does not exist, it is created with the given delta as initial value.
+     *
+     * @param name of the metric
+     * @param delta to add to the metric
+     * @return the new value of the metric
+     * @throws ClassCastException if the current value of the metric is not a {@link Number}
+     */
+    public long incrementMetric(String name, long delta) {
+        Object value = customMetrics.merge(name, delta,
+                (current, increment) -> ((Number) current).longValue() + ((Number) increment).longValue());
+        return ((Number) value).longValue();
     }
 
     public Map<String, Object> getCustomMetrics() {
         return customMetrics;
     }
+
+    /**
+     * Add a latency histogram. Histograms are kept in the order they have been added.
+     * Adding a histogram with the name of an existing one replaces it.
+     *
+     * @param name of the histogram
+     * @param histogram to add
+     */
+    public synchronized void addLatencyHistogram(String name, LatencyHistogram histogram) {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>(latencyHistograms);
+        histograms.put(name, histogram);
+        latencyHistograms = Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Get latency histograms (in nanoseconds) by name. Histograms are recorded only when
+     * latency histograms are enabled, see {@link JobBuilder#enableLatencyHistograms(boolean)}.
+     *
+     * @return an unmodifiable view of latency histograms
+     */
+    public Map<String, LatencyHistogram> getLatencyHistograms() {
+        return latencyHistograms;
+    }
+
+    /**
+     * Get a copy of these metrics. The copy is not affected by subsequent updates.
+     *
+     * Counters are read downstream first (write, filter and error counts before read count),
+     * so that concurrent updates never make a snapshot report more processed records than
+     * read records.
+     *
+     * @return a snapshot of these metrics
+     */
+    public JobMetrics snapshot() {
+        JobMetrics snapshot = new JobMetrics();
+        snapshot.writeCount.add(getWriteCount());
+        snapshot.filterCount.add(getFilterCount());
+        snapshot.errorCount.add(getErrorCount());
+        snapshot.readCount.add(getReadCount());
+        snapshot.startTime = startTime;
+        snapshot.endTime = endTime;
+        snapshot.currentBatchSize = currentBatchSize;
+        snapshot.throughputTracker = throughputTracker.copy();
+        snapshot.totalWork = totalWork;
+        snapshot.completedWork = completedWork;
+        snapshot.customMetrics.putAll(customMetrics);
+        for (Map.Entry<String, LatencyHistogram> histogram : latencyHistograms.entrySet()) {
+            snapshot.addLatencyHistogram(histogram.getKey(), histogram.getValue().copy());
+        }
+        return snapshot;
+    }
 }
@@ -35,15 +35,34 @@ public class JobParameters implements Serializable {
     public static final String DEFAULT_JOB_NAME = "job";
     public static final long DEFAULT_ERROR_THRESHOLD = Long.MAX_VALUE;
     public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_PIPELINE_QUEUE_CAPACITY = 2;
+    public static final long DEFAULT_MAX_BATCH_LATENCY = 0; // no limit
+    public static final long DEFAULT_JMX_NOTIFICATION_INTERVAL = 1000;
 
     private long errorThreshold;
     private boolean jmxMonitoring;
+    private long jmxNotificationInterval;
     private int batchSize;
+    private boolean adaptiveBatchSizeEnabled;
+    private int minBatchSize;
+    private int maxBatchSize;
+    private long maxBatchLatency;
     private boolean batchScanningEnabled;
+    private BatchScanningStrategy batchScanningStrategy;
+    private boolean pipeliningEnabled;
+    private int pipelineQueueCapacity;
+    private boolean parallelProcessingEnabled;
+    private boolean latencyHistogramsEnabled;
 
     public JobParameters() {
         this.errorThreshold = DEFAULT_ERROR_THRESHOLD;
+        this.jmxNotificationInterval = DEFAULT_JMX_NOTIFICATION_INTERVAL;
         this.batchSize = DEFAULT_BATCH_SIZE;
+        this.minBatchSize = DEFAULT_BATCH_SIZE;
+        this.maxBatchSize = DEFAULT_BATCH_SIZE;
+        this.maxBatchLatency = DEFAULT_MAX_BATCH_LATENCY;
+        this.batchScanningStrategy = BatchScanningStrategy.RECORD_BY_RECORD;
+        this.pipelineQueueCapacity = DEFAULT_PIPELINE_QUEUE_CAPACITY;
     }
 
     public long getErrorThreshold() {
@@ -62,6 +81,14 @@ public class JobParameters implements Serializable {
         this.jmxMonitoring = jmxMonitoring;
     }
 
+    public long getJmxNotificationInterval() {
+        return jmxNotificationInterval;
+    }
+
+    public void setJmxNotificationInterval(long jmxNotificationInterval) {
+        this.jmxNotificationInterval = jmxNotificationInterval;
+    }
+
     public int getBatchSize() {
         return batchSize;
     }
@@ -70,6 +97,38 @@ public class JobParameters implements Serializable {
         this.batchSize = batchSize;
     }
 
+    public boolean isAdaptiveBatchSizeEnabled() {
+        return adaptiveBatchSizeEnabled;
+    }
+
+    public void setAdaptiveBatchSizeEnabled(boolean adaptiveBatchSizeEnabled) {
+        this.adaptiveBatchSizeEnabled = adaptiveBatchSizeEnabled;
+    }
+
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    public void setMinBatchSize(int minBatchSize) {
+        this.minBatchSize = minBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getMaxBatchLatency() {
+        return maxBatchLatency;
+    }
+
+    public void setMaxBatchLatency(long maxBatchLatency) {
+        this.maxBatchLatency = maxBatchLatency;
+    }
+
     public boolean isBatchScanningEnabled() {
         return batchScanningEnabled;
     }
@@ -77,4 +136,44 @@ public class JobParameters implements Serializable {
     public void setBatchScanningEnabled(boolean batchScanningEnabled) {
         this.batchScanningEnabled = batchScanningEnabled;
     }
+
+    public BatchScanningStrategy getBatchScanningStrategy() {
+        return batchScanningStrategy;
+    }
+
+    public void setBatchScanningStrategy(BatchScanningStrategy batchScanningStrategy) {
+        this.batchScanningStrategy = batchScanningStrategy;
+    }
+
+    public boolean isPipeliningEnabled() {
+        return pipeliningEnabled;
+    }
+
+    public void setPipeliningEnabled(boolean pipeliningEnabled) {
+        this.pipeliningEnabled = pipeliningEnabled;
+    }
+
+    public int getPipelineQueueCapacity() {
+        return pipelineQueueCapacity;
+    }
+
+    public void setPipelineQueueCapacity(int pipelineQueueCapacity) {
+        this.pipelineQueueCapacity = pipelineQueueCapacity;
+    }
+
+    public boolean isParallelProcessingEnabled() {
+        return parallelProcessingEnabled;
+    }
+
+    public void setParallelProcessingEnabled(boolean parallelProcessingEnabled) {
+        this.parallelProcessingEnabled = parallelProcessingEnabled;
+    }
+
+    public boolean isLatencyHistogramsEnabled() {
+        return latencyHistogramsEnabled;
+    }
+
+    public void setLatencyHistogramsEnabled(boolean latencyHistogramsEnabled) {
+        this.latencyHistogramsEnabled = latencyHistogramsEnabled;
+    }
 }
@@ -59,8 +59,8 @@ public class JobReport implements Serializable {
     private String jobName;
     private JobParameters parameters;
     private JobMetrics metrics;
-    private JobStatus status;
-    private Throwable lastError;
+    private volatile JobStatus status;
+    private volatile Throwable lastError;
     private Properties systemProperties;
 
     public String getJobName() {
@@ -134,6 +134,11 @@ public class JobReport implements Serializable {
             sb.append(Utils.LINE_SEPARATOR).append("\t")
                     .append(customMetric.getKey()).append(" = ").append(customMetric.getValue());
         }
+        // append latency histograms
+        for (Map.Entry<String, LatencyHistogram> histogram : metrics.getLatencyHistograms().entrySet()) {
+            sb.append(Utils.LINE_SEPARATOR).append("\t")
+                    .append(histogram.getKey()).append(" latency = ").append(histogram.getValue());
+        }
         return sb.toString();
     }
 }
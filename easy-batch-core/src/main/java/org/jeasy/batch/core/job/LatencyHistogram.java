@@ -0,0 +1,176 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe, fixed-size latency histogram with HDR-style log-linear buckets.
+ *
+ * Values (in nanoseconds) are recorded with a relative precision better than 1.6%
+ * (each power of 2 is divided into 64 linear sub-buckets) over the whole {@code long}
+ * range, in constant memory and without allocation. Percentiles are reported as the
+ * highest value equivalent to the bucket containing them, capped by the exact maximum.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class LatencyHistogram implements Serializable {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 128
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2; // 64
+    private static final int BUCKET_COUNT = 64 - SUB_BUCKET_BITS + 1;
+    private static final int LENGTH = SUB_BUCKET_COUNT + (BUCKET_COUNT - 1) * SUB_BUCKET_HALF_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LENGTH);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a latency value.
+     *
+     * @param latency in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long latency) {
+        long value = Math.max(0, latency);
+        counts.incrementAndGet(indexOf(value));
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add all values of the given histogram to this histogram.
+     *
+     * @param histogram to merge into this one
+     */
+    public void merge(LatencyHistogram histogram) {
+        for (int i = 0; i < LENGTH; i++) {
+            long count = histogram.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        max.accumulateAndGet(histogram.getMax(), Math::max);
+    }
+
+    /**
+     * Get a copy of this histogram.
+     *
+     * @return a copy of this histogram
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Get the maximum recorded value.
+     *
+     * @return the maximum recorded value in nanoseconds, 0 if no value has been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the value at the given percentile.
+     *
+     * @param percentile between 0 and 100
+     * @return the value at the given percentile in nanoseconds, 0 if no value has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long totalCount = getCount();
+        if (totalCount == 0) {
+            return 0;
+        }
+        long targetCount = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * totalCount));
+        long cumulativeCount = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            cumulativeCount += counts.get(i);
+            if (cumulativeCount >= targetCount) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public long getP50() {
+        return getValueAtPercentile(50);
+    }
+
+    public long getP99() {
+        return getValueAtPercentile(99);
+    }
+
+    public long getP999() {
+        return getValueAtPercentile(99.9);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int bucket = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS; // >= 1
+        int subBucket = (int) (value >>> bucket); // in [64, 128)
+        return SUB_BUCKET_COUNT + (bucket - 1) * SUB_BUCKET_HALF_COUNT + (subBucket - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int bucket = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << bucket) - 1;
+    }
+
+    private static String format(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() +
+                ", p50=" + format(getP50()) +
+                ", p99=" + format(getP99()) +
+                ", p999=" + format(getP999()) +
+                ", max=" + format(getMax());
+    }
+}
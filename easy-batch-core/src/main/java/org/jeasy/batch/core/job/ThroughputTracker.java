@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the throughput of a counter over time: the instantaneous throughput over
+ * the last sampling period and an exponentially weighted moving average (EWMA).
+ *
+ * Samples closer than {@link #MIN_SAMPLING_PERIOD} to the previous one are ignored,
+ * so that small batches do not make the instantaneous throughput too noisy.
+ *
+ * Samples are expected to be taken by a single thread, while throughput values can
+ * be read concurrently by any thread.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class ThroughputTracker implements Serializable {
+
+    static final long MIN_SAMPLING_PERIOD = TimeUnit.SECONDS.toNanos(1);
+    static final long EWMA_TIME_CONSTANT = TimeUnit.SECONDS.toNanos(30);
+
+    private long lastSampleTime;
+    private long lastSampleCount;
+    private boolean started;
+    private volatile double throughput;
+    private volatile double averageThroughput;
+
+    /**
+     * Take a sample of the tracked counter.
+     *
+     * @param time of the sample, in nanoseconds (as given by {@link System#nanoTime()})
+     * @param count value of the counter at the given time
+     */
+    void sample(long time, long count) {
+        if (!started) {
+            started = true;
+            lastSampleTime = time;
+            lastSampleCount = count;
+            return;
+        }
+        long elapsedTime = time - lastSampleTime;
+        if (elapsedTime < MIN_SAMPLING_PERIOD) {
+            return;
+        }
+        double currentThroughput = (count - lastSampleCount) / (elapsedTime / (double) TimeUnit.SECONDS.toNanos(1));
+        if (averageThroughput == 0) {
+            averageThroughput = currentThroughput;
+        } else {
+            double alpha = 1 - Math.exp(-elapsedTime / (double) EWMA_TIME_CONSTANT);
+            averageThroughput += alpha * (currentThroughput - averageThroughput);
+        }
+        throughput = currentThroughput;
+        lastSampleTime = time;
+        lastSampleCount = count;
+    }
+
+    /**
+     * Get the throughput over the last sampling period.
+     *
+     * @return the throughput in units per second
+     */
+    double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Get the exponentially weighted moving average of the throughput.
+     *
+     * @return the average throughput in units per second
+     */
+    double getAverageThroughput() {
+        return averageThroughput;
+    }
+
+    ThroughputTracker copy() {
+        ThroughputTracker copy = new ThroughputTracker();
+        copy.throughput = throughput;
+        copy.averageThroughput = averageThroughput;
+        return copy;
+    }
+}
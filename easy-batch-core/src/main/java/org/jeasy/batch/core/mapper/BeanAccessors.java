@@ -0,0 +1,207 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.mapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Constructor and setters of a bean type, resolved once per type and shared
+ * by all {@link ObjectMapper}s of this type.
+ *
+ * Accessors are generated with {@link LambdaMetafactory}, so creating an instance
+ * or calling a setter costs a plain interface call. When a lambda cannot be generated
+ * (for example when the type is not accessible), reflection is used instead.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class BeanAccessors<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BeanAccessors.class.getName());
+
+    // ClassValue does not prevent classes (and their class loader) from being unloaded
+    private static final ClassValue<BeanAccessors<?>> CACHE = new ClassValue<BeanAccessors<?>>() {
+        @Override
+        protected BeanAccessors<?> computeValue(Class<?> type) {
+            return new BeanAccessors<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final Supplier<T> instantiator;
+    private final Map<String, Setter> setters;
+
+    private BeanAccessors(Class<T> type) {
+        this.type = type;
+        MethodHandles.Lookup lookup = lookupIn(type);
+        this.instantiator = generateInstantiator(lookup, type);
+        this.setters = Collections.unmodifiableMap(introspectSetters(lookup, type));
+    }
+
+    /**
+     * Get the accessors of the given type.
+     *
+     * @param type of the bean
+     * @param <T> type of the bean
+     * @return the (cached) accessors of the given type
+     * @throws BeanIntrospectionException if the type cannot be introspected
+     */
+    @SuppressWarnings("unchecked")
+    static <T> BeanAccessors<T> of(final Class<T> type) {
+        return (BeanAccessors<T>) CACHE.get(type);
+    }
+
+    T newInstance() throws Exception {
+        if (instantiator != null) {
+            return instantiator.get();
+        }
+        return type.getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * Get the setter of a property.
+     *
+     * @param property name
+     * @return the setter of the property or null if the property has no setter
+     */
+    Setter getSetter(final String property) {
+        return setters.get(property);
+    }
+
+    private static MethodHandles.Lookup lookupIn(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (Exception e) {
+            LOGGER.debug("Unable to get a lookup in type {}, reflection will be used to access it", type.getName(), e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> generateInstantiator(MethodHandles.Lookup lookup, Class<T> type) {
+        if (lookup == null) {
+            return null;
+        }
+        try {
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    constructor,
+                    MethodType.methodType(type));
+            return (Supplier<T>) callSite.getTarget().invoke();
+        } catch (Throwable throwable) {
+            LOGGER.debug("Unable to generate an instantiator for type {}, reflection will be used instead", type.getName(), throwable);
+            return null;
+        }
+    }
+
+    private static Map<String, Setter> introspectSetters(MethodHandles.Lookup lookup, Class<?> type) {
+        PropertyDescriptor[] propertyDescriptors;
+        try {
+            BeanInfo beanInfo = Introspector.getBeanInfo(type);
+            propertyDescriptors = beanInfo.getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new BeanIntrospectionException("Unable to introspect target type " + type.getName(), e);
+        }
+        Map<String, Setter> setters = new HashMap<>();
+        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+            Method writeMethod = propertyDescriptor.getWriteMethod();
+            if (writeMethod != null) {
+                setters.put(propertyDescriptor.getName(), new Setter(writeMethod, generateSetter(lookup, writeMethod)));
+            }
+        }
+        //exclude property "class"
+        setters.remove("class");
+        return setters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> generateSetter(MethodHandles.Lookup lookup, Method method) {
+        if (lookup == null) {
+            return null;
+        }
+        try {
+            MethodHandle setter = lookup.unreflect(method);
+            Class<?> parameterType = MethodType.methodType(method.getParameterTypes()[0]).wrap().returnType();
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    setter,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), parameterType));
+            return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+        } catch (Throwable throwable) {
+            LOGGER.debug("Unable to generate an accessor for setter {}, reflection will be used instead", method, throwable);
+            return null;
+        }
+    }
+
+    /**
+     * A property setter, called through a generated lambda or through reflection.
+     */
+    static final class Setter {
+
+        private final Method method;
+        private final Class<?> type;
+        private final BiConsumer<Object, Object> accessor;
+
+        Setter(Method method, BiConsumer<Object, Object> accessor) {
+            this.method = method;
+            this.type = method.getParameterTypes()[0];
+            this.accessor = accessor;
+        }
+
+        Class<?> getType() {
+            return type;
+        }
+
+        void set(final Object target, final Object value) throws Exception {
+            if (accessor != null) {
+                accessor.accept(target, value);
+            } else {
+                method.invoke(target, value);
+            }
+        }
+
+        boolean isGenerated() {
+            return accessor != null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.mapper;
+
+import org.jeasy.batch.core.converter.CharSequenceTypeConverter;
+import org.jeasy.batch.core.converter.TypeConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.lang.String.format;
+
+/**
+ * A precompiled plan to bind values to fields of a domain object by index.
+ * Setters and type converters are resolved once when the plan is compiled
+ * (see {@link ObjectMapper#compileBindingPlan(String...)}), so binding a value
+ * does not involve any lookup by field name.
+ *
+ * A binding plan is immutable and can be shared between threads.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <T> type of the target object
+ */
+public class BindingPlan<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BindingPlan.class.getName());
+
+    private final ObjectMapper<T> objectMapper;
+    private final String[] fieldNames;
+    private final BeanAccessors.Setter[] setters;
+    private final TypeConverter<String, ?>[] typeConverters;
+
+    BindingPlan(ObjectMapper<T> objectMapper, String[] fieldNames, BeanAccessors.Setter[] setters, TypeConverter<String, ?>[] typeConverters) {
+        this.objectMapper = objectMapper;
+        this.fieldNames = fieldNames;
+        this.setters = setters;
+        this.typeConverters = typeConverters;
+    }
+
+    /**
+     * Create a new instance of the target type.
+     *
+     * @return a new instance of the target type
+     * @throws Exception if the target type cannot be instantiated
+     */
+    public T newInstance() throws Exception {
+        return objectMapper.createInstance();
+    }
+
+    /**
+     * Get the number of fields of this plan.
+     *
+     * @return the number of fields of this plan
+     */
+    public int size() {
+        return fieldNames.length;
+    }
+
+    /**
+     * Check if a value at the given index can be bound to a field of the target type.
+     *
+     * @param index of the field
+     * @return true if the field at the given index has a setter and a type converter
+     */
+    public boolean isBound(final int index) {
+        return index < setters.length && setters[index] != null;
+    }
+
+    /**
+     * Convert a value and set it to the field at the given index of the target object.
+     * Null or empty values, as well as values of unbound fields, are ignored.
+     *
+     * @param target object
+     * @param index of the field
+     * @param value raw value of the field
+     * @throws Exception if the value cannot be converted or set to the target field
+     */
+    public void bind(final T target, final int index, final String value) throws Exception {
+        if (!isBound(index)) {
+            return;
+        }
+        if (value == null || value.isEmpty()) {
+            LOGGER.debug("Attempting to convert a null or empty string for field {}, this field will be ignored", fieldNames[index]);
+            return;
+        }
+        BeanAccessors.Setter setter = setters[index];
+        try {
+            setter.set(target, typeConverters[index].convert(value));
+        } catch (Exception e) {
+            throw new Exception(format("Unable to convert %s to type %s for field %s",
+                    value, setter.getType(), fieldNames[index]), e);
+        }
+    }
+
+    /**
+     * Convert the characters of a value between {@code start} (inclusive) and {@code end}
+     * (exclusive) and set the result to the field at the given index of the target object.
+     * Characters are converted in place when the type converter of the field is a
+     * {@link CharSequenceTypeConverter}. Empty values, as well as values of unbound
+     * fields, are ignored.
+     *
+     * @param target object
+     * @param index of the field
+     * @param value holding the raw value of the field
+     * @param start index of the first character of the raw value
+     * @param end index after the last character of the raw value
+     * @throws Exception if the value cannot be converted or set to the target field
+     */
+    public void bind(final T target, final int index, final CharSequence value, final int start, final int end) throws Exception {
+        if (!isBound(index)) {
+            return;
+        }
+        TypeConverter<String, ?> typeConverter = typeConverters[index];
+        if (!(typeConverter instanceof CharSequenceTypeConverter)) {
+            bind(target, index, value.subSequence(start, end).toString());
+            return;
+        }
+        if (start == end) {
+            LOGGER.debug("Attempting to convert a null or empty string for field {}, this field will be ignored", fieldNames[index]);
+            return;
+        }
+        BeanAccessors.Setter setter = setters[index];
+        try {
+            setter.set(target, ((CharSequenceTypeConverter<?>) typeConverter).convert(value, start, end));
+        } catch (Exception e) {
+            throw new Exception(format("Unable to convert %s to type %s for field %s",
+                    value.subSequence(start, end), setter.getType(), fieldNames[index]), e);
+        }
+    }
+
+}
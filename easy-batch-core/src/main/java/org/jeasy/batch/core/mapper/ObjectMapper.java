@@ -49,11 +49,6 @@ import org.jeasy.batch.core.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.HashMap;
@@ -65,6 +60,8 @@ import static java.lang.String.format;
 
 /**
  * A helper class that maps the payload of a record to a domain object instance.
+ * Constructors and setters of the target type are accessed through generated
+ * accessors which are shared by all mappers of the same type.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
@@ -73,7 +70,7 @@ public class ObjectMapper<T> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectMapper.class.getName());
 
     private Class<T> objectType;
-    private Map<String, Method> setters;
+    private BeanAccessors<T> accessors;
     private Map<Class<?>, TypeConverter<String, ?>> typeConverters;
 
     /**
@@ -84,7 +81,7 @@ public class ObjectMapper<T> {
     public ObjectMapper(final Class<T> objectType) {
         this.objectType = objectType;
         initializeTypeConverters();
-        initializeSetters();
+        accessors = BeanAccessors.of(objectType);
     }
 
     /**
@@ -105,13 +102,13 @@ public class ObjectMapper<T> {
             //get field raw value
             String value = values.get(field);
 
-            Method setter = setters.get(field);
+            BeanAccessors.Setter setter = accessors.getSetter(field);
             if (setter == null) {
                 LOGGER.warn("No public setter found for field {}, this field will be set to null (if object type) or default value (if primitive type)", field);
                 continue;
             }
 
-            Class<?> type = setter.getParameterTypes()[0];
+            Class<?> type = setter.getType();
             TypeConverter<String, ?> typeConverter = typeConverters.get(type);
             if (typeConverter == null) {
                 LOGGER.warn(
@@ -137,37 +134,58 @@ public class ObjectMapper<T> {
         return result;
     }
 
-    private void initializeSetters() {
-        setters = new HashMap<>();
-        try {
-            BeanInfo beanInfo = Introspector.getBeanInfo(objectType);
-            PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
-            getSetters(propertyDescriptors);
-        } catch (IntrospectionException e) {
-            throw new BeanIntrospectionException("Unable to introspect target type " + objectType.getName(), e);
-        }
-    }
-
-    private void getSetters(PropertyDescriptor[] propertyDescriptors) {
-        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-            setters.put(propertyDescriptor.getName(), propertyDescriptor.getWriteMethod());
+    /**
+     * Compile a {@link BindingPlan} for the given fields. The field at index {@code i}
+     * of the plan is the field named {@code fieldNames[i]}. A null name declares a
+     * position that should not be bound to the target object.
+     *
+     * Type converters are resolved when the plan is compiled, so the plan should be
+     * compiled again if a type converter is registered afterwards.
+     *
+     * @param fieldNames names of fields, in the order of their index
+     * @return a binding plan for the given fields
+     */
+    @SuppressWarnings("unchecked")
+    public BindingPlan<T> compileBindingPlan(final String... fieldNames) {
+        String[] names = fieldNames.clone();
+        BeanAccessors.Setter[] planSetters = new BeanAccessors.Setter[names.length];
+        TypeConverter<String, ?>[] planTypeConverters = new TypeConverter[names.length];
+        for (int i = 0; i < names.length; i++) {
+            String field = names[i];
+            if (field == null) {
+                continue;
+            }
+            BeanAccessors.Setter setter = accessors.getSetter(field);
+            if (setter == null) {
+                LOGGER.warn("No public setter found for field {}, this field will be set to null (if object type) or default value (if primitive type)", field);
+                continue;
+            }
+            Class<?> type = setter.getType();
+            TypeConverter<String, ?> typeConverter = typeConverters.get(type);
+            if (typeConverter == null) {
+                LOGGER.warn(
+                        "Type conversion not supported for type {}, field {} will be set to null (if object type) or default value (if primitive type)",
+                        type, field);
+                continue;
+            }
+            planSetters[i] = setter;
+            planTypeConverters[i] = typeConverter;
         }
-        //exclude property "class"
-        setters.remove("class");
+        return new BindingPlan<>(this, names, planSetters, planTypeConverters);
     }
 
-    private T createInstance() throws Exception {
+    T createInstance() throws Exception {
         try {
-            return objectType.newInstance();
+            return accessors.newInstance();
         } catch (Exception e) {
             throw new Exception(format("Unable to create a new instance of target type %s", objectType.getName()), e);
         }
     }
 
-    private void convertValue(Object result, String field, String value, Method setter, Class<?> type, TypeConverter<String, ?> typeConverter) throws Exception {
+    private void convertValue(Object result, String field, String value, BeanAccessors.Setter setter, Class<?> type, TypeConverter<String, ?> typeConverter) throws Exception {
         try {
             Object typedValue = typeConverter.convert(value);
-            setter.invoke(result, typedValue);
+            setter.set(result, typedValue);
         } catch (Exception e) {
             throw new Exception(format("Unable to convert %s to type %s for field %s", value, type, field), e);
         }
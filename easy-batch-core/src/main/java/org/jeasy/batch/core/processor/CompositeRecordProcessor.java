@@ -26,6 +26,7 @@ package org.jeasy.batch.core.processor;
 import org.jeasy.batch.core.record.Record;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -74,4 +75,13 @@ public class CompositeRecordProcessor<I, O> implements RecordProcessor<I, O> {
     public void addRecordProcessor(RecordProcessor<I, O> recordProcessor) {
         processors.add(recordProcessor);
     }
+
+    /**
+     * Get delegate record processors.
+     *
+     * @return an unmodifiable view of delegate record processors
+     */
+    public List<RecordProcessor<I, O>> getRecordProcessors() {
+        return Collections.unmodifiableList(processors);
+    }
 }
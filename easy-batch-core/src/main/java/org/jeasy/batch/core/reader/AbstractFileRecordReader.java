@@ -23,17 +23,26 @@
  */
 package org.jeasy.batch.core.reader;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Abstract class for all file readers.
  *
+ * Implementations should open files with {@link #openInputStream(Path)} so that
+ * gzip compressed files are transparently decompressed.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
 public abstract class AbstractFileRecordReader<P> implements RecordReader<P> {
 
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     protected Path path;
     protected Charset charset;
 
@@ -60,4 +69,43 @@ public abstract class AbstractFileRecordReader<P> implements RecordReader<P> {
     public Charset getCharset() {
         return charset;
     }
+
+    /**
+     * Open an input stream to a file, decompressing it if it is gzip compressed.
+     *
+     * @param path of the file
+     * @return an input stream to the (decompressed) content of the file
+     * @throws IOException if the file cannot be opened
+     */
+    protected static InputStream openInputStream(Path path) throws IOException {
+        boolean compressed = isGzipCompressed(path);
+        InputStream inputStream = new FileInputStream(path.toFile());
+        return compressed ? decompress(inputStream) : inputStream;
+    }
+
+    /**
+     * Check if a file is gzip compressed, i.e. if it starts with the gzip magic number.
+     *
+     * @param path of the file
+     * @return true if the file is gzip compressed
+     * @throws IOException if the file cannot be read
+     */
+    protected static boolean isGzipCompressed(Path path) throws IOException {
+        try (InputStream inputStream = new FileInputStream(path.toFile())) {
+            int first = inputStream.read();
+            int second = inputStream.read();
+            return first == (GZIPInputStream.GZIP_MAGIC & 0xFF) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
+        }
+    }
+
+    /**
+     * Decompress a gzip compressed input stream.
+     *
+     * @param inputStream to decompress
+     * @return an input stream to the decompressed content of the input stream
+     * @throws IOException if the input stream is not gzip compressed
+     */
+    protected static InputStream decompress(InputStream inputStream) throws IOException {
+        return new GZIPInputStream(inputStream, GZIP_BUFFER_SIZE);
+    }
 }
@@ -28,8 +28,15 @@ import org.jeasy.batch.core.record.Record;
 
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Template class for multi-files record readers.
@@ -38,17 +45,30 @@ import java.util.List;
  *
  * Using multi-files readers assumes <strong>all files have the same format</strong>.
  *
+ * To hide the latency of opening files, the next files can be opened and their
+ * first records read in the background while the current file is being read
+ * (see {@link #setPrefetchedFiles(int)}).
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
 public abstract class AbstractMultiFileRecordReader<P> implements RecordReader<P> {
 
+    public static final int DEFAULT_PREFETCHED_RECORDS_PER_FILE = 1000;
+
     protected List<Path> files;
     protected Path currentFile;
     protected AbstractFileRecordReader<P> delegate;
     protected Iterator<Path> iterator;
     protected Charset charset;
 
+    private int prefetchedFiles;
+    private int prefetchedRecordsPerFile = DEFAULT_PREFETCHED_RECORDS_PER_FILE;
+    private ExecutorService prefetcher;
+    private Deque<PrefetchedFile<P>> prefetchedFilesQueue;
+    private Iterator<Record<P>> prefetchedRecords;
+    private boolean endOfCurrentFile;
+
     /**
      * Create a new multi-file record reader.
      *
@@ -71,8 +91,34 @@ public abstract class AbstractMultiFileRecordReader<P> implements RecordReader<P
         this.charset = charset;
     }
 
+    /**
+     * Set the number of files opened (and pre-read) in the background ahead of the
+     * current file. Defaults to 0 (files are opened when the previous one is finished).
+     *
+     * @param prefetchedFiles number of files to prefetch
+     */
+    public void setPrefetchedFiles(int prefetchedFiles) {
+        Utils.checkArgument(prefetchedFiles >= 0, "The number of prefetched files must be positive");
+        this.prefetchedFiles = prefetchedFiles;
+    }
+
+    /**
+     * Set the maximum number of records read in the background from each prefetched file.
+     * Defaults to {@link #DEFAULT_PREFETCHED_RECORDS_PER_FILE}.
+     *
+     * @param prefetchedRecordsPerFile maximum number of records to prefetch per file
+     */
+    public void setPrefetchedRecordsPerFile(int prefetchedRecordsPerFile) {
+        Utils.checkArgument(prefetchedRecordsPerFile >= 0, "The number of prefetched records per file must be positive");
+        this.prefetchedRecordsPerFile = prefetchedRecordsPerFile;
+    }
+
     @Override
     public void open() throws Exception {
+        if (prefetchedFiles > 0) {
+            openWithPrefetching();
+            return;
+        }
         iterator = files.iterator();
         currentFile = iterator.next();
         if (currentFile != null) {
@@ -83,6 +129,9 @@ public abstract class AbstractMultiFileRecordReader<P> implements RecordReader<P
 
     @Override
     public Record<P> readRecord() throws Exception {
+        if (prefetcher != null) {
+            return readPrefetchedRecord();
+        }
         if (delegate == null) {
             return null;
         }
@@ -101,10 +150,157 @@ public abstract class AbstractMultiFileRecordReader<P> implements RecordReader<P
 
     @Override
     public void close() throws Exception {
+        if (prefetcher != null) {
+            closePrefetchedFiles();
+            return;
+        }
         if (delegate != null) {
             delegate.close();
         }
     }
 
+    /*
+     * Prefetching mode: readers are created in the calling thread, then opened and
+     * pre-read in background threads. A prefetched reader is used by the calling
+     * thread only once its prefetching task is done.
+     */
+    private void openWithPrefetching() throws Exception {
+        iterator = files.iterator();
+        prefetcher = Executors.newFixedThreadPool(prefetchedFiles, runnable -> {
+            Thread thread = new Thread(runnable, "file-prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prefetchedFilesQueue = new ArrayDeque<>();
+        for (int i = 0; i <= prefetchedFiles; i++) {
+            prefetchNextFile();
+        }
+        nextFile();
+    }
+
+    private Record<P> readPrefetchedRecord() throws Exception {
+        while (delegate != null) {
+            if (prefetchedRecords.hasNext()) {
+                return prefetchedRecords.next();
+            }
+            if (!endOfCurrentFile) {
+                Record<P> record = delegate.readRecord();
+                if (record != null) {
+                    return record;
+                }
+            }
+            delegate.close();
+            delegate = null;
+            prefetchNextFile();
+            nextFile();
+        }
+        return null;
+    }
+
+    private void prefetchNextFile() throws Exception {
+        if (!iterator.hasNext()) {
+            return;
+        }
+        Path fileBeingRead = currentFile;
+        currentFile = iterator.next();
+        AbstractFileRecordReader<P> reader = createReader();
+        prefetchedFilesQueue.add(new PrefetchedFile<>(currentFile, reader, prefetcher.submit(() -> prefetch(reader))));
+        currentFile = fileBeingRead;
+    }
+
+    // returns the first records of the file, followed by null if the end of file has been reached
+    private List<Record<P>> prefetch(AbstractFileRecordReader<P> reader) throws Exception {
+        reader.open();
+        List<Record<P>> records = new ArrayList<>();
+        while (records.size() < prefetchedRecordsPerFile) {
+            Record<P> record = reader.readRecord();
+            records.add(record);
+            if (record == null) {
+                break;
+            }
+        }
+        return records;
+    }
+
+    private void nextFile() throws Exception {
+        PrefetchedFile<P> next = prefetchedFilesQueue.poll();
+        if (next == null) {
+            return;
+        }
+        List<Record<P>> records;
+        try {
+            records = next.records.get();
+        } catch (ExecutionException e) {
+            closeQuietly(next.reader);
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (Exception) cause;
+        }
+        endOfCurrentFile = !records.isEmpty() && records.get(records.size() - 1) == null;
+        if (endOfCurrentFile) {
+            records = records.subList(0, records.size() - 1);
+        }
+        prefetchedRecords = records.iterator();
+        currentFile = next.file;
+        delegate = next.reader;
+    }
+
+    private void closePrefetchedFiles() throws Exception {
+        prefetcher.shutdown();
+        List<AbstractFileRecordReader<P>> readers = new ArrayList<>();
+        if (delegate != null) {
+            readers.add(delegate);
+        }
+        for (PrefetchedFile<P> prefetchedFile : prefetchedFilesQueue) {
+            if (!prefetchedFile.records.cancel(false)) {
+                try {
+                    prefetchedFile.records.get(); // wait for the prefetching task to release the reader
+                } catch (ExecutionException e) {
+                    // the reader failed to be opened or read, it is closed anyway
+                }
+                readers.add(prefetchedFile.reader);
+            }
+        }
+        prefetcher = null;
+        prefetchedFilesQueue = null;
+        delegate = null;
+        Exception error = null;
+        for (AbstractFileRecordReader<P> reader : readers) {
+            try {
+                reader.close();
+            } catch (Exception e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private static void closeQuietly(RecordReader<?> reader) {
+        try {
+            reader.close();
+        } catch (Exception e) {
+            // the reader is being discarded because of another error
+        }
+    }
+
+    private static class PrefetchedFile<P> {
+
+        private final Path file;
+        private final AbstractFileRecordReader<P> reader;
+        private final Future<List<Record<P>>> records;
+
+        PrefetchedFile(Path file, AbstractFileRecordReader<P> reader, Future<List<Record<P>>> records) {
+            this.file = file;
+            this.reader = reader;
+            this.records = records;
+        }
+    }
+
     protected abstract AbstractFileRecordReader<P> createReader() throws Exception;
 }
@@ -31,10 +31,13 @@ import java.util.concurrent.TimeUnit;
 /**
  * A {@link RecordReader} that reads record from a {@link BlockingQueue}.
  *
+ * This reader is a {@link PollableRecordReader}, so it can be used with a
+ * job's max batch latency to close partial batches at low traffic.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
-public class BlockingQueueRecordReader<P> implements RecordReader<P> {
+public class BlockingQueueRecordReader<P> implements PollableRecordReader<P> {
 
     public static final long DEFAULT_TIMEOUT = 60000;
 
@@ -66,4 +69,9 @@ public class BlockingQueueRecordReader<P> implements RecordReader<P> {
         return queue.poll(timeout, TimeUnit.MILLISECONDS); // returns null after timeout (See javadoc)
     }
 
+    @Override
+    public Record<P> pollRecord(long timeout, TimeUnit unit) throws Exception {
+        return queue.poll(timeout, unit);
+    }
+
 }
@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.reader;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jeasy.batch.core.record.Record;
+
+/**
+ * A {@link RecordReader} that is able to wait for the next record for a bounded
+ * amount of time. This is typically implemented by readers of streaming sources
+ * (queues, message brokers, etc) where records arrive over time.
+ *
+ * A job configured with a max batch latency uses this method to close a partial
+ * batch as soon as its oldest record exceeds the latency limit, instead of
+ * waiting for the next record for the reader's full timeout.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public interface PollableRecordReader<P> extends RecordReader<P> {
+
+    /**
+     * Read next record from the data source, waiting up to the given timeout
+     * for a record to become available.
+     *
+     * Unlike {@link #readRecord()}, a {@code null} return value does <strong>not</strong>
+     * mean that the end of the data source is reached, only that no record has
+     * become available within the given timeout.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit the unit of the timeout
+     * @return the next record from the data source or {@code null} if no record has become available within the timeout
+     * @throws Exception if an error occurs during reading next record
+     */
+    Record<P> pollRecord(long timeout, TimeUnit unit) throws Exception;
+
+}
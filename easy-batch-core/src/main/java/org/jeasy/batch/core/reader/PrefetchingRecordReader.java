@@ -0,0 +1,225 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.reader;
+
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.util.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator that reads records of a {@link RecordReader} ahead in a background thread,
+ * so that reading (and the I/O it implies) overlaps with processing and writing records.
+ *
+ * Read records are buffered in a bounded queue. An exception thrown by the delegate
+ * reader is rethrown by {@link #readRecord()} after all records read before it have been
+ * returned. The delegate reader is opened and closed in the calling thread.
+ *
+ * This reader is a {@link PollableRecordReader} whatever the delegate is, so that the
+ * max batch latency of a job is enforced while records are buffered. It is also a
+ * {@link ProgressAwareRecordReader} reporting the progress of the delegate reader (which
+ * is ahead of the records returned by this reader by the number of buffered records), or
+ * an unknown total work if the delegate is not progress aware.
+ *
+ * When closed, the background thread is stopped gracefully and interrupted if it does
+ * not stop in time. If it is still blocked in the delegate reader (in an I/O that ignores
+ * interrupts for instance), the delegate reader is closed anyway to unblock it.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public class PrefetchingRecordReader<P> implements PollableRecordReader<P>, ProgressAwareRecordReader<P> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrefetchingRecordReader.class.getName());
+
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private static final Object END_OF_DATA = new Object();
+    private static final long POLLING_TIMEOUT = 100; // in ms
+    private static final long STOP_TIMEOUT = 1000; // in ms
+
+    private final RecordReader<P> delegate;
+    private final int capacity;
+    private BlockingQueue<Object> buffer;
+    private Thread prefetcher;
+    private volatile boolean stopped;
+    private Object last; // end of data or failure once reached
+
+    /**
+     * Create a new {@link PrefetchingRecordReader} buffering up to {@link #DEFAULT_CAPACITY} records.
+     *
+     * @param delegate record reader
+     */
+    public PrefetchingRecordReader(RecordReader<P> delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new {@link PrefetchingRecordReader}.
+     *
+     * @param delegate record reader
+     * @param capacity maximum number of records read ahead
+     */
+    public PrefetchingRecordReader(RecordReader<P> delegate, int capacity) {
+        Utils.checkNotNull(delegate, "delegate");
+        Utils.checkArgument(capacity >= 1, "The capacity must be greater than or equal to 1");
+        this.delegate = delegate;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void open() throws Exception {
+        delegate.open();
+        buffer = new ArrayBlockingQueue<>(capacity);
+        stopped = false;
+        last = null;
+        prefetcher = new Thread(this::prefetch, "record-prefetcher");
+        prefetcher.setDaemon(true);
+        prefetcher.start();
+    }
+
+    @Override
+    public Record<P> readRecord() throws Exception {
+        return unwrap(last != null ? last : buffer.take());
+    }
+
+    @Override
+    public Record<P> pollRecord(long timeout, TimeUnit unit) throws Exception {
+        Object item = last != null ? last : buffer.poll(timeout, unit);
+        return item == null ? null : unwrap(item);
+    }
+
+    @Override
+    public long getTotalWork() {
+        if (delegate instanceof ProgressAwareRecordReader) {
+            return ((ProgressAwareRecordReader<P>) delegate).getTotalWork();
+        }
+        return -1;
+    }
+
+    @Override
+    public long getCompletedWork() {
+        if (delegate instanceof ProgressAwareRecordReader) {
+            return ((ProgressAwareRecordReader<P>) delegate).getCompletedWork();
+        }
+        return 0;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            stopPrefetcher();
+        } finally {
+            delegate.close();
+        }
+        awaitPrefetcher();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Record<P> unwrap(Object item) throws Exception {
+        if (item == END_OF_DATA) {
+            last = item;
+            return null;
+        }
+        if (item instanceof Failure) {
+            last = item;
+            Throwable error = ((Failure) item).error;
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+            throw (Exception) error;
+        }
+        return (Record<P>) item;
+    }
+
+    private void prefetch() {
+        try {
+            Record<P> record;
+            do {
+                record = delegate.readRecord();
+            } while (put(record == null ? END_OF_DATA : record) && record != null);
+        } catch (Throwable e) {
+            put(new Failure(e));
+        }
+    }
+
+    // returns false if the reader has been stopped
+    private boolean put(Object item) {
+        try {
+            while (!stopped) {
+                if (buffer.offer(item, POLLING_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /*
+     * The prefetcher is stopped gracefully, and interrupted only if it is
+     * still blocked in the delegate reader after a timeout. Waits are bounded
+     * since the delegate may ignore interrupts: closing it is then the only
+     * way to unblock the prefetcher, which is done right after.
+     */
+    private void stopPrefetcher() throws InterruptedException {
+        if (prefetcher == null) {
+            return;
+        }
+        stopped = true;
+        buffer.clear();
+        prefetcher.join(STOP_TIMEOUT);
+        if (prefetcher.isAlive()) {
+            LOGGER.warn("Interrupting record prefetcher which is still reading after {}ms", STOP_TIMEOUT);
+            prefetcher.interrupt();
+            prefetcher.join(STOP_TIMEOUT);
+        }
+    }
+
+    // called after the delegate has been closed
+    private void awaitPrefetcher() throws InterruptedException {
+        if (prefetcher == null) {
+            return;
+        }
+        prefetcher.join(STOP_TIMEOUT);
+        if (prefetcher.isAlive()) {
+            LOGGER.warn("Record prefetcher is still blocked in the delegate reader after it has been closed, giving up on it");
+        }
+        prefetcher = null;
+    }
+
+    private static class Failure {
+
+        private final Throwable error;
+
+        Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.reader;
+
+/**
+ * A {@link RecordReader} that knows how much work it has to do and how much work
+ * it has done so far. The unit of work is up to the implementation (records, bytes,
+ * etc) but must be the same for both values.
+ *
+ * When a job's reader implements this interface, the job reports its progress and an
+ * estimated end time in {@link org.jeasy.batch.core.job.JobMetrics} and through JMX.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public interface ProgressAwareRecordReader<P> extends RecordReader<P> {
+
+    /**
+     * Get the total amount of work of this reader. This method is called
+     * after the reader has been opened.
+     *
+     * @return the total amount of work, or a negative value if unknown
+     */
+    long getTotalWork();
+
+    /**
+     * Get the amount of work done so far. This method may be called from
+     * a thread other than the reading thread and must not fail.
+     *
+     * @return the amount of work done so far
+     */
+    long getCompletedWork();
+
+}
@@ -34,10 +34,12 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -137,20 +139,48 @@ public abstract class Utils {
     public static Class<?> getGenericTypeNameFromTypeConverter(TypeConverter<?, ?> typeConverter, int genericTypeIndex) throws Exception {
         // FIXME looks like the following does not work with lambdas
         Class<? extends TypeConverter> typeConverterClass = typeConverter.getClass();
-        Type[] genericInterfaces = typeConverterClass.getGenericInterfaces();
-        Type genericInterface = genericInterfaces[0];
-        if (!(genericInterface instanceof ParameterizedType)) {
+        Type type = getTypeConverterArgument(typeConverterClass, genericTypeIndex);
+        if (type instanceof ParameterizedType) {
+            type = ((ParameterizedType) type).getRawType();
+        }
+        if (!(type instanceof Class)) {
             throw new Exception("The type converter" + typeConverterClass.getName() + " should be a parametrized type");
         }
-        ParameterizedType parameterizedType = (ParameterizedType) genericInterface;
-        Type type = parameterizedType.getActualTypeArguments()[genericTypeIndex];
-        String className = getClassName(type);
-        return Class.forName(className);
+        return (Class<?>) type;
     }
 
-    private static String getClassName(Type actualTypeArgument) {
-        // FIXME : find a clean way for this
-        return actualTypeArgument.toString().substring(6);
+    /*
+     * Resolve the type argument of TypeConverter in the hierarchy of the given type,
+     * (like in CharSequenceTypeConverter<T> extends TypeConverter<String, T>).
+     * Returns null if the type does not implement TypeConverter.
+     */
+    private static Type getTypeConverterArgument(Type type, int genericTypeIndex) {
+        Class<?> rawType = type instanceof ParameterizedType ? (Class<?>) ((ParameterizedType) type).getRawType() : (Class<?>) type;
+        if (rawType == TypeConverter.class) {
+            return type instanceof ParameterizedType ? ((ParameterizedType) type).getActualTypeArguments()[genericTypeIndex] : null;
+        }
+        List<Type> supertypes = new ArrayList<>(Arrays.asList(rawType.getGenericInterfaces()));
+        if (rawType.getGenericSuperclass() != null) {
+            supertypes.add(rawType.getGenericSuperclass());
+        }
+        for (Type supertype : supertypes) {
+            if (!(supertype instanceof Class) && !(supertype instanceof ParameterizedType)) {
+                continue;
+            }
+            Type argument = getTypeConverterArgument(supertype, genericTypeIndex);
+            if (argument instanceof TypeVariable && type instanceof ParameterizedType) {
+                TypeVariable<?>[] typeParameters = rawType.getTypeParameters();
+                for (int i = 0; i < typeParameters.length; i++) {
+                    if (typeParameters[i].getName().equals(((TypeVariable<?>) argument).getName())) {
+                        argument = ((ParameterizedType) type).getActualTypeArguments()[i];
+                    }
+                }
+            }
+            if (argument != null) {
+                return argument;
+            }
+        }
+        return null;
     }
 
 }
@@ -0,0 +1,535 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.job.JobStatus;
+import org.jeasy.batch.core.listener.JobListener;
+import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.util.Utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A writer that sorts records with a bounded amount of memory (external merge sort).
+ *
+ * Payloads of written records are kept in memory until their estimated size reaches the
+ * memory budget. They are then sorted and spilled as a sorted run to a temporary file, in
+ * the binary format of the given {@link PayloadSerializer}. Once this writer is closed,
+ * sorted records can be read with the reader returned by {@link #getSortedRecordReader()},
+ * which merges all runs (and the last one, kept in memory). The sort is stable.
+ *
+ * At most {@link #setMaxMergeFanIn(int) max merge fan-in} run files are read at the same
+ * time, each with a 64KB buffer. When more runs have been spilled,
+ * they are merged in intermediate passes when the writer is closed, until the number of runs
+ * fits in the fan-in. This bounds both the heap used by buffers and the number of open files.
+ *
+ * Run files are deleted when the sorted record reader is closed, when the writer fails to close
+ * or is reopened, when {@link #discard()} is called, and after a job which did not complete if
+ * this writer is registered as a {@link JobListener}.
+ *
+ * Writing a batch is atomic: when it fails, none of its records are kept, so that the batch
+ * can be written again (when batch scanning is enabled for instance) without duplicates.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public class ExternalSortRecordWriter<P> implements RecordWriter<P>, JobListener {
+
+    public static final int DEFAULT_MAX_MERGE_FAN_IN = 64;
+
+    /**
+     * Estimated memory used by a payload in addition to its serialized size.
+     */
+    static final int PAYLOAD_OVERHEAD = 48;
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final Comparator<? super P> comparator;
+    private final PayloadSerializer<P> serializer;
+    private final long memoryBudget;
+    private Path temporaryDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+    private int maxMergeFanIn = DEFAULT_MAX_MERGE_FAN_IN;
+
+    private List<P> payloads;
+    private long estimatedMemory;
+    private List<Path> runs = new ArrayList<>();
+    private int spilledRuns;
+    private ByteArrayOutputStream measuringBuffer;
+    private DataOutputStream measuringOutput;
+    private boolean closed;
+
+    /**
+     * Create a new {@link ExternalSortRecordWriter}.
+     *
+     * @param comparator of payloads
+     * @param serializer of payloads to and from run files
+     * @param memoryBudget estimated size in bytes of payloads kept in memory
+     */
+    public ExternalSortRecordWriter(Comparator<? super P> comparator, PayloadSerializer<P> serializer, long memoryBudget) {
+        Utils.checkNotNull(comparator, "comparator");
+        Utils.checkNotNull(serializer, "serializer");
+        Utils.checkArgument(memoryBudget >= 1, "The memory budget must be greater than or equal to 1");
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Set the directory of run files. Defaults to the {@code java.io.tmpdir} directory.
+     *
+     * @param temporaryDirectory of run files
+     */
+    public void setTemporaryDirectory(Path temporaryDirectory) {
+        Utils.checkNotNull(temporaryDirectory, "temporary directory");
+        this.temporaryDirectory = temporaryDirectory;
+    }
+
+    /**
+     * Set the maximum number of run files merged at the same time.
+     * Defaults to {@value #DEFAULT_MAX_MERGE_FAN_IN}.
+     *
+     * @param maxMergeFanIn maximum number of run files merged at the same time
+     */
+    public void setMaxMergeFanIn(int maxMergeFanIn) {
+        Utils.checkArgument(maxMergeFanIn >= 2, "The max merge fan-in must be greater than or equal to 2");
+        this.maxMergeFanIn = maxMergeFanIn;
+    }
+
+    @Override
+    public void open() throws Exception {
+        deleteRuns(); // left over by a previous execution
+        spilledRuns = 0;
+        payloads = new ArrayList<>();
+        estimatedMemory = 0;
+        measuringBuffer = new ByteArrayOutputStream();
+        measuringOutput = new DataOutputStream(measuringBuffer);
+        closed = false;
+    }
+
+    @Override
+    public void writeRecords(Batch<P> batch) throws Exception {
+        // payloads are measured first, so that a payload which can not be serialized fails the batch before it is buffered
+        int[] sizes = new int[(int) batch.size()];
+        long batchMemory = 0;
+        int index = 0;
+        for (Record<P> record : batch) {
+            measuringBuffer.reset();
+            serializer.write(record.getPayload(), measuringOutput);
+            int size = measuringBuffer.size() + PAYLOAD_OVERHEAD;
+            sizes[index++] = size;
+            batchMemory += size;
+        }
+        if (!payloads.isEmpty() && estimatedMemory + batchMemory >= memoryBudget) {
+            spill(); // records of previous batches are not spilled with records of this batch, which can then be rolled back
+        }
+        int payloadsBefore = payloads.size();
+        long estimatedMemoryBefore = estimatedMemory;
+        int runsBefore = runs.size();
+        try {
+            index = 0;
+            for (Record<P> record : batch) {
+                payloads.add(record.getPayload());
+                estimatedMemory += sizes[index++];
+                if (estimatedMemory >= memoryBudget) {
+                    spill();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // when a run of this batch is spilled, records of previous batches have been spilled before (payloadsBefore is 0)
+            List<Path> batchRuns = runs.subList(runsBefore, runs.size());
+            spilledRuns -= batchRuns.size();
+            delete(batchRuns);
+            batchRuns.clear();
+            payloads.subList(payloadsBefore, payloads.size()).clear();
+            estimatedMemory = estimatedMemoryBefore;
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (payloads != null) {
+            try {
+                payloads.sort(comparator); // the last run is kept in memory
+                mergeRuns();
+            } catch (Exception e) {
+                discard();
+                throw e;
+            }
+        }
+        closed = true;
+    }
+
+    /**
+     * Delete run files and in-memory records of a job that failed (or was interrupted),
+     * as they are not going to be read.
+     *
+     * @param jobReport of the job
+     */
+    @Override
+    public void afterJob(JobReport jobReport) {
+        if (jobReport.getStatus() != JobStatus.COMPLETED) {
+            discard();
+        }
+    }
+
+    /**
+     * Delete run files and in-memory records, when sorted records are not going to be read.
+     */
+    public void discard() {
+        payloads = null;
+        deleteRuns();
+    }
+
+    /**
+     * Get a reader of sorted records. Records are numbered in sort order.
+     * This method must be called after the writer has been closed, and the
+     * returned reader can be read only once.
+     *
+     * @return a reader of sorted records
+     */
+    public RecordReader<P> getSortedRecordReader() {
+        if (!closed) {
+            throw new IllegalStateException("The writer must be closed before reading sorted records");
+        }
+        return new SortedRecordReader();
+    }
+
+    /**
+     * Get the number of sorted runs spilled to disk.
+     *
+     * @return the number of spilled runs
+     */
+    public int getSpilledRuns() {
+        return spilledRuns;
+    }
+
+    private void spill() throws IOException {
+        payloads.sort(comparator);
+        Path run = createRun();
+        try (DataOutputStream output = newRunOutput(run)) {
+            for (P payload : payloads) {
+                serializer.write(payload, output);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(run);
+            throw e;
+        }
+        runs.add(run);
+        spilledRuns++;
+        payloads = new ArrayList<>();
+        estimatedMemory = 0;
+    }
+
+    // merge consecutive runs (to keep the sort stable) until they fit in the fan-in
+    private void mergeRuns() throws IOException {
+        while (runs.size() > maxMergeFanIn) {
+            List<Path> merged = new ArrayList<>();
+            try {
+                for (int from = 0; from < runs.size(); from += maxMergeFanIn) {
+                    List<Path> group = runs.subList(from, Math.min(from + maxMergeFanIn, runs.size()));
+                    merged.add(group.size() == 1 ? group.get(0) : merge(group));
+                }
+            } catch (IOException | RuntimeException e) {
+                runs.addAll(merged); // to be deleted with other runs
+                throw e;
+            }
+            runs = merged;
+        }
+    }
+
+    private Path merge(List<Path> group) throws IOException {
+        Path run = createRun();
+        List<Run> inputs = new ArrayList<>(group.size());
+        try (DataOutputStream output = newRunOutput(run)) {
+            for (Path file : group) {
+                inputs.add(new FileRun(inputs.size(), file));
+            }
+            PriorityQueue<Run> queue = newQueue(inputs);
+            Run next;
+            while ((next = queue.poll()) != null) {
+                serializer.write(next.head, output);
+                if (next.advance()) {
+                    queue.add(next);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(run);
+            throw e;
+        } finally {
+            closeRuns(inputs); // merged run files are deleted when closed
+        }
+        return run;
+    }
+
+    private Path createRun() throws IOException {
+        return Files.createTempFile(temporaryDirectory, "easy-batch-sort-", ".run");
+    }
+
+    private DataOutputStream newRunOutput(Path run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER_SIZE));
+    }
+
+    private PriorityQueue<Run> newQueue(List<Run> runs) throws IOException {
+        PriorityQueue<Run> queue = new PriorityQueue<>(
+                Comparator.<Run, P>comparing(run -> run.head, comparator).thenComparingInt(run -> run.index));
+        for (Run run : runs) {
+            if (run.advance()) {
+                queue.add(run);
+            }
+        }
+        return queue;
+    }
+
+    private void deleteRuns() {
+        delete(runs);
+        runs = new ArrayList<>();
+    }
+
+    private static void delete(List<Path> runs) {
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                // best effort, the file is left in the temporary directory
+            }
+        }
+    }
+
+    private void closeRuns(List<Run> runs) throws IOException {
+        IOException error = null;
+        for (Run run : runs) {
+            try {
+                run.close();
+            } catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    // k-way merge of run files and of the in-memory run
+    private class SortedRecordReader implements RecordReader<P> {
+
+        private final List<Run> openRuns = new ArrayList<>();
+        private PriorityQueue<Run> queue;
+        private long currentRecordNumber;
+
+        @Override
+        public void open() throws Exception {
+            if (payloads == null) {
+                return; // the writer has not been opened, or the records have been read or discarded
+            }
+            int index = 0;
+            for (Path file : runs) {
+                openRuns.add(new FileRun(index++, file));
+            }
+            openRuns.add(new MemoryRun(index, payloads));
+            queue = newQueue(openRuns);
+        }
+
+        @Override
+        public Record<P> readRecord() throws Exception {
+            Run run = queue == null ? null : queue.poll();
+            if (run == null) {
+                return null;
+            }
+            P payload = run.head;
+            if (run.advance()) {
+                queue.add(run);
+            }
+            Header header = new Header(++currentRecordNumber, "Sorted records", LocalDateTime.now());
+            return new GenericRecord<>(header, payload);
+        }
+
+        @Override
+        public void close() throws Exception {
+            try {
+                closeRuns(openRuns);
+            } finally {
+                openRuns.clear();
+                queue = null;
+                discard();
+            }
+        }
+    }
+
+    private abstract class Run {
+
+        final int index; // runs are merged in index order on ties to keep the sort stable
+        P head;
+
+        Run(int index) {
+            this.index = index;
+        }
+
+        // move to the next payload, returns false at the end of the run
+        abstract boolean advance() throws IOException;
+
+        abstract void close() throws IOException;
+    }
+
+    private class FileRun extends Run {
+
+        private final Path file;
+        private final BufferedInputStream stream;
+        private final DataInputStream input;
+
+        FileRun(int index, Path file) throws IOException {
+            super(index);
+            this.file = file;
+            this.stream = new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_SIZE);
+            this.input = new DataInputStream(stream);
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            // the end of the run is only accepted at a record boundary
+            stream.mark(1);
+            if (stream.read() == -1) {
+                head = null;
+                return false;
+            }
+            stream.reset();
+            try {
+                head = serializer.read(input);
+                return true;
+            } catch (EOFException e) {
+                throw new IOException("Run file " + file + " is truncated", e);
+            }
+        }
+
+        @Override
+        void close() throws IOException {
+            try {
+                input.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private class MemoryRun extends Run {
+
+        private final Iterator<P> iterator;
+
+        MemoryRun(int index, List<P> payloads) {
+            super(index);
+            this.iterator = payloads.iterator();
+        }
+
+        @Override
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                head = null;
+                return false;
+            }
+            head = iterator.next();
+            return true;
+        }
+
+        @Override
+        void close() {
+            // nothing to release
+        }
+    }
+
+    /**
+     * Serializer of payloads to and from run files. A payload is read only if the run file
+     * has remaining bytes: reaching the end of the file while reading a payload (an
+     * {@link EOFException}, as thrown by {@link DataInput}) means the run file is truncated.
+     *
+     * @param <P> type of the payload
+     */
+    public interface PayloadSerializer<P> {
+
+        /**
+         * Write a payload.
+         *
+         * @param payload to write
+         * @param output to write the payload to
+         * @throws IOException if the payload cannot be written
+         */
+        void write(P payload, DataOutput output) throws IOException;
+
+        /**
+         * Read a payload.
+         *
+         * @param input to read the payload from
+         * @return the payload
+         * @throws IOException if the payload cannot be read
+         */
+        P read(DataInput input) throws IOException;
+
+        /**
+         * Get a serializer of strings, written as their length followed by their UTF-8 bytes.
+         *
+         * @return a serializer of strings
+         */
+        static PayloadSerializer<String> strings() {
+            return new PayloadSerializer<String>() {
+                @Override
+                public void write(String payload, DataOutput output) throws IOException {
+                    byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                }
+
+                @Override
+                public String read(DataInput input) throws IOException {
+                    byte[] bytes = new byte[input.readInt()];
+                    input.readFully(bytes);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+            };
+        }
+    }
+}
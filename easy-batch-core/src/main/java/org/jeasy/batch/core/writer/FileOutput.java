@@ -0,0 +1,257 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A file opened for writing through a {@link FileChannel}. Characters are encoded
+ * in a reusable buffer which is written to the channel when it is full or flushed.
+ *
+ * When the file is compressed, the buffer is written to the compressor which may
+ * hold data until the file is closed.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class FileOutput {
+
+    private final FileChannel channel;
+    private final WritableByteChannel sink; // the channel itself or a compressor writing to it
+    private final CharsetEncoder encoder;
+    private final ByteBuffer buffer;
+    private final boolean force;
+    private final CallbackWriter callbackWriter;
+    private long size;
+    private long unflushed;
+
+    /**
+     * Open a file for writing.
+     *
+     * @param path of the file
+     * @param charset of the file
+     * @param append true if data should be appended to the file if it already exists
+     * @param bufferSize size of the buffer in bytes
+     * @param force true if data should be forced to the storage device on each flush
+     * @throws IOException if the file cannot be opened
+     */
+    FileOutput(Path path, Charset charset, boolean append, int bufferSize, boolean force) throws IOException {
+        this(path, charset, append, bufferSize, force, FileRecordWriter.Compression.NONE, 1);
+    }
+
+    /**
+     * Open a file for writing.
+     *
+     * @param path of the file
+     * @param charset of the file
+     * @param append true if data should be appended to the file if it already exists
+     * @param bufferSize size of the buffer in bytes
+     * @param force true if data should be forced to the storage device on each flush
+     * @param compression of the file
+     * @param compressionThreads number of threads compressing the file
+     * @throws IOException if the file cannot be opened
+     */
+    FileOutput(Path path, Charset charset, boolean append, int bufferSize, boolean force,
+               FileRecordWriter.Compression compression, int compressionThreads) throws IOException {
+        OpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+        this.sink = openSink(channel, compression, compressionThreads);
+        // same replacement policy as OutputStreamWriter
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, (int) Math.ceil(encoder.maxBytesPerChar())));
+        this.force = force;
+        this.callbackWriter = new CallbackWriter(charset);
+        this.size = append ? channel.size() : 0;
+    }
+
+    /**
+     * Encode and write characters.
+     *
+     * @param characters to write
+     * @throws IOException if characters cannot be written
+     */
+    void write(CharSequence characters) throws IOException {
+        encode(CharBuffer.wrap(characters), false);
+    }
+
+    /**
+     * Get a writer, for header and footer callbacks, that writes to this output.
+     *
+     * @return a writer to this output
+     */
+    OutputStreamWriter getWriter() {
+        return callbackWriter;
+    }
+
+    /**
+     * Get the size of the file, including bytes that are not flushed yet.
+     *
+     * @return the size of the file in bytes
+     */
+    long size() {
+        return size + buffer.position();
+    }
+
+    /**
+     * Get the number of bytes written since the last flush.
+     *
+     * @return the number of bytes written since the last flush
+     */
+    long unflushed() {
+        return unflushed + buffer.position();
+    }
+
+    /**
+     * Write buffered bytes to the file, and force them to the storage device if required.
+     *
+     * @throws IOException if bytes cannot be written
+     */
+    void flush() throws IOException {
+        drain();
+        unflushed = 0;
+        if (force) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Flush and close the file.
+     *
+     * @throws IOException if the file cannot be flushed or closed
+     */
+    void close() throws IOException {
+        try {
+            encode(CharBuffer.allocate(0), true);
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+            drain();
+            if (sink != channel) {
+                sink.close(); // finish compression
+            }
+            if (force) {
+                channel.force(false);
+            }
+        } finally {
+            try {
+                sink.close(); // no-op if already closed
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static WritableByteChannel openSink(FileChannel channel, FileRecordWriter.Compression compression, int compressionThreads) throws IOException {
+        if (compression == FileRecordWriter.Compression.NONE) {
+            return channel;
+        }
+        if (compressionThreads > 1) {
+            return new ParallelGzipChannel(channel, compressionThreads);
+        }
+        // the file channel is closed by this output, not by the compressor
+        OutputStream fileOutputStream = new FilterOutputStream(Channels.newOutputStream(channel)) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        return Channels.newChannel(new GZIPOutputStream(fileOutputStream, FileRecordWriter.DEFAULT_BUFFER_SIZE));
+    }
+
+    private void encode(CharBuffer characters, boolean endOfInput) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(characters, buffer, endOfInput);
+            if (!result.isOverflow()) {
+                return;
+            }
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        int count = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            sink.write(buffer);
+        }
+        buffer.clear();
+        size += count;
+        unflushed += count;
+    }
+
+    // a writer to this output sharing its encoder, as required by header and footer callbacks
+    private class CallbackWriter extends OutputStreamWriter {
+
+        CallbackWriter(Charset charset) {
+            super(OutputStream.nullOutputStream(), charset);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            encode(CharBuffer.wrap(new char[]{(char) c}), false);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            encode(CharBuffer.wrap(chars, offset, length), false);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) throws IOException {
+            encode(CharBuffer.wrap(string, offset, offset + length), false);
+        }
+
+        @Override
+        public void flush() {
+            // flushed with the output according to its flush policy
+        }
+
+        @Override
+        public void close() {
+            // closed with the output
+        }
+    }
+}
@@ -23,7 +23,6 @@
  */
 package org.jeasy.batch.core.writer;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
@@ -36,16 +35,32 @@ import org.jeasy.batch.core.util.Utils;
 /**
  * A writer that writes records to a file.
  *
+ * Records are encoded in a buffer which is written to the file when it is full
+ * and according to the {@link FlushPolicy} (at the end of each batch by default).
+ * Flushed data can also be forced to the storage device with {@link #setForce(boolean)},
+ * so that throughput and durability can be tuned independently.
+ *
+ * Files can be compressed in gzip format (see {@link #setCompression(Compression)}),
+ * on several threads if needed (see {@link #setCompressionThreads(int)}).
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class FileRecordWriter implements RecordWriter<String> {
 
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
     private HeaderCallback headerCallback;
     private FooterCallback footerCallback;
     private Charset charset = Charset.defaultCharset();
     private String lineSeparator = Utils.LINE_SEPARATOR;
     private boolean append;
-    private OutputStreamWriter outputStreamWriter;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private FlushPolicy flushPolicy = FlushPolicy.BATCH;
+    private long flushThreshold = DEFAULT_BUFFER_SIZE;
+    private boolean force;
+    private Compression compression = Compression.NONE;
+    private int compressionThreads = 1;
+    private FileOutput output;
     private Path path;
 
     /**
@@ -97,37 +112,141 @@ public class FileRecordWriter implements RecordWriter<String> {
         this.append = append;
     }
 
+    /**
+     * Set the size of the buffer in which records are encoded. Defaults to {@link #DEFAULT_BUFFER_SIZE}.
+     * @param bufferSize in bytes
+     */
+    public void setBufferSize(int bufferSize) {
+        Utils.checkArgument(bufferSize >= 1, "The buffer size must be greater than or equal to 1");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Set the flush policy. Defaults to {@link FlushPolicy#BATCH}.
+     * @param flushPolicy to use
+     */
+    public void setFlushPolicy(FlushPolicy flushPolicy) {
+        Utils.checkNotNull(flushPolicy, "flush policy");
+        this.flushPolicy = flushPolicy;
+    }
+
+    /**
+     * Set the number of bytes after which data is flushed with the {@link FlushPolicy#BYTES} policy.
+     * Defaults to {@link #DEFAULT_BUFFER_SIZE}.
+     * @param flushThreshold in bytes
+     */
+    public void setFlushThreshold(long flushThreshold) {
+        Utils.checkArgument(flushThreshold >= 1, "The flush threshold must be greater than or equal to 1");
+        this.flushThreshold = flushThreshold;
+    }
+
+    /**
+     * Parameter to force data to the storage device (fsync) each time it is flushed.
+     * @param force true if flushed data should be forced to the storage device
+     */
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+
+    /**
+     * Set the compression of the output file. Defaults to {@link Compression#NONE}.
+     * Note that compressed data may be held by the compressor until the writer is closed,
+     * whatever the flush policy is.
+     * @param compression of the output file
+     */
+    public void setCompression(Compression compression) {
+        Utils.checkNotNull(compression, "compression");
+        this.compression = compression;
+    }
+
+    /**
+     * Set the number of threads compressing the output file. With more than one thread,
+     * data is compressed by blocks of 1MB written as independent gzip members, while the
+     * job thread keeps writing records. Defaults to 1.
+     * @param compressionThreads number of compression threads
+     */
+    public void setCompressionThreads(int compressionThreads) {
+        Utils.checkArgument(compressionThreads >= 1, "The number of compression threads must be greater than or equal to 1");
+        this.compressionThreads = compressionThreads;
+    }
+
     @Override
     public void open() throws Exception {
-        outputStreamWriter = new OutputStreamWriter(new FileOutputStream(path.toFile(), append), charset);
+        output = new FileOutput(path, charset, append, bufferSize, force, compression, compressionThreads);
         if (headerCallback != null) {
-            headerCallback.writeHeader(outputStreamWriter);
-            outputStreamWriter.write(lineSeparator);
-            outputStreamWriter.flush();
+            headerCallback.writeHeader(output.getWriter());
+            output.write(lineSeparator);
+            if (flushPolicy != FlushPolicy.CLOSE) {
+                output.flush();
+            }
         }
     }
 
     @Override
     public void writeRecords(Batch<String> batch) throws Exception {
         for (Record<String> record : batch) {
-            outputStreamWriter.write(record.getPayload());
-            outputStreamWriter.write(lineSeparator);
+            output.write(record.getPayload());
+            output.write(lineSeparator);
+            if (flushPolicy == FlushPolicy.BYTES && output.unflushed() >= flushThreshold) {
+                output.flush();
+            }
+        }
+        if (flushPolicy == FlushPolicy.BATCH) {
+            output.flush();
         }
-        outputStreamWriter.flush();
     }
 
     @Override
     public void close() throws Exception {
-        if (footerCallback != null && outputStreamWriter != null) {
-            footerCallback.writeFooter(outputStreamWriter);
-            outputStreamWriter.write(lineSeparator);
-            outputStreamWriter.flush();
+        if (output == null) {
+            return;
         }
-        if (outputStreamWriter != null) {
-            outputStreamWriter.close();
+        try {
+            if (footerCallback != null) {
+                footerCallback.writeFooter(output.getWriter());
+                output.write(lineSeparator);
+            }
+        } finally {
+            try {
+                output.close();
+            } finally {
+                output = null; // makes close idempotent (the footer must not be written twice)
+            }
         }
     }
 
+    /**
+     * Compression of the output file.
+     */
+    public enum Compression {
+        /**
+         * No compression.
+         */
+        NONE,
+        /**
+         * Gzip compression.
+         */
+        GZIP
+    }
+
+    /**
+     * Policy defining when buffered data is written to the file (in addition to when the buffer is full).
+     */
+    public enum FlushPolicy {
+        /**
+         * Flush data at the end of each batch.
+         */
+        BATCH,
+        /**
+         * Flush data each time the number of bytes written since the last flush reaches the flush threshold.
+         */
+        BYTES,
+        /**
+         * Flush data only when the writer is closed.
+         */
+        CLOSE
+    }
+
     /**
      * Callback to write a header to the output file.
      * Implementations are not required to flush the writer or write a line separator at the end of the header.
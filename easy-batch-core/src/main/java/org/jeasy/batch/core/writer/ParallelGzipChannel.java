@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A channel compressing data in gzip format on several threads.
+ *
+ * Data is cut in blocks which are compressed concurrently as independent gzip members,
+ * while the writing thread keeps filling the next blocks. Compressed blocks are written
+ * in order to the target channel. A concatenation of gzip members is a valid gzip file,
+ * which can be read by any gzip decompressor (including {@link java.util.zip.GZIPInputStream}).
+ *
+ * Closing this channel does not close the target channel.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class ParallelGzipChannel implements WritableByteChannel {
+
+    static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private final WritableByteChannel target;
+    private final ExecutorService executorService;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+    private final int maxPendingBlocks;
+    private final int blockSize;
+    private byte[] block;
+    private int blockLength;
+    private long blockCount;
+    private boolean open = true;
+
+    ParallelGzipChannel(WritableByteChannel target, int threads) {
+        this(target, threads, DEFAULT_BLOCK_SIZE);
+    }
+
+    ParallelGzipChannel(WritableByteChannel target, int threads, int blockSize) {
+        this.target = target;
+        this.blockSize = blockSize;
+        this.block = new byte[blockSize];
+        // enough blocks in flight to keep all threads busy while the oldest one is being written
+        this.maxPendingBlocks = threads * 2;
+        this.executorService = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "gzip-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public int write(ByteBuffer source) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        int written = source.remaining();
+        while (source.hasRemaining()) {
+            int count = Math.min(source.remaining(), blockSize - blockLength);
+            source.get(block, blockLength, count);
+            blockLength += count;
+            if (blockLength == blockSize) {
+                submitBlock();
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!open) {
+            return;
+        }
+        open = false;
+        try {
+            if (blockLength > 0 || blockCount == 0) { // an empty gzip file still has one member
+                submitBlock();
+            }
+            while (!pendingBlocks.isEmpty()) {
+                writeBlock(pendingBlocks.poll());
+            }
+        } finally {
+            for (Future<byte[]> pendingBlock : pendingBlocks) {
+                pendingBlock.cancel(true);
+            }
+            executorService.shutdown();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] data = block;
+        int length = blockLength;
+        pendingBlocks.add(executorService.submit(() -> compress(data, length)));
+        blockCount++;
+        block = new byte[blockSize];
+        blockLength = 0;
+        while (pendingBlocks.size() > maxPendingBlocks) {
+            writeBlock(pendingBlocks.poll());
+        }
+    }
+
+    private void writeBlock(Future<byte[]> pendingBlock) throws IOException {
+        byte[] compressed;
+        try {
+            compressed = pendingBlock.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to compress block", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing block", e);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(compressed);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private static byte[] compress(byte[] data, int length) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(data, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+}
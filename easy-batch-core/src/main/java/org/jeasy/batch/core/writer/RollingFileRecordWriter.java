@@ -0,0 +1,430 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.util.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A writer that writes records to a sequence of files, rolling to a new file
+ * when the current one reaches a maximum number of records or bytes.
+ *
+ * Records can also be partitioned by key (see {@link #setPartitionKeyExtractor(PartitionKeyExtractor)}),
+ * in which case each partition is written to its own sequence of files. At most
+ * {@link #setMaxOpenFiles(int)} files are kept open: the least recently used one is
+ * closed (and reopened in append mode later if needed) when another file must be opened.
+ * Partitions of a batch can be written in parallel with {@link #setParallelWriting(boolean)}.
+ *
+ * Header and footer callbacks are applied to each file. By default, files are named after
+ * the given path: {@code out.csv} gives {@code out-1.csv}, {@code out-2.csv}, etc, or
+ * {@code out-<key>-1.csv}, {@code out-<key>-2.csv}, etc when records are partitioned
+ * (partition keys containing path separators or {@code ..} are then rejected).
+ *
+ * Buffered records of each file are written at the end of each batch.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class RollingFileRecordWriter implements RecordWriter<String> {
+
+    public static final int DEFAULT_MAX_OPEN_FILES = 32;
+
+    private final FileNameStrategy fileNameStrategy;
+    private PartitionKeyExtractor partitionKeyExtractor;
+    private FileRecordWriter.HeaderCallback headerCallback;
+    private FileRecordWriter.FooterCallback footerCallback;
+    private Charset charset = Charset.defaultCharset();
+    private String lineSeparator = Utils.LINE_SEPARATOR;
+    private int bufferSize = FileRecordWriter.DEFAULT_BUFFER_SIZE;
+    private boolean force;
+    private long maxRecordsPerFile;
+    private long maxBytesPerFile;
+    private int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+    private boolean parallelWriting;
+    private ExecutorService executorService = ForkJoinPool.commonPool();
+
+    private Map<String, Partition> partitions;
+    private LinkedHashMap<String, Partition> openPartitions; // in access order
+
+    /**
+     * Create a new {@link RollingFileRecordWriter} naming files after the given path.
+     *
+     * @param path the output file, suffixed with the partition key and file index
+     */
+    public RollingFileRecordWriter(final Path path) {
+        this(defaultFileNameStrategy(path));
+    }
+
+    /**
+     * Create a new {@link RollingFileRecordWriter}.
+     *
+     * @param fileNameStrategy giving the path of each file
+     */
+    public RollingFileRecordWriter(final FileNameStrategy fileNameStrategy) {
+        Utils.checkNotNull(fileNameStrategy, "file name strategy");
+        this.fileNameStrategy = fileNameStrategy;
+    }
+
+    /**
+     * Set the charset of output files
+     * @param charset of output files
+     */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Set the line separator
+     * @param lineSeparator to use
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Set a header callback, applied to each file.
+     * @param headerCallback to set
+     */
+    public void setHeaderCallback(FileRecordWriter.HeaderCallback headerCallback) {
+        this.headerCallback = headerCallback;
+    }
+
+    /**
+     * Set a footer callback, applied to each file.
+     * @param footerCallback to set
+     */
+    public void setFooterCallback(FileRecordWriter.FooterCallback footerCallback) {
+        this.footerCallback = footerCallback;
+    }
+
+    /**
+     * Set the size of the buffer of each open file. Defaults to {@link FileRecordWriter#DEFAULT_BUFFER_SIZE}.
+     * @param bufferSize in bytes
+     */
+    public void setBufferSize(int bufferSize) {
+        Utils.checkArgument(bufferSize >= 1, "The buffer size must be greater than or equal to 1");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Parameter to force data to the storage device (fsync) at the end of each batch.
+     * @param force true if written data should be forced to the storage device
+     */
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+
+    /**
+     * Set the maximum number of records per file. Unlimited by default.
+     * @param maxRecordsPerFile maximum number of records per file, 0 for no limit
+     */
+    public void setMaxRecordsPerFile(long maxRecordsPerFile) {
+        Utils.checkArgument(maxRecordsPerFile >= 0, "The maximum number of records per file must be positive");
+        this.maxRecordsPerFile = maxRecordsPerFile;
+    }
+
+    /**
+     * Set the maximum size of files. A file is rolled when its size reaches
+     * this limit, so it may exceed it by one record. Unlimited by default.
+     * @param maxBytesPerFile maximum size of files in bytes, 0 for no limit
+     */
+    public void setMaxBytesPerFile(long maxBytesPerFile) {
+        Utils.checkArgument(maxBytesPerFile >= 0, "The maximum number of bytes per file must be positive");
+        this.maxBytesPerFile = maxBytesPerFile;
+    }
+
+    /**
+     * Set the maximum number of files kept open. Defaults to {@link #DEFAULT_MAX_OPEN_FILES}.
+     * @param maxOpenFiles maximum number of open files
+     */
+    public void setMaxOpenFiles(int maxOpenFiles) {
+        Utils.checkArgument(maxOpenFiles >= 1, "The maximum number of open files must be greater than or equal to 1");
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    /**
+     * Set the extractor of the key of the partition of each record.
+     * @param partitionKeyExtractor to use
+     */
+    public void setPartitionKeyExtractor(PartitionKeyExtractor partitionKeyExtractor) {
+        this.partitionKeyExtractor = partitionKeyExtractor;
+    }
+
+    /**
+     * Activate parallel writing of the partitions of each batch. Records of
+     * a same partition are always written in order by a single thread.
+     * @param parallelWriting true to write partitions in parallel. False by default.
+     */
+    public void setParallelWriting(boolean parallelWriting) {
+        this.parallelWriting = parallelWriting;
+    }
+
+    /**
+     * Set the executor used to write partitions in parallel. Defaults to
+     * {@link ForkJoinPool#commonPool()}. The executor is not shutdown by this writer.
+     * @param executorService to use
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        Utils.checkNotNull(executorService, "executor service");
+        this.executorService = executorService;
+    }
+
+    @Override
+    public void open() throws Exception {
+        partitions = new LinkedHashMap<>();
+        openPartitions = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public void writeRecords(Batch<String> batch) throws Exception {
+        if (parallelWriting) {
+            writeRecordsInParallel(batch);
+            return;
+        }
+        for (Record<String> record : batch) {
+            Partition partition = acquire(getPartition(record));
+            write(partition, record);
+        }
+        for (Partition partition : openPartitions.values()) {
+            partition.flush();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (partitions == null) {
+            return;
+        }
+        Exception error = null;
+        for (Partition partition : partitions.values()) {
+            try {
+                if (partition.index == 0) {
+                    continue; // no file was opened for this partition
+                }
+                if (partition.output == null) {
+                    partition.open(true);
+                }
+                partition.finish();
+            } catch (Exception e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+        partitions = null;
+        openPartitions = null;
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /*
+     * Records are grouped by partition, and partitions are written in parallel by
+     * waves of at most maxOpenFiles partitions, so that no file of a wave is closed
+     * while it is being written.
+     */
+    private void writeRecordsInParallel(Batch<String> batch) throws Exception {
+        Map<Partition, List<Record<String>>> recordsByPartition = new LinkedHashMap<>();
+        for (Record<String> record : batch) {
+            recordsByPartition.computeIfAbsent(getPartition(record), partition -> new ArrayList<>()).add(record);
+        }
+        Iterator<Map.Entry<Partition, List<Record<String>>>> iterator = recordsByPartition.entrySet().iterator();
+        while (iterator.hasNext()) {
+            List<Future<Void>> writes = new ArrayList<>();
+            for (int i = 0; i < maxOpenFiles && iterator.hasNext(); i++) {
+                Map.Entry<Partition, List<Record<String>>> entry = iterator.next();
+                Partition partition = acquire(entry.getKey());
+                List<Record<String>> records = entry.getValue();
+                writes.add(executorService.submit(() -> {
+                    for (Record<String> record : records) {
+                        write(partition, record);
+                    }
+                    partition.flush();
+                    return null;
+                }));
+            }
+            awaitAll(writes);
+        }
+    }
+
+    private static void awaitAll(List<Future<Void>> writes) throws Exception {
+        Throwable error = null;
+        for (Future<Void> write : writes) {
+            try {
+                write.get();
+            } catch (ExecutionException e) {
+                if (error == null) {
+                    error = e.getCause();
+                }
+            }
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw (Exception) error;
+        }
+    }
+
+    private Partition getPartition(Record<String> record) {
+        String key = partitionKeyExtractor == null ? null : partitionKeyExtractor.extractKey(record);
+        return partitions.computeIfAbsent(key, Partition::new);
+    }
+
+    // make sure the current file of the partition is open, closing the least recently used file if needed
+    private Partition acquire(Partition partition) throws IOException {
+        if (openPartitions.get(partition.key) != null) {
+            return partition;
+        }
+        if (openPartitions.size() >= maxOpenFiles) {
+            Iterator<Partition> eldest = openPartitions.values().iterator();
+            Partition evicted = eldest.next();
+            eldest.remove();
+            evicted.output.close();
+            evicted.output = null;
+        }
+        partition.open(partition.index > 0);
+        openPartitions.put(partition.key, partition);
+        return partition;
+    }
+
+    private void write(Partition partition, Record<String> record) throws IOException {
+        if (partition.isFull()) {
+            partition.finish();
+            partition.open(false);
+        }
+        partition.output.write(record.getPayload());
+        partition.output.write(lineSeparator);
+        partition.records++;
+    }
+
+    private static FileNameStrategy defaultFileNameStrategy(Path path) {
+        Utils.checkNotNull(path, "path");
+        String fileName = path.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        return (key, index) -> {
+            checkPartitionKey(key);
+            return path.resolveSibling(baseName + (key == null ? "" : "-" + key) + "-" + index + extension);
+        };
+    }
+
+    // the key is part of the file name, it must not resolve to a file outside of the output directory
+    private static void checkPartitionKey(String key) {
+        if (key != null) {
+            Utils.checkArgument(key.indexOf('/') < 0 && key.indexOf('\\') < 0
+                            && !key.contains(File.separator) && !key.contains(".."),
+                    "Partition key '" + key + "' must not contain path separators or '..'");
+        }
+    }
+
+    // the sequence of files of a partition
+    private class Partition {
+
+        private final String key;
+        private int index; // index of the current file, 0 before the first one
+        private long records; // number of records in the current file
+        private FileOutput output;
+
+        Partition(String key) {
+            this.key = key;
+        }
+
+        // open the current file in append mode, or the next file
+        void open(boolean append) throws IOException {
+            Path path = fileNameStrategy.getPath(key, append ? index : index + 1); // may reject the key
+            if (!append) {
+                index++;
+                records = 0;
+            }
+            output = new FileOutput(path, charset, append, bufferSize, force);
+            if (!append && headerCallback != null) {
+                headerCallback.writeHeader(output.getWriter());
+                output.write(lineSeparator);
+            }
+        }
+
+        boolean isFull() {
+            return (maxRecordsPerFile > 0 && records >= maxRecordsPerFile)
+                    || (maxBytesPerFile > 0 && output.size() >= maxBytesPerFile);
+        }
+
+        void flush() throws IOException {
+            if (output.unflushed() > 0) {
+                output.flush();
+            }
+        }
+
+        // write the footer and close the current file
+        void finish() throws IOException {
+            try {
+                if (footerCallback != null) {
+                    footerCallback.writeFooter(output.getWriter());
+                    output.write(lineSeparator);
+                }
+            } finally {
+                output.close();
+                output = null;
+            }
+        }
+    }
+
+    /**
+     * Strategy giving the path of each file.
+     */
+    public interface FileNameStrategy {
+        /**
+         * @param key of the partition, or null if records are not partitioned
+         * @param index of the file in the partition, starting from 1
+         * @return the path of the file
+         */
+        Path getPath(String key, int index);
+    }
+
+    /**
+     * Extractor of the key of the partition of a record.
+     */
+    public interface PartitionKeyExtractor {
+        /**
+         * @param record to extract the partition key from
+         * @return the key of the partition of the record
+         */
+        String extractKey(Record<String> record);
+    }
+}
@@ -43,4 +43,23 @@ public class BigDecimalTypeConverterTest extends BaseConverterTest<BigDecimal> {
         assertThat(converter.convert("5").intValue()).isEqualTo(5);
     }
 
+    @Test
+    public void whenInputIsParsedByTheFastPath_ThenShouldBeEqualToTheJdkParsing() {
+        for (String value : new String[]{"0", "-0.00", "12.34", "+12.340", ".5", "5.", "123456789012345678"}) {
+            assertThat(converter.convert(value)).isEqualTo(new BigDecimal(value));
+        }
+    }
+
+    @Test
+    public void whenInputIsNotParsedByTheFastPath_ThenShouldBeEqualToTheJdkParsing() {
+        for (String value : new String[]{"1E+3", "1234567890.123456789", "-0.0000000000000000001"}) {
+            assertThat(converter.convert(value)).isEqualTo(new BigDecimal(value));
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void whenInputIsIllegal_ThenShouldThrowANumberFormatException() {
+        converter.convert(".");
+    }
+
 }
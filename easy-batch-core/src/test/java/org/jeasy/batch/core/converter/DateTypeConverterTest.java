@@ -26,6 +26,7 @@ package org.jeasy.batch.core.converter;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,4 +52,18 @@ public class DateTypeConverterTest extends BaseConverterTest<Date> {
         converter.convert("foo");
     }
 
+    @Test
+    public void whenInputValueIsParsedByTheFastPath_ThenShouldReturnTheSameDateAsTheDateFormat() throws Exception {
+        for (String date : new String[]{"2015-01-01", "2000-02-29", "1900-06-15", "2015-13-01", "1500-01-01"}) {
+            assertThat(converter.convert(date)).isEqualTo(new SimpleDateFormat(DateTypeConverter.DEFAULT_DATE_FORMAT).parse(date));
+        }
+    }
+
+    @Test
+    public void whenFormatIsSpecified_ThenShouldUseIt() throws Exception {
+        converter = new DateTypeConverter("dd/MM/yyyy");
+        assertThat(converter.convert("01/02/2015")).isEqualTo(new SimpleDateFormat("dd/MM/yyyy").parse("01/02/2015"));
+        assertThat(converter.convert("02/02/2015")).isEqualTo(new SimpleDateFormat("dd/MM/yyyy").parse("02/02/2015"));
+    }
+
 }
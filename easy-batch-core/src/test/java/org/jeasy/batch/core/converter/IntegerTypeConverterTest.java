@@ -42,4 +42,26 @@ public class IntegerTypeConverterTest extends BaseConverterTest<Integer> {
         assertThat(converter.convert("5.0")).isEqualTo(5);
     }
 
+    @Test
+    public void whenInputIsNotAPlainInteger_ThenShouldBehaveAsDoubleParsing() {
+        assertThat(converter.convert("-42")).isEqualTo(-42);
+        assertThat(converter.convert("+42")).isEqualTo(42);
+        assertThat(converter.convert("1e3")).isEqualTo(1000);
+        assertThat(converter.convert("5.7")).isEqualTo(5);
+        assertThat(converter.convert(" 5 ")).isEqualTo(5);
+        assertThat(converter.convert("99999999999")).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void whenInputIsARangeOfCharacters_ThenShouldConvertItInPlace() {
+        CharSequenceTypeConverter<Integer> integerTypeConverter = new IntegerTypeConverter();
+        assertThat(integerTypeConverter.convert(new StringBuilder("ab123cd"), 2, 5)).isEqualTo(123);
+        assertThat(integerTypeConverter.convert("ab5.0cd", 2, 5)).isEqualTo(5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenInputIsAnEmptyRange_ThenShouldThrowIllegalArgumentException() {
+        new IntegerTypeConverter().convert("123", 1, 1);
+    }
+
 }
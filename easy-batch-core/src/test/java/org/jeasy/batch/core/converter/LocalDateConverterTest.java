@@ -47,4 +47,19 @@ public class LocalDateConverterTest {
 	public void whenValueIsInvalid_ThenShouldThrowADateTimeParseException() {
 		converter.convert("foo");
 	}
+
+	@Test(expected = DateTimeParseException.class)
+	public void whenDateDoesNotExist_ThenShouldThrowADateTimeParseException() {
+		converter.convert("2020-02-30");
+	}
+
+	@Test
+	public void whenInputIsARangeOfCharacters_ThenShouldConvertItInPlace() {
+		assertThat(new LocalDateConverter().convert("on 2020-01-20.", 3, 13)).isEqualTo(LocalDate.of(2020, 1, 20));
+	}
+
+	@Test
+	public void whenPatternIsSpecified_ThenShouldUseIt() {
+		assertThat(new LocalDateConverter("dd/MM/yyyy").convert("20/01/2020")).isEqualTo(LocalDate.of(2020, 1, 20));
+	}
 }
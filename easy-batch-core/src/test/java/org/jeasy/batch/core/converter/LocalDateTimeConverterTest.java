@@ -47,4 +47,17 @@ public class LocalDateTimeConverterTest {
 	public void whenValueIsInvalid_ThenShouldThrowADateTimeParseException() {
 		converter.convert("foo");
 	}
+
+	@Test
+	public void whenInputValueHasOptionalParts_ThenShouldReturnTheSameDateTimeAsTheJdkParsing() {
+		for (String dateTime : new String[]{"2020-01-20T10:15", "2020-01-20T10:15:20.5", "2020-01-20t10:15:20"}) {
+			assertThat(converter.convert(dateTime)).isEqualTo(LocalDateTime.parse(dateTime));
+		}
+	}
+
+	@Test
+	public void whenPatternIsSpecified_ThenShouldUseIt() {
+		assertThat(new LocalDateTimeConverter("yyyyMMddHHmmss").convert("20200120101520"))
+				.isEqualTo(LocalDateTime.of(2020, 1, 20, 10, 15, 20));
+	}
 }
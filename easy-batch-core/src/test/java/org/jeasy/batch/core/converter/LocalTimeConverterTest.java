@@ -47,4 +47,16 @@ public class LocalTimeConverterTest {
 	public void whenValueIsInvalid_ThenShouldThrowADateTimeParseException() {
 		converter.convert("foo");
 	}
+
+	@Test
+	public void whenInputValueHasOptionalParts_ThenShouldReturnTheSameTimeAsTheJdkParsing() {
+		for (String time : new String[]{"10:15", "10:15:20.1", "10:15:20.123456789", "23:59:59.000"}) {
+			assertThat(converter.convert(time)).isEqualTo(LocalTime.parse(time));
+		}
+	}
+
+	@Test(expected = DateTimeParseException.class)
+	public void whenTimeDoesNotExist_ThenShouldThrowADateTimeParseException() {
+		converter.convert("25:00");
+	}
 }
@@ -41,4 +41,17 @@ public class LongTypeConverterTest extends BaseConverterTest<Long> {
         assertThat(converter.convert("5.0")).isEqualTo(5L);
     }
 
+    @Test
+    public void whenInputIsTooLongForTheFastPath_ThenShouldBehaveAsDoubleParsing() {
+        assertThat(converter.convert("123456789012345678")).isEqualTo(123456789012345678L);
+        assertThat(converter.convert("-1234567890123456789")).isEqualTo(Double.valueOf("-1234567890123456789").longValue());
+    }
+
+    @Test
+    public void whenIntegerInputIsNotExactlyRepresentableAsDouble_ThenShouldReturnExactLong() {
+        // parsing through a double used to round this value to 9007199254740992
+        assertThat(converter.convert("9007199254740993")).isEqualTo(9007199254740993L);
+        assertThat(converter.convert("-9007199254740993")).isEqualTo(-9007199254740993L);
+    }
+
 }
@@ -41,4 +41,9 @@ public class ShortTypeConverterTest extends BaseConverterTest<Short> {
         assertThat(converter.convert("5.0")).isEqualTo((short) 5);
     }
 
+    @Test
+    public void whenInputIsOutOfRange_ThenShouldBehaveAsDoubleParsing() {
+        assertThat(converter.convert("40000")).isEqualTo(Double.valueOf("40000").shortValue());
+    }
+
 }
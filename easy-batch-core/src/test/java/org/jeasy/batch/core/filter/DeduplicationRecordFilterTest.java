@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.filter;
+
+import org.jeasy.batch.core.job.JobMetrics;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.record.StringRecord;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeduplicationRecordFilterTest {
+
+    // key is the first field of the payload
+    private static final DeduplicationRecordFilter.KeyExtractor<String> KEY_EXTRACTOR =
+            record -> record.getPayload().split(",")[0];
+
+    @Test
+    public void whenRecordHasAlreadySeenKey_ThenItShouldBeFiltered() {
+        DeduplicationRecordFilter<String> filter = new DeduplicationRecordFilter<>(KEY_EXTRACTOR, 100);
+
+        Record<String> first = record(1, "1,foo");
+        Record<String> second = record(2, "2,bar");
+        Record<String> duplicate = record(3, "1,baz");
+
+        assertThat(filter.processRecord(first)).isEqualTo(first);
+        assertThat(filter.processRecord(second)).isEqualTo(second);
+        assertThat(filter.processRecord(duplicate)).isNull();
+        assertThat(filter.getDuplicates()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenExactDeduplicationIsEnabled_ThenFalsePositivesShouldNotBeFiltered() {
+        // Bloom filter largely undersized: most new keys are reported as possible duplicates
+        DeduplicationRecordFilter<String> filter = new DeduplicationRecordFilter<>(KEY_EXTRACTOR, 10, 0.5);
+
+        int keys = 100_000;
+        for (int i = 0; i < keys; i++) {
+            assertThat(filter.processRecord(record(i, "key" + i + ",value"))).isNotNull();
+        }
+        for (int i = 0; i < keys; i++) {
+            assertThat(filter.processRecord(record(i, "key" + i + ",other value"))).isNull();
+        }
+
+        assertThat(filter.getDuplicates()).isEqualTo(keys);
+        assertThat(filter.getFalsePositiveRate()).isGreaterThan(0.5);
+    }
+
+    @Test
+    public void whenExactDeduplicationIsDisabled_ThenFalsePositiveRateShouldBeEstimated() {
+        DeduplicationRecordFilter<String> filter = new DeduplicationRecordFilter<>(KEY_EXTRACTOR, 10_000, 0.01);
+        filter.setExactDeduplication(false);
+
+        int kept = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.processRecord(record(i, "key" + i)) != null) {
+                kept++;
+            }
+        }
+
+        assertThat(kept).isGreaterThan(9_800);
+        assertThat(filter.getDuplicates()).isEqualTo(10_000 - kept);
+        assertThat(filter.getFalsePositiveRate()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    public void whenExactDeduplicationIsDisabled_ThenMemoryUsageShouldBeTheBloomFilterSize() {
+        DeduplicationRecordFilter<String> exact = new DeduplicationRecordFilter<>(KEY_EXTRACTOR, 1_000_000, 0.01);
+        DeduplicationRecordFilter<String> approximate = new DeduplicationRecordFilter<>(KEY_EXTRACTOR, 1_000_000, 0.01);
+        approximate.setExactDeduplication(false);
+
+        // ~9.6 bits per key for a false positive rate of 1%
+        assertThat(approximate.getMemoryUsage()).isBetween(1_190_000L, 1_210_000L);
+        assertThat(exact.getMemoryUsage()).isGreaterThan(approximate.getMemoryUsage());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void whenRecordsHaveBeenProcessed_ThenExactDeduplicationShouldNotBeChangeable() {
+        DeduplicationRecordFilter<String> filter = new DeduplicationRecordFilter<>(KEY_EXTRACTOR, 100);
+        filter.processRecord(record(1, "1,foo"));
+        filter.setExactDeduplication(false);
+    }
+
+    @Test
+    public void metricsShouldBeReportedAfterJob() {
+        DeduplicationRecordFilter<String> filter = new DeduplicationRecordFilter<>(KEY_EXTRACTOR, 100);
+        filter.processRecord(record(1, "1,foo"));
+        filter.processRecord(record(2, "1,bar"));
+        JobReport jobReport = new JobReport();
+        jobReport.setMetrics(new JobMetrics());
+
+        filter.afterJob(jobReport);
+
+        assertThat(jobReport.getMetrics().getCustomMetrics())
+                .containsEntry(DeduplicationRecordFilter.DUPLICATES_METRIC, 1L)
+                .containsEntry(DeduplicationRecordFilter.MEMORY_METRIC, filter.getMemoryUsage())
+                .containsEntry(DeduplicationRecordFilter.FALSE_POSITIVE_RATE_METRIC, 0.0);
+    }
+
+    private static Record<String> record(long number, String payload) {
+        return new StringRecord(new Header(number, "test", LocalDateTime.now()), payload);
+    }
+
+}
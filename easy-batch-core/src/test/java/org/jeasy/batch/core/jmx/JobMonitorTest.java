@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.jmx;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.AttributeChangeNotification;
+import javax.management.Notification;
+
+import org.jeasy.batch.core.job.JobMetrics;
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.job.JobStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobMonitorTest {
+
+    private JobReport jobReport;
+    private JobMonitor jobMonitor;
+    private List<Notification> notifications;
+
+    @Before
+    public void setUp() {
+        jobReport = new JobReport();
+        jobReport.setMetrics(new JobMetrics());
+        jobReport.setStatus(JobStatus.STARTED);
+        jobMonitor = new JobMonitor(jobReport);
+        notifications = new ArrayList<>();
+        jobMonitor.addNotificationListener((notification, handback) -> notifications.add(notification), null, null);
+    }
+
+    @Test
+    public void updatesWithinNotificationIntervalShouldBeCoalesced() {
+        jobMonitor.setNotificationInterval(60000);
+
+        for (int i = 0; i < 1000; i++) {
+            jobMonitor.notifyJobReportUpdate();
+        }
+
+        assertThat(notifications).isEmpty();
+    }
+
+    @Test
+    public void whenNotificationIntervalIsZero_thenEveryUpdateShouldBeNotified() {
+        jobMonitor.setNotificationInterval(0);
+
+        for (int i = 0; i < 3; i++) {
+            jobMonitor.notifyJobReportUpdate();
+        }
+
+        assertThat(notifications).hasSize(3);
+        assertThat(notifications).extracting(Notification::getSequenceNumber).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void flushShouldNotifyRegardlessOfNotificationInterval() {
+        jobMonitor.setNotificationInterval(60000);
+        jobMonitor.notifyJobReportUpdate();
+
+        jobMonitor.flushJobReportUpdate();
+
+        assertThat(notifications).hasSize(1);
+        assertThat(((AttributeChangeNotification) notifications.get(0)).getNewValue()).isSameAs(jobReport);
+    }
+
+    @Test
+    public void attributesShouldBeReadFromTheLiveJobReport() {
+        jobReport.getMetrics().setStartTime(LocalDateTime.now().minusSeconds(5));
+        jobReport.getMetrics().incrementReadCount();
+        jobReport.setLastError(new IllegalStateException("boom"));
+
+        assertThat(jobMonitor.getReadCount()).isEqualTo(1);
+        assertThat(jobMonitor.getDuration()).isNotEmpty();
+        assertThat(jobMonitor.getLastError()).isEqualTo("java.lang.IllegalStateException: boom");
+        assertThat(jobMonitor.getEndTime()).isEmpty();
+    }
+}
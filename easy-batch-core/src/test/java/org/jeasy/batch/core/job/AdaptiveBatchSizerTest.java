@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveBatchSizerTest {
+
+    @Test
+    public void initialBatchSizeShouldBeClampedToBounds() {
+        assertThat(new AdaptiveBatchSizer(100, 200, 400).getBatchSize()).isEqualTo(200);
+        assertThat(new AdaptiveBatchSizer(500, 200, 400).getBatchSize()).isEqualTo(400);
+        assertThat(new AdaptiveBatchSizer(300, 200, 400).getBatchSize()).isEqualTo(300);
+    }
+
+    @Test
+    public void whenThroughputIncreases_thenBatchSizeShouldGrow() {
+        AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(100, 100, 300); // step = 10
+
+        batchSizer.onBatchWritten(100, 1000);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(110);
+        batchSizer.onBatchWritten(110, 1000);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(120);
+    }
+
+    @Test
+    public void whenThroughputDrops_thenBatchSizeShouldChangeDirection() {
+        AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(100, 100, 300); // step = 10
+
+        batchSizer.onBatchWritten(100, 1000);
+        batchSizer.onBatchWritten(110, 1000);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(120);
+        batchSizer.onBatchWritten(120, 2000); // throughput dropped
+        assertThat(batchSizer.getBatchSize()).isEqualTo(110);
+        batchSizer.onBatchWritten(110, 1100); // throughput improved, keep going down
+        assertThat(batchSizer.getBatchSize()).isEqualTo(100);
+    }
+
+    @Test
+    public void whenThroughputVariationIsWithinTolerance_thenBatchSizeShouldKeepDirection() {
+        AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(100, 100, 300); // step = 10
+
+        batchSizer.onBatchWritten(100, 1000);
+        batchSizer.onBatchWritten(110, 1130); // ~3% lower throughput
+        assertThat(batchSizer.getBatchSize()).isEqualTo(120);
+    }
+
+    @Test
+    public void whenWritingFails_thenBatchSizeShouldBeHalved() {
+        AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(300, 10, 300);
+
+        batchSizer.onBatchWritingFailure();
+        assertThat(batchSizer.getBatchSize()).isEqualTo(150);
+        batchSizer.onBatchWritingFailure();
+        assertThat(batchSizer.getBatchSize()).isEqualTo(75);
+    }
+
+    @Test
+    public void batchSizeShouldNotExceedBounds() {
+        AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(20, 10, 20);
+
+        batchSizer.onBatchWritten(20, 1000);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(20);
+        for (int i = 0; i < 10; i++) {
+            batchSizer.onBatchWritingFailure();
+        }
+        assertThat(batchSizer.getBatchSize()).isEqualTo(10);
+    }
+}
@@ -33,11 +33,16 @@ import org.jeasy.batch.core.listener.RecordReaderListener;
 import org.jeasy.batch.core.listener.RecordWriterListener;
 import org.jeasy.batch.core.processor.RecordCollector;
 import org.jeasy.batch.core.processor.RecordProcessor;
+import org.jeasy.batch.core.reader.BlockingQueueRecordReader;
 import org.jeasy.batch.core.reader.IterableRecordReader;
+import org.jeasy.batch.core.reader.ProgressAwareRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
 import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Header;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.validator.RecordValidator;
+import org.jeasy.batch.core.writer.CollectionRecordWriter;
 import org.jeasy.batch.core.writer.RecordWriter;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -51,12 +56,22 @@ import org.mockito.junit.MockitoJUnitRunner;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -859,6 +874,649 @@ public class BatchJobTest {
         Assertions.assertThat(iterator.hasNext()).isFalse();
     }
 
+    @Test
+    public void whenWriterThrowsExceptionAndBisectionBatchScanningIsActivated_thenShouldIsolateFaultyRecords() {
+        List<List<Integer>> writeAttempts = new ArrayList<>();
+        List<Integer> output = new ArrayList<>();
+        RecordWriter<Integer> recordWriter = batch -> {
+            List<Integer> payloads = new ArrayList<>();
+            for (Record<Integer> record : batch) {
+                payloads.add(record.getPayload());
+            }
+            writeAttempts.add(payloads);
+            if (payloads.contains(6)) {
+                throw new Exception("Expected");
+            }
+            output.addAll(payloads);
+        };
+        List<Batch<Integer>> failedBatches = new ArrayList<>();
+        RecordWriterListener<Integer> recordWriterListener = new RecordWriterListener<Integer>() {
+            @Override
+            public void onRecordWritingException(Batch<Integer> batch, Throwable throwable) {
+                failedBatches.add(batch);
+            }
+        };
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8)))
+                .writer(recordWriter)
+                .writerListener(recordWriterListener)
+                .batchSize(8)
+                .enableBatchScanning(true)
+                .batchScanningStrategy(BatchScanningStrategy.BISECTION)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(7);
+        assertThat(jobReport.getMetrics().getErrorCount()).isEqualTo(1);
+        assertThat(output).containsExactly(1, 2, 3, 4, 5, 7, 8);
+        assertThat(writeAttempts).containsExactly(
+                Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8),
+                Arrays.asList(1, 2, 3, 4),
+                Arrays.asList(5, 6, 7, 8),
+                Arrays.asList(5, 6),
+                Arrays.asList(5),
+                Arrays.asList(6),
+                Arrays.asList(7, 8));
+        // the initial batch, the failed halves and the isolated faulty record
+        assertThat(failedBatches).hasSize(4);
+        Record<Integer> faultyRecord = failedBatches.get(3).iterator().next();
+        assertThat(failedBatches.get(3).size()).isEqualTo(1);
+        assertThat(faultyRecord.getPayload()).isEqualTo(6);
+        assertThat(faultyRecord.getHeader().isScanned()).isTrue();
+    }
+
+    @Test
+    public void whenBatchScanningStrategyIsBisection_thenEachWriteAttemptShouldBeFollowedByAnOutcomeNotification() {
+        RecordWriter<Integer> recordWriter = batch -> {
+            for (Record<Integer> record : batch) {
+                if (record.getPayload() == 3 || record.getPayload() == 6) {
+                    throw new Exception("Expected");
+                }
+            }
+        };
+        AtomicInteger beforeWritingCalls = new AtomicInteger();
+        AtomicInteger afterWritingCalls = new AtomicInteger();
+        AtomicInteger writingExceptionCalls = new AtomicInteger();
+        RecordWriterListener<Integer> recordWriterListener = new RecordWriterListener<Integer>() {
+            @Override
+            public void beforeRecordWriting(Batch<Integer> batch) {
+                beforeWritingCalls.incrementAndGet();
+            }
+
+            @Override
+            public void afterRecordWriting(Batch<Integer> batch) {
+                afterWritingCalls.incrementAndGet();
+            }
+
+            @Override
+            public void onRecordWritingException(Batch<Integer> batch, Throwable throwable) {
+                writingExceptionCalls.incrementAndGet();
+            }
+        };
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8)))
+                .writer(recordWriter)
+                .writerListener(recordWriterListener)
+                .batchSize(8)
+                .enableBatchScanning(true)
+                .batchScanningStrategy(BatchScanningStrategy.BISECTION)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(6);
+        assertThat(jobReport.getMetrics().getErrorCount()).isEqualTo(2);
+        // [1..8] fails, [1..4] fails, [1,2] ok, [3,4] fails, [3] fails, [4] ok,
+        // [5..8] fails, [5,6] fails, [5] ok, [6] fails, [7,8] ok
+        assertThat(beforeWritingCalls.get()).isEqualTo(11);
+        assertThat(afterWritingCalls.get()).isEqualTo(4);
+        assertThat(writingExceptionCalls.get()).isEqualTo(7);
+        assertThat(afterWritingCalls.get() + writingExceptionCalls.get()).isEqualTo(beforeWritingCalls.get());
+    }
+
+    /*
+     * Adaptive batch size tests
+     */
+
+    @Test
+    public void whenAdaptiveBatchSizeIsEnabled_thenBatchSizesShouldStayWithinBounds() {
+        List<Integer> dataSource = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            dataSource.add(i);
+        }
+        List<Long> batchSizes = new ArrayList<>();
+        List<Integer> output = new ArrayList<>();
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(dataSource))
+                .writer(new CollectionRecordWriter<>(output))
+                .batchListener(new BatchListener<Integer>() {
+                    @Override
+                    public void afterBatchWriting(Batch<Integer> batch) {
+                        batchSizes.add(batch.size());
+                    }
+                })
+                .batchSize(10)
+                .adaptiveBatchSize(20, 100)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(5000);
+        assertThat(output).isEqualTo(dataSource);
+        assertThat(batchSizes.get(0)).isEqualTo(20);
+        assertThat(batchSizes.subList(0, batchSizes.size() - 1)).allMatch(size -> size >= 20 && size <= 100);
+        assertThat(jobReport.getMetrics().getCurrentBatchSize()).isBetween(20, 100);
+    }
+
+    /*
+     * Max batch latency tests
+     */
+
+    @Test
+    public void whenMaxBatchLatencyIsExceeded_thenPartialBatchShouldBeWritten() throws Exception {
+        BlockingQueue<Record<Integer>> queue = new LinkedBlockingQueue<>();
+        for (int i = 1; i <= 3; i++) {
+            queue.put(new GenericRecord<>(new Header((long) i, "queue", LocalDateTime.now()), i));
+        }
+        List<Long> batchSizes = new ArrayList<>();
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new BlockingQueueRecordReader<>(queue, 2000))
+                .writer(new CollectionRecordWriter<>(new ArrayList<>()))
+                .batchListener(new BatchListener<Integer>() {
+                    @Override
+                    public void afterBatchWriting(Batch<Integer> batch) {
+                        batchSizes.add(batch.size());
+                        if (batchSizes.size() == 1) {
+                            for (int i = 4; i <= 5; i++) {
+                                queue.add(new GenericRecord<>(new Header((long) i, "queue", LocalDateTime.now()), i));
+                            }
+                        }
+                    }
+                })
+                .batchSize(10)
+                .maxBatchLatency(50)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(5);
+        assertThat(batchSizes).containsExactly(3L, 2L);
+    }
+
+    @Test
+    public void whenMaxBatchLatencyIsExceededWithANonPollableReader_thenBatchShouldBeClosedBetweenRecords() {
+        RecordReader<Integer> slowReader = new RecordReader<Integer>() {
+            private int count;
+            @Override
+            public Record<Integer> readRecord() throws Exception {
+                if (count == 4) {
+                    return null;
+                }
+                Thread.sleep(50);
+                count++;
+                return new GenericRecord<>(new Header((long) count, "slow", LocalDateTime.now()), count);
+            }
+        };
+        List<Long> batchSizes = new ArrayList<>();
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(slowReader)
+                .writer(new CollectionRecordWriter<>(new ArrayList<>()))
+                .batchListener(new BatchListener<Integer>() {
+                    @Override
+                    public void afterBatchWriting(Batch<Integer> batch) {
+                        batchSizes.add(batch.size());
+                    }
+                })
+                .batchSize(10)
+                .maxBatchLatency(75)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(4);
+        // reading 4 records takes at least 200ms, so a 75ms latency must split them,
+        // but where exactly depends on scheduling
+        assertThat(batchSizes).hasSizeGreaterThan(1);
+        assertThat(batchSizes.stream().mapToLong(Long::longValue).sum()).isEqualTo(4);
+    }
+
+    /*
+     * Latency histograms tests
+     */
+
+    @Test
+    public void whenLatencyHistogramsAreEnabled_thenLatenciesShouldBeRecordedPerStage() {
+        List<Integer> dataSource = Arrays.asList(1, 2, 3, 4, 5);
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(dataSource))
+                .filter((RecordFilter<Integer>) record -> record.getPayload() % 2 == 0 ? null : record)
+                .processor((RecordProcessor<Integer, Integer>) record -> record)
+                .writer(new CollectionRecordWriter<>(new ArrayList<>()))
+                .batchSize(2)
+                .enableLatencyHistograms(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        Map<String, LatencyHistogram> histograms = jobReport.getMetrics().getLatencyHistograms();
+        assertThat(histograms).hasSize(5);
+        assertThat(histograms.get(JobMetrics.READ_LATENCY).getCount()).isEqualTo(5);
+        assertThat(histograms.get(JobMetrics.PIPELINE_LATENCY).getCount()).isEqualTo(5);
+        assertThat(histograms.get(JobMetrics.WRITE_LATENCY).getCount()).isEqualTo(3);
+        assertThat(histograms.keySet()).filteredOn(name -> name.startsWith("Processor 1")).hasSize(1);
+        assertThat(histograms.keySet()).filteredOn(name -> name.startsWith("Processor 2")).hasSize(1);
+        assertThat(jobReport.toString()).contains("Write latency = count=3");
+    }
+
+    @Test
+    public void whenLatencyHistogramsAreEnabled_thenProcessorsShouldNotBeDecoratedTwiceAcrossExecutions() {
+        JobParameters parameters = new JobParameters();
+        parameters.setLatencyHistogramsEnabled(true);
+        BatchJob<Integer, Integer> job = new BatchJob<>(parameters);
+        job.setRecordReader(new IterableRecordReader<>(Arrays.asList(1, 2, 3)));
+        job.addRecordProcessor(new RecordCollector<>());
+
+        job.call();
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getMetrics().getLatencyHistograms().keySet())
+                .contains("Processor 1 (RecordCollector)")
+                .noneMatch(name -> name.contains(TimedRecordProcessor.class.getSimpleName()));
+    }
+
+    @Test
+    public void whenLatencyHistogramsAreNotEnabled_thenNoLatencyShouldBeRecorded() {
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(Arrays.asList(1, 2, 3)))
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getMetrics().getLatencyHistograms()).isEmpty();
+    }
+
+    /*
+     * Progress tests
+     */
+
+    @Test
+    public void whenReaderIsProgressAware_thenJobProgressShouldBeReported() {
+        ProgressAwareRecordReader<Integer> reader = new ProgressAwareRecordReader<Integer>() {
+            private final IterableRecordReader<Integer> delegate = new IterableRecordReader<>(Arrays.asList(1, 2, 3, 4));
+            private long completedWork;
+            @Override
+            public void open() throws Exception {
+                delegate.open();
+            }
+            @Override
+            public Record<Integer> readRecord() throws Exception {
+                Record<Integer> record = delegate.readRecord();
+                if (record != null) {
+                    completedWork++;
+                }
+                return record;
+            }
+            @Override
+            public long getTotalWork() {
+                return 4;
+            }
+            @Override
+            public long getCompletedWork() {
+                return completedWork;
+            }
+        };
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(reader)
+                .batchSize(2)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getMetrics().getTotalWork()).isEqualTo(4);
+        assertThat(jobReport.getMetrics().getCompletedWork()).isEqualTo(4);
+        assertThat(jobReport.getMetrics().getProgress()).isEqualTo(100);
+        assertThat(jobReport.getMetrics().getEstimatedEndTime()).isEqualTo(jobReport.getMetrics().getEndTime());
+    }
+
+    /*
+     * Pipelining tests
+     */
+
+    @Test
+    public void whenPipeliningIsEnabled_thenBatchesShouldBeWrittenInOrder() {
+        List<Integer> dataSource = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            dataSource.add(i);
+        }
+        List<Integer> output = new ArrayList<>();
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(dataSource))
+                .filter((RecordFilter<Integer>) record -> record.getPayload() % 10 == 0 ? null : record)
+                .writer(new CollectionRecordWriter<>(output))
+                .batchSize(7)
+                .enablePipelining(true)
+                .pipelineQueueCapacity(3)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(1000);
+        assertThat(jobReport.getMetrics().getFilterCount()).isEqualTo(100);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(900);
+        assertThat(output).hasSize(900);
+        assertThat(output).isSorted();
+    }
+
+    @Test
+    public void whenPipeliningIsEnabled_thenBatchListenerShouldBeInvokedForEachBatch() throws Exception {
+        job = new JobBuilder<String, String>()
+                .reader(reader)
+                .writer(writer)
+                .batchListener(batchListener)
+                .batchSize(1)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        verify(batchListener, times(3)).beforeBatchReading();
+        verify(batchListener).afterBatchProcessing(new Batch<>(record1));
+        verify(batchListener).afterBatchProcessing(new Batch<>(record2));
+        verify(batchListener).afterBatchWriting(new Batch<>(record1));
+        verify(batchListener).afterBatchWriting(new Batch<>(record2));
+        InOrder inOrder = inOrder(writer);
+        inOrder.verify(writer).writeRecords(new Batch<>(record1));
+        inOrder.verify(writer).writeRecords(new Batch<>(record2));
+    }
+
+    @Test
+    public void whenPipeliningIsEnabledAndErrorThresholdIsExceeded_ThenTheJobShouldFail() throws Exception {
+        when(firstProcessor.processRecord(record1)).thenThrow(exception);
+        when(firstProcessor.processRecord(record2)).thenThrow(exception);
+        job = new JobBuilder<String, String>()
+                .reader(reader)
+                .writer(writer)
+                .processor(firstProcessor)
+                .errorThreshold(1)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getMetrics().getErrorCount()).isEqualTo(2);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(2);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(0);
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isInstanceOf(ErrorThresholdExceededException.class);
+        verify(writer, never()).writeRecords(any());
+        verify(reader).close();
+        verify(writer).close();
+    }
+
+    @Test
+    public void whenPipeliningIsEnabledAndNotAbleToReadNextRecord_ThenTheJobShouldFail() throws Exception {
+        when(reader.readRecord()).thenReturn(record1).thenThrow(exception);
+        job = new JobBuilder<String, String>()
+                .reader(reader)
+                .writer(writer)
+                .batchSize(1)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(1);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(1);
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isEqualTo(exception);
+        verify(writer).writeRecords(new Batch<>(record1));
+        verify(reader).close();
+        verify(writer).close();
+    }
+
+    @Test
+    public void whenPipeliningIsEnabledAndNotAbleToWriteRecords_ThenTheJobShouldFail() throws Exception {
+        doThrow(exception).when(writer).writeRecords(new Batch<>(record1, record2));
+        job = new JobBuilder<String, String>()
+                .reader(reader)
+                .writer(writer)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(2);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(0);
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isEqualTo(exception);
+        verify(reader).close();
+        verify(writer).close();
+    }
+
+    @Test(timeout = 10000)
+    public void whenPipeliningIsEnabledAndReaderStageIgnoresInterrupts_thenReaderShouldBeClosedToStopTheJob() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        AtomicInteger closeCalls = new AtomicInteger();
+        RecordReader<Integer> blockingReader = new RecordReader<Integer>() {
+            private long number;
+
+            @Override
+            public Record<Integer> readRecord() {
+                if (number == 0) {
+                    return new GenericRecord<>(new Header(++number, "test", LocalDateTime.now()), 1);
+                }
+                // simulate an I/O which can only be unblocked by closing the reader
+                while (closed.getCount() > 0) {
+                    try {
+                        closed.await();
+                    } catch (InterruptedException e) {
+                        // ignored
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void close() {
+                closeCalls.incrementAndGet();
+                closed.countDown();
+            }
+        };
+        job = new JobBuilder<Integer, Integer>()
+                .reader(blockingReader)
+                .writer(batch -> {
+                    throw exception;
+                })
+                .batchSize(1)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isEqualTo(exception);
+        assertThat(closeCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenPipeliningAndBatchScanningAreEnabled_thenFaultyRecordsShouldBeSkipped() {
+        List<Integer> output = new ArrayList<>();
+        RecordWriter<Integer> recordWriter = batch -> {
+            for (Record<Integer> record : batch) {
+                if (record.getPayload() == 3) {
+                    throw new Exception("Expected");
+                }
+            }
+            new CollectionRecordWriter<>(output).writeRecords(batch);
+        };
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(Arrays.asList(1, 2, 3, 4, 5, 6)))
+                .writer(recordWriter)
+                .batchSize(2)
+                .enableBatchScanning(true)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(5);
+        assertThat(jobReport.getMetrics().getErrorCount()).isEqualTo(1);
+        assertThat(output).containsExactly(1, 2, 4, 5, 6);
+    }
+
+    /*
+     * Parallel processing tests
+     */
+
+    @Test
+    public void whenParallelProcessingIsEnabled_thenRecordsShouldBeWrittenInOriginalOrder() throws Exception {
+        List<Integer> dataSource = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            dataSource.add(i);
+        }
+        List<Integer> output = new ArrayList<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(dataSource))
+                .processor((RecordProcessor<Integer, Integer>) record -> {
+                    Thread.sleep(record.getPayload() % 3); // make records complete out of order
+                    return record.getPayload() % 5 == 0 ? null : record;
+                })
+                .writer(new CollectionRecordWriter<>(output))
+                .batchSize(50)
+                .enableParallelProcessing(true)
+                .processingExecutor(executorService)
+                .build();
+
+        JobReport jobReport = job.call();
+        executorService.shutdown();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(200);
+        assertThat(jobReport.getMetrics().getFilterCount()).isEqualTo(40);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(160);
+        assertThat(output).hasSize(160);
+        assertThat(output).isSorted();
+    }
+
+    @Test
+    public void whenParallelProcessingIsEnabledAndErrorThresholdIsExceeded_ThenErrorsShouldBeAccountedInOrder() {
+        List<Integer> output = new ArrayList<>();
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)))
+                .processor((RecordProcessor<Integer, Integer>) record -> {
+                    if (record.getPayload() % 2 == 0) {
+                        throw new Exception("Expected");
+                    }
+                    return record;
+                })
+                .writer(new CollectionRecordWriter<>(output))
+                .batchSize(10)
+                .errorThreshold(2)
+                .enableParallelProcessing(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isInstanceOf(ErrorThresholdExceededException.class);
+        assertThat(jobReport.getMetrics().getReadCount()).isEqualTo(10);
+        assertThat(jobReport.getMetrics().getErrorCount()).isEqualTo(3);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(0);
+        assertThat(output).isEmpty();
+    }
+
+    @Test
+    public void whenParallelProcessingIsEnabledAndErrorThresholdIsExceeded_thenRecordsBeyondTheWindowShouldNotBeProcessed() {
+        List<Integer> dataSource = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            dataSource.add(i);
+        }
+        AtomicInteger processedRecords = new AtomicInteger();
+        ForkJoinPool executorService = new ForkJoinPool(2);
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(dataSource))
+                .processor((RecordProcessor<Integer, Integer>) record -> {
+                    processedRecords.incrementAndGet();
+                    if (record.getPayload() == 0) {
+                        throw new Exception("Expected");
+                    }
+                    return record;
+                })
+                .batchSize(100)
+                .errorThreshold(0)
+                .enableParallelProcessing(true)
+                .processingExecutor(executorService)
+                .build();
+
+        JobReport jobReport = job.call();
+        executorService.shutdown();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(jobReport.getLastError()).isInstanceOf(ErrorThresholdExceededException.class);
+        assertThat(processedRecords.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test(timeout = 10000)
+    public void whenParallelProcessingIsEnabledAndJobIsInterrupted_thenJobShouldBeAborted() throws Exception {
+        CountDownLatch processingStarted = new CountDownLatch(1);
+        CountDownLatch releaseProcessing = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(Arrays.asList(1, 2, 3)))
+                .processor((RecordProcessor<Integer, Integer>) record -> {
+                    processingStarted.countDown();
+                    releaseProcessing.await();
+                    return record;
+                })
+                .enableParallelProcessing(true)
+                .processingExecutor(executorService)
+                .build();
+        AtomicReference<JobReport> jobReport = new AtomicReference<>();
+        Thread jobThread = new Thread(() -> jobReport.set(job.call()));
+
+        jobThread.start();
+        processingStarted.await();
+        jobThread.interrupt();
+        jobThread.join();
+        releaseProcessing.countDown();
+        executorService.shutdown();
+
+        assertThat(jobReport.get().getStatus()).isEqualTo(JobStatus.ABORTED);
+        assertThat(jobReport.get().getMetrics().getWriteCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void whenParallelProcessingAndPipeliningAreEnabled_thenRecordsShouldBeWrittenInOriginalOrder() {
+        List<Integer> dataSource = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            dataSource.add(i);
+        }
+        List<Integer> output = new ArrayList<>();
+        Job job = new JobBuilder<Integer, Integer>()
+                .reader(new IterableRecordReader<>(dataSource))
+                .writer(new CollectionRecordWriter<>(output))
+                .batchSize(64)
+                .enableParallelProcessing(true)
+                .enablePipelining(true)
+                .build();
+
+        JobReport jobReport = job.call();
+
+        assertThat(jobReport.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(jobReport.getMetrics().getWriteCount()).isEqualTo(1000);
+        assertThat(output).isEqualTo(dataSource);
+    }
+
     /*
      * Job Interruption tests
      *
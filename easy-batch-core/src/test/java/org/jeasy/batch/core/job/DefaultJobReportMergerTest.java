@@ -99,4 +99,38 @@ public class DefaultJobReportMergerTest {
         assertThat(finalJobReport.getJobName()).isEqualTo("job1|job2");
         assertThat(finalJobReport.getSystemProperties()).isEqualTo(systemProperties);
     }
+
+    @Test
+    public void latencyHistogramsShouldBeMerged() {
+        JobReport jobReport1 = newJobReport("job1");
+        LatencyHistogram writeLatency1 = new LatencyHistogram();
+        writeLatency1.record(10);
+        jobReport1.getMetrics().addLatencyHistogram(JobMetrics.WRITE_LATENCY, writeLatency1);
+        JobReport jobReport2 = newJobReport("job2");
+        LatencyHistogram writeLatency2 = new LatencyHistogram();
+        writeLatency2.record(20);
+        jobReport2.getMetrics().addLatencyHistogram(JobMetrics.WRITE_LATENCY, writeLatency2);
+        LatencyHistogram readLatency2 = new LatencyHistogram();
+        readLatency2.record(5);
+        jobReport2.getMetrics().addLatencyHistogram(JobMetrics.READ_LATENCY, readLatency2);
+
+        JobReport finalReport = jobReportMerger.mergerReports(jobReport1, jobReport2);
+
+        LatencyHistogram writeLatency = finalReport.getMetrics().getLatencyHistograms().get(JobMetrics.WRITE_LATENCY);
+        assertThat(writeLatency.getCount()).isEqualTo(2);
+        assertThat(writeLatency.getMax()).isEqualTo(20);
+        assertThat(finalReport.getMetrics().getLatencyHistograms().get(JobMetrics.READ_LATENCY).getCount()).isEqualTo(1);
+        assertThat(writeLatency1.getCount()).isEqualTo(1);
+    }
+
+    private JobReport newJobReport(String name) {
+        JobReport jobReport = new JobReport();
+        jobReport.setMetrics(new JobMetrics());
+        jobReport.getMetrics().setStartTime(LocalDateTime.now());
+        jobReport.getMetrics().setEndTime(LocalDateTime.now());
+        jobReport.setStatus(JobStatus.COMPLETED);
+        jobReport.setJobName(name);
+        return jobReport;
+    }
+
 }
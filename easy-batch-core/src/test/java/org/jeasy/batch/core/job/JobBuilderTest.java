@@ -36,4 +36,34 @@ public class JobBuilderTest {
     public void whenErrorThresholdIsLessThanZero_thenShouldThrowAnIllegalArgumentException() {
         new JobBuilder<Integer, Integer>().errorThreshold(-1);
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPipelineQueueCapacityIsLessThanOne_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().pipelineQueueCapacity(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenProcessingExecutorIsNull_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().processingExecutor(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMinBatchSizeIsLessThanOne_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().adaptiveBatchSize(0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMaxBatchSizeIsLessThanMinBatchSize_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().adaptiveBatchSize(10, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMaxBatchLatencyIsLessThanOne_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().maxBatchLatency(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenJmxNotificationIntervalIsNegative_thenShouldThrowAnIllegalArgumentException() {
+        new JobBuilder<Integer, Integer>().jmxNotificationInterval(-1);
+    }
 }
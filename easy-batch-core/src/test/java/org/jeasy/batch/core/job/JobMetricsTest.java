@@ -26,6 +26,9 @@ package org.jeasy.batch.core.job;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -115,4 +118,95 @@ public class JobMetricsTest {
         assertThat(jobMetrics.getCustomMetrics().get("metric2")).isEqualTo("aValue");
     }
 
+    @Test
+    public void testCustomMetricRemovalWithNullValue() {
+        jobMetrics.addMetric("metric", "aValue");
+        jobMetrics.addMetric("metric", null);
+        assertThat(jobMetrics.getCustomMetrics()).isEmpty();
+    }
+
+    @Test
+    public void testIncrementMetric() {
+        assertThat(jobMetrics.incrementMetric("metric", 2)).isEqualTo(2);
+        assertThat(jobMetrics.incrementMetric("metric", 3)).isEqualTo(5);
+        jobMetrics.addMetric("intMetric", 1);
+        assertThat(jobMetrics.incrementMetric("intMetric", 1)).isEqualTo(2);
+        assertThat(jobMetrics.getCustomMetrics().get("metric")).isEqualTo(5L);
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    jobMetrics.incrementReadCount();
+                    jobMetrics.incrementWriteCount(1);
+                    jobMetrics.incrementMetric("metric", 1);
+                }
+            });
+        }
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(jobMetrics.getReadCount()).isEqualTo(40000);
+        assertThat(jobMetrics.getWriteCount()).isEqualTo(40000);
+        assertThat(jobMetrics.getCustomMetrics().get("metric")).isEqualTo(40000L);
+    }
+
+    @Test
+    public void testSnapshot() {
+        LocalDateTime startTime = LocalDateTime.of(2020, 1, 20, 10, 15, 20);
+        jobMetrics.setStartTime(startTime);
+        jobMetrics.incrementReadCount(5);
+        jobMetrics.incrementWriteCount(3);
+        jobMetrics.incrementFilterCount();
+        jobMetrics.incrementErrorCount();
+        jobMetrics.setCurrentBatchSize(10);
+        jobMetrics.addMetric("metric", "aValue");
+
+        JobMetrics snapshot = jobMetrics.snapshot();
+        jobMetrics.incrementReadCount();
+        jobMetrics.addMetric("metric", "anotherValue");
+
+        assertThat(snapshot.getReadCount()).isEqualTo(5);
+        assertThat(snapshot.getWriteCount()).isEqualTo(3);
+        assertThat(snapshot.getFilterCount()).isEqualTo(1);
+        assertThat(snapshot.getErrorCount()).isEqualTo(1);
+        assertThat(snapshot.getStartTime()).isEqualTo(startTime);
+        assertThat(snapshot.getEndTime()).isNull();
+        assertThat(snapshot.getCurrentBatchSize()).isEqualTo(10);
+        assertThat(snapshot.getCustomMetrics()).containsEntry("metric", "aValue");
+    }
+
+    @Test
+    public void whenTotalWorkIsUnknown_thenProgressAndEstimatedEndTimeShouldBeUnknown() {
+        jobMetrics.setStartTime(LocalDateTime.now());
+        jobMetrics.setCompletedWork(10);
+
+        assertThat(jobMetrics.getProgress()).isNegative();
+        assertThat(jobMetrics.getEstimatedEndTime()).isNull();
+    }
+
+    @Test
+    public void progressAndEstimatedEndTimeShouldBeExtrapolatedFromCompletedWork() {
+        LocalDateTime startTime = LocalDateTime.now().minusSeconds(10);
+        jobMetrics.setStartTime(startTime);
+        jobMetrics.setTotalWork(200);
+        jobMetrics.setCompletedWork(50);
+
+        assertThat(jobMetrics.getProgress()).isEqualTo(25);
+        LocalDateTime estimatedEndTime = jobMetrics.getEstimatedEndTime();
+        assertThat(estimatedEndTime).isBetween(startTime.plusSeconds(39), startTime.plusSeconds(42));
+    }
+
+    @Test
+    public void whenJobIsFinished_thenEstimatedEndTimeShouldBeTheEndTime() {
+        LocalDateTime endTime = LocalDateTime.now();
+        jobMetrics.setStartTime(endTime.minusSeconds(10));
+        jobMetrics.setEndTime(endTime);
+
+        assertThat(jobMetrics.getEstimatedEndTime()).isEqualTo(endTime);
+    }
+
 }
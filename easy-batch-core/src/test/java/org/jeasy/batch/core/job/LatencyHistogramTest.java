@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void emptyHistogramShouldReportZeroValues() {
+        assertThat(histogram.getCount()).isEqualTo(0);
+        assertThat(histogram.getP50()).isEqualTo(0);
+        assertThat(histogram.getMax()).isEqualTo(0);
+    }
+
+    @Test
+    public void smallValuesShouldBeRecordedExactly() {
+        for (long i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getP50()).isEqualTo(50);
+        assertThat(histogram.getP99()).isEqualTo(99);
+        assertThat(histogram.getMax()).isEqualTo(100);
+    }
+
+    @Test
+    public void percentilesShouldBeWithinRelativePrecision() {
+        for (long i = 1; i <= 1_000_000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertThat((double) histogram.getP50()).isCloseTo(500_000_000d, within(500_000_000d * 0.016));
+        assertThat((double) histogram.getP99()).isCloseTo(990_000_000d, within(990_000_000d * 0.016));
+        assertThat((double) histogram.getP999()).isCloseTo(999_000_000d, within(999_000_000d * 0.016));
+        assertThat(histogram.getMax()).isEqualTo(1_000_000_000L);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1_000_000_000L);
+    }
+
+    @Test
+    public void extremeValuesShouldBeRecorded() {
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.getCount()).isEqualTo(2);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(0);
+        assertThat(histogram.getMax()).isEqualTo(Long.MAX_VALUE);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void histogramsShouldBeMergeable() {
+        LatencyHistogram other = new LatencyHistogram();
+        histogram.record(10);
+        other.record(20);
+        other.record(30);
+
+        histogram.merge(other);
+
+        assertThat(histogram.getCount()).isEqualTo(3);
+        assertThat(histogram.getP50()).isEqualTo(20);
+        assertThat(histogram.getMax()).isEqualTo(30);
+        assertThat(other.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void toStringShouldContainPercentiles() {
+        histogram.record(1_500_000);
+
+        assertThat(histogram.toString()).isEqualTo("count=1, p50=1.500ms, p99=1.500ms, p999=1.500ms, max=1.500ms");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.job;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ThroughputTrackerTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private ThroughputTracker throughputTracker;
+
+    @Before
+    public void setUp() {
+        throughputTracker = new ThroughputTracker();
+    }
+
+    @Test
+    public void throughputShouldBeZeroBeforeTheFirstSamplingPeriod() {
+        throughputTracker.sample(0, 0);
+        throughputTracker.sample(ONE_SECOND / 2, 500);
+
+        assertThat(throughputTracker.getThroughput()).isEqualTo(0);
+        assertThat(throughputTracker.getAverageThroughput()).isEqualTo(0);
+    }
+
+    @Test
+    public void throughputShouldBeComputedOverTheLastSamplingPeriod() {
+        throughputTracker.sample(0, 0);
+        throughputTracker.sample(ONE_SECOND, 1000);
+        throughputTracker.sample(3 * ONE_SECOND, 2000);
+
+        assertThat(throughputTracker.getThroughput()).isCloseTo(500, within(0.001));
+    }
+
+    @Test
+    public void averageThroughputShouldBeSmoothed() {
+        throughputTracker.sample(0, 0);
+        throughputTracker.sample(ONE_SECOND, 1000);
+        assertThat(throughputTracker.getAverageThroughput()).isCloseTo(1000, within(0.001));
+
+        throughputTracker.sample(2 * ONE_SECOND, 1000); // stalled for 1 second
+
+        assertThat(throughputTracker.getThroughput()).isEqualTo(0);
+        assertThat(throughputTracker.getAverageThroughput()).isBetween(900d, 1000d);
+    }
+}
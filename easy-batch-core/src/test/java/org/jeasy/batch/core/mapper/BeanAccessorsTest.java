@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.mapper;
+
+import org.jeasy.batch.core.beans.ExtendedPerson;
+import org.jeasy.batch.core.beans.Person;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeanAccessorsTest {
+
+    @Test
+    public void accessorsShouldBeSharedPerType() {
+        assertThat(BeanAccessors.of(Person.class)).isSameAs(BeanAccessors.of(Person.class));
+        assertThat(BeanAccessors.of(Person.class)).isNotSameAs(BeanAccessors.of(ExtendedPerson.class));
+    }
+
+    @Test
+    public void accessorsShouldBeGenerated() throws Exception {
+        BeanAccessors<Person> accessors = BeanAccessors.of(Person.class);
+
+        Person person = accessors.newInstance();
+        accessors.getSetter("firstName").set(person, "foo");
+        accessors.getSetter("age").set(person, 30);
+        accessors.getSetter("married").set(person, true);
+
+        assertThat(accessors.getSetter("firstName").isGenerated()).isTrue();
+        assertThat(accessors.getSetter("age").getType()).isEqualTo(int.class);
+        assertThat(person.getFirstName()).isEqualTo("foo");
+        assertThat(person.getAge()).isEqualTo(30);
+        assertThat(person.isMarried()).isTrue();
+    }
+
+    @Test
+    public void inheritedSettersShouldBeGenerated() throws Exception {
+        BeanAccessors<ExtendedPerson> accessors = BeanAccessors.of(ExtendedPerson.class);
+
+        ExtendedPerson person = accessors.newInstance();
+        accessors.getSetter("lastName").set(person, "bar");
+
+        assertThat(accessors.getSetter("lastName").isGenerated()).isTrue();
+        assertThat(person.getLastName()).isEqualTo("bar");
+    }
+
+    @Test
+    public void readOnlyPropertiesShouldNotHaveASetter() {
+        assertThat(BeanAccessors.of(Person.class).getSetter("class")).isNull();
+        assertThat(BeanAccessors.of(Person.class).getSetter("nickName")).isNull();
+    }
+
+    @Test
+    public void reflectionShouldBeUsedWhenAccessorsCannotBeGenerated() throws Exception {
+        // java.lang types are not accessible to a private lookup from the unnamed module
+        BeanAccessors<StringBuilder> accessors = BeanAccessors.of(StringBuilder.class);
+
+        assertThat(accessors.newInstance()).isNotNull();
+        assertThat(accessors.getSetter("length").isGenerated()).isFalse();
+    }
+
+}
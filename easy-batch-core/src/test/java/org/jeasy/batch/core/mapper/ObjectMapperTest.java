@@ -146,7 +146,55 @@ public class ObjectMapperTest {
         assertThat(person.getAge()).isEqualTo(0);
     }
 
-}
+    @Test
+    public void whenABindingPlanIsCompiled_ThenValuesShouldBeBoundByIndex() throws Exception {
+
+        ObjectMapper<Person> mapper = new ObjectMapper<>(Person.class);
+        BindingPlan<Person> plan = mapper.compileBindingPlan("firstName", null, "age", "nickName", "married");
+
+        assertThat(plan.size()).isEqualTo(5);
+        assertThat(plan.isBound(0)).isTrue();
+        assertThat(plan.isBound(1)).isFalse(); // position not mapped
+        assertThat(plan.isBound(3)).isFalse(); // no setter
+        assertThat(plan.isBound(5)).isFalse(); // out of plan
+
+        Person person = plan.newInstance();
+        plan.bind(person, 0, "foo");
+        plan.bind(person, 1, "bar");
+        plan.bind(person, 2, "30");
+        plan.bind(person, 3, "baz");
+        plan.bind(person, 4, "");
+
+        assertThat(person.getFirstName()).isEqualTo("foo");
+        assertThat(person.getLastName()).isNull();
+        assertThat(person.getAge()).isEqualTo(30);
+        assertThat(person.isMarried()).isFalse();
+    }
+
+    @Test(expected = Exception.class)
+    public void whenABoundValueCannotBeConverted_ThenShouldThrowAnException() throws Exception {
+
+        ObjectMapper<Person> mapper = new ObjectMapper<>(Person.class);
+        BindingPlan<Person> plan = mapper.compileBindingPlan("age");
+
+        plan.bind(plan.newInstance(), 0, "thirty");
+    }
+
+    @Test
+    public void whenARangeOfCharactersIsBound_ThenItShouldBeConvertedInPlace() throws Exception {
+
+        ObjectMapper<Person> mapper = new ObjectMapper<>(Person.class);
+        BindingPlan<Person> plan = mapper.compileBindingPlan("firstName", "age", "marriageDate");
+        CharSequence record = new StringBuilder("foo|30|2010-12-12|");
 
+        Person person = plan.newInstance();
+        plan.bind(person, 0, record, 0, 3);
+        plan.bind(person, 1, record, 4, 6);
+        plan.bind(person, 2, record, 7, 17);
 
+        assertThat(person.getFirstName()).isEqualTo("foo");
+        assertThat(person.getAge()).isEqualTo(30);
+        assertThat(person.getMarriageDate()).isEqualTo(LocalDate.of(2010, 12, 12));
+    }
 
+}
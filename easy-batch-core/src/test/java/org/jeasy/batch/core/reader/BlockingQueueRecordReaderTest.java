@@ -25,6 +25,7 @@ package org.jeasy.batch.core.reader;
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.jeasy.batch.core.record.Record;
 import org.junit.Before;
@@ -61,4 +62,11 @@ public class BlockingQueueRecordReaderTest {
         assertThat(queue).isEmpty();
     }
 
+    @Test
+    public void testPollRecord() throws Exception {
+        assertThat(blockingQueueRecordReader.pollRecord(10, TimeUnit.MILLISECONDS)).isEqualTo(record);
+        assertThat(blockingQueueRecordReader.pollRecord(10, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(queue).isEmpty();
+    }
+
 }
@@ -0,0 +1,210 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.reader;
+
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Record;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PrefetchingRecordReaderTest {
+
+    @Test
+    public void recordsShouldBeReadInOrder() throws Exception {
+        List<Integer> dataSource = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        PrefetchingRecordReader<Integer> reader = new PrefetchingRecordReader<>(new IterableRecordReader<>(dataSource), 16);
+
+        reader.open();
+        List<Integer> payloads = new ArrayList<>();
+        List<Long> numbers = new ArrayList<>();
+        Record<Integer> record;
+        while ((record = reader.readRecord()) != null) {
+            payloads.add(record.getPayload());
+            numbers.add(record.getHeader().getNumber());
+        }
+        assertThat(reader.readRecord()).isNull();
+        reader.close();
+
+        assertThat(payloads).isEqualTo(dataSource);
+        assertThat(numbers).isEqualTo(LongStream.rangeClosed(1, 10000).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void whenDelegateFails_thenExceptionShouldBeThrownAfterPreviousRecords() throws Exception {
+        RecordReader<Integer> delegate = new IterableRecordReader<Integer>(List.of(1, 2)) {
+            private int reads;
+
+            @Override
+            public GenericRecord<Integer> readRecord() {
+                if (++reads == 3) {
+                    throw new IllegalStateException("boom");
+                }
+                return super.readRecord();
+            }
+        };
+        PrefetchingRecordReader<Integer> reader = new PrefetchingRecordReader<>(delegate);
+
+        reader.open();
+        assertThat(reader.readRecord().getPayload()).isEqualTo(1);
+        assertThat(reader.readRecord().getPayload()).isEqualTo(2);
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IllegalStateException.class);
+        reader.close();
+    }
+
+    @Test
+    public void whenClosedBeforeTheEnd_thenPrefetchingShouldStopAndDelegateShouldBeClosed() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        RecordReader<Integer> delegate = new IterableRecordReader<Integer>(() -> IntStream.iterate(0, i -> i + 1).iterator()) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        PrefetchingRecordReader<Integer> reader = new PrefetchingRecordReader<>(delegate, 4);
+
+        reader.open();
+        assertThat(reader.readRecord().getPayload()).isEqualTo(0);
+        reader.close();
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test(timeout = 10000)
+    public void whenDelegateIgnoresInterrupts_thenCloseShouldCloseItToUnblockThePrefetcher() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        RecordReader<Integer> delegate = new IterableRecordReader<Integer>(List.of(1)) {
+            @Override
+            public GenericRecord<Integer> readRecord() {
+                // simulate an I/O which can only be unblocked by closing the reader
+                while (closed.getCount() > 0) {
+                    try {
+                        closed.await();
+                    } catch (InterruptedException e) {
+                        // ignored
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        };
+        PrefetchingRecordReader<Integer> reader = new PrefetchingRecordReader<>(delegate);
+
+        reader.open();
+        reader.close();
+
+        assertThat(closed.getCount()).isZero();
+    }
+
+    @Test
+    public void whenNoRecordIsAvailableInTime_thenPollRecordShouldReturnNull() throws Exception {
+        CountDownLatch available = new CountDownLatch(1);
+        RecordReader<Integer> delegate = new IterableRecordReader<Integer>(List.of(1)) {
+            @Override
+            public GenericRecord<Integer> readRecord() {
+                try {
+                    available.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.readRecord();
+            }
+        };
+        PrefetchingRecordReader<Integer> reader = new PrefetchingRecordReader<>(delegate);
+
+        reader.open();
+        assertThat(reader.pollRecord(50, TimeUnit.MILLISECONDS)).isNull();
+        available.countDown();
+        assertThat(reader.pollRecord(5, TimeUnit.SECONDS).getPayload()).isEqualTo(1);
+        assertThat(reader.pollRecord(5, TimeUnit.SECONDS)).isNull();
+        assertThat(reader.readRecord()).isNull();
+        reader.close();
+    }
+
+    @Test
+    public void progressShouldBeReportedFromTheDelegate() throws Exception {
+        PrefetchingRecordReader<Integer> reader = new PrefetchingRecordReader<>(new CountingRecordReader(List.of(1, 2)));
+
+        reader.open();
+        assertThat(reader.getTotalWork()).isEqualTo(2);
+        while (reader.readRecord() != null) {
+            // read all records
+        }
+        assertThat(reader.getCompletedWork()).isEqualTo(2);
+        reader.close();
+
+        assertThat(new PrefetchingRecordReader<>(new IterableRecordReader<>(List.of(1))).getTotalWork()).isNegative();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenCapacityIsNotPositive_thenShouldThrowAnIllegalArgumentException() {
+        new PrefetchingRecordReader<>(new IterableRecordReader<>(List.of(1)), 0);
+    }
+
+    private static class CountingRecordReader extends IterableRecordReader<Integer> implements ProgressAwareRecordReader<Integer> {
+
+        private final int size;
+        private final AtomicInteger reads = new AtomicInteger();
+
+        CountingRecordReader(List<Integer> dataSource) {
+            super(dataSource);
+            this.size = dataSource.size();
+        }
+
+        @Override
+        public GenericRecord<Integer> readRecord() {
+            GenericRecord<Integer> record = super.readRecord();
+            if (record != null) {
+                reads.incrementAndGet();
+            }
+            return record;
+        }
+
+        @Override
+        public long getTotalWork() {
+            return size;
+        }
+
+        @Override
+        public long getCompletedWork() {
+            return reads.get();
+        }
+    }
+}
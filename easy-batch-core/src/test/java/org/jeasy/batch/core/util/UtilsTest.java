@@ -24,6 +24,7 @@
 package org.jeasy.batch.core.util;
 
 import org.jeasy.batch.core.beans.Person;
+import org.jeasy.batch.core.converter.IntegerTypeConverter;
 import org.jeasy.batch.core.converter.TypeConverter;
 import org.jeasy.batch.core.record.Record;
 import org.junit.Before;
@@ -113,4 +114,13 @@ public class UtilsTest {
         assertThat(secondGenericType).isEqualTo(String.class);
     }
 
+    @Test
+    public void testGettingGenericTypeFromTypeConverterSubInterface() throws Exception {
+        TypeConverter<String, Integer> typeConverter = new IntegerTypeConverter();
+        Class<?> firstGenericType = Utils.getGenericTypeNameFromTypeConverter(typeConverter, 0);
+        Class<?> secondGenericType = Utils.getGenericTypeNameFromTypeConverter(typeConverter, 1);
+        assertThat(firstGenericType).isEqualTo(String.class);
+        assertThat(secondGenericType).isEqualTo(Integer.class);
+    }
+
 }
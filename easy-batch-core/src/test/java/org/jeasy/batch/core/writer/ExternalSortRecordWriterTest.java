@@ -0,0 +1,299 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import org.jeasy.batch.core.job.JobReport;
+import org.jeasy.batch.core.job.JobStatus;
+import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.record.StringRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link ExternalSortRecordWriter}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ExternalSortRecordWriterTest {
+
+    private final Path directory = Paths.get("target/sort");
+
+    @Before
+    public void setUp() throws Exception {
+        Files.createDirectories(directory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void whenRecordsExceedTheMemoryBudget_thenRunsShouldBeSpilledAndMerged() throws Exception {
+        Random random = new Random(42);
+        List<String> payloads = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            payloads.add(Long.toString(random.nextLong(), 36));
+        }
+        ExternalSortRecordWriter<String> writer = newWriter(Comparator.naturalOrder(), 16 * 1024);
+
+        List<String> sorted = sort(writer, payloads);
+
+        assertThat(writer.getSpilledRuns()).isGreaterThan(10);
+        List<String> expected = new ArrayList<>(payloads);
+        expected.sort(Comparator.naturalOrder());
+        assertThat(sorted).isEqualTo(expected);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(0); // run files are deleted
+        }
+    }
+
+    @Test
+    public void whenRecordsFitInMemory_thenNothingShouldBeSpilled() throws Exception {
+        ExternalSortRecordWriter<String> writer = newWriter(Comparator.naturalOrder(), 1024 * 1024);
+
+        List<String> sorted = sort(writer, List.of("c", "a", "b"));
+
+        assertThat(writer.getSpilledRuns()).isEqualTo(0);
+        assertThat(sorted).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void sortShouldBeStable() throws Exception {
+        List<String> payloads = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            payloads.add((char) ('a' + i % 3) + "-" + i);
+        }
+        ExternalSortRecordWriter<String> writer = newWriter(Comparator.comparing(payload -> payload.charAt(0)), 1024);
+
+        List<String> sorted = sort(writer, payloads);
+
+        List<String> expected = new ArrayList<>(payloads);
+        expected.sort(Comparator.comparing(payload -> payload.charAt(0)));
+        assertThat(sorted).isEqualTo(expected);
+    }
+
+    @Test
+    public void sortedRecordsShouldBeNumberedInSortOrder() throws Exception {
+        ExternalSortRecordWriter<String> writer = newWriter(Comparator.naturalOrder(), 1024);
+        writer.open();
+        writer.writeRecords(batch(List.of("b", "a")));
+        writer.close();
+
+        RecordReader<String> reader = writer.getSortedRecordReader();
+        reader.open();
+        Record<String> record = reader.readRecord();
+        assertThat(record.getHeader().getNumber()).isEqualTo(1);
+        assertThat(record.getPayload()).isEqualTo("a");
+        record = reader.readRecord();
+        assertThat(record.getHeader().getNumber()).isEqualTo(2);
+        assertThat(record.getPayload()).isEqualTo("b");
+        assertThat(reader.readRecord()).isNull();
+        reader.close();
+    }
+
+    @Test
+    public void whenWriterIsNotClosed_thenSortedRecordsShouldNotBeReadable() throws Exception {
+        ExternalSortRecordWriter<String> writer = newWriter(Comparator.naturalOrder(), 1024);
+        writer.open();
+
+        assertThatThrownBy(writer::getSortedRecordReader).isInstanceOf(IllegalStateException.class);
+        writer.close();
+    }
+
+    @Test
+    public void whenRunsExceedTheMaxMergeFanIn_thenTheyShouldBeMergedInIntermediatePasses() throws Exception {
+        List<String> payloads = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            payloads.add((char) ('a' + i % 3) + "-" + i);
+        }
+        ExternalSortRecordWriter<String> writer = newWriter(Comparator.comparing(payload -> payload.charAt(0)), 1024);
+        writer.setMaxMergeFanIn(3);
+        writer.open();
+        writer.writeRecords(batch(payloads));
+        writer.close();
+
+        assertThat(writer.getSpilledRuns()).isGreaterThan(9);
+        assertThat(countRunFiles()).isLessThanOrEqualTo(3);
+        List<String> expected = new ArrayList<>(payloads);
+        expected.sort(Comparator.comparing(payload -> payload.charAt(0)));
+        assertThat(read(writer)).isEqualTo(expected); // still stable
+        assertThat(countRunFiles()).isEqualTo(0);
+    }
+
+    @Test
+    public void whenARunFileIsTruncated_thenReadingShouldFail() throws Exception {
+        ExternalSortRecordWriter<String> writer = newWriter(Comparator.naturalOrder(), 1024);
+        writer.open();
+        writer.writeRecords(batch(List.of("foo", "bar", "baz")));
+        for (int i = 0; i < 100; i++) {
+            writer.writeRecords(batch(List.of("record-" + i)));
+        }
+        writer.close();
+        Path run;
+        try (Stream<Path> files = Files.list(directory)) {
+            run = files.findFirst().orElseThrow();
+        }
+        byte[] content = Files.readAllBytes(run);
+        Files.write(run, Arrays.copyOf(content, content.length - 2));
+
+        RecordReader<String> reader = writer.getSortedRecordReader();
+        assertThatThrownBy(() -> {
+            reader.open();
+            while (reader.readRecord() != null) {
+                // read all records
+            }
+        }).isInstanceOf(IOException.class).hasMessageContaining("truncated");
+        reader.close();
+    }
+
+    @Test
+    public void whenWriterIsReopened_thenPreviousRunsShouldBeDeleted() throws Exception {
+        ExternalSortRecordWriter<String> writer = newWriter(Comparator.naturalOrder(), 64);
+        writer.open();
+        writer.writeRecords(batch(List.of("a", "b", "c", "d")));
+        assertThat(countRunFiles()).isGreaterThan(0);
+
+        writer.open();
+
+        assertThat(countRunFiles()).isEqualTo(0);
+        writer.close();
+    }
+
+    @Test
+    public void whenJobDidNotComplete_thenRunsShouldBeDeleted() throws Exception {
+        ExternalSortRecordWriter<String> writer = newWriter(Comparator.naturalOrder(), 64);
+        writer.open();
+        writer.writeRecords(batch(List.of("a", "b", "c", "d")));
+        writer.close();
+        JobReport jobReport = new JobReport();
+        jobReport.setStatus(JobStatus.FAILED);
+
+        writer.afterJob(jobReport);
+
+        assertThat(countRunFiles()).isEqualTo(0);
+    }
+
+    @Test
+    public void whenWritingABatchFails_thenNoneOfItsRecordsShouldBeKept() throws Exception {
+        ExternalSortRecordWriter.PayloadSerializer<String> strings = ExternalSortRecordWriter.PayloadSerializer.strings();
+        ExternalSortRecordWriter.PayloadSerializer<String> failingSerializer = new ExternalSortRecordWriter.PayloadSerializer<String>() {
+            @Override
+            public void write(String payload, DataOutput output) throws IOException {
+                if (payload.equals("faulty")) {
+                    throw new IOException("Unable to serialize " + payload);
+                }
+                strings.write(payload, output);
+            }
+
+            @Override
+            public String read(DataInput input) throws IOException {
+                return strings.read(input);
+            }
+        };
+        ExternalSortRecordWriter<String> writer = new ExternalSortRecordWriter<>(Comparator.naturalOrder(), failingSerializer, 64);
+        writer.setTemporaryDirectory(directory);
+        writer.open();
+        writer.writeRecords(batch(List.of("d", "c")));
+        long runFiles = countRunFiles();
+
+        assertThatThrownBy(() -> writer.writeRecords(batch(List.of("b", "a", "faulty")))).isInstanceOf(IOException.class);
+        assertThat(countRunFiles()).isEqualTo(runFiles);
+        // batch scanning writes records of the failed batch again, one by one
+        writer.writeRecords(batch(List.of("b")));
+        writer.writeRecords(batch(List.of("a")));
+        assertThatThrownBy(() -> writer.writeRecords(batch(List.of("faulty")))).isInstanceOf(IOException.class);
+        writer.close();
+
+        assertThat(read(writer)).containsExactly("a", "b", "c", "d");
+    }
+
+    private long countRunFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private ExternalSortRecordWriter<String> newWriter(Comparator<String> comparator, long memoryBudget) {
+        ExternalSortRecordWriter<String> writer = new ExternalSortRecordWriter<>(comparator,
+                ExternalSortRecordWriter.PayloadSerializer.strings(), memoryBudget);
+        writer.setTemporaryDirectory(directory);
+        return writer;
+    }
+
+    private static List<String> sort(ExternalSortRecordWriter<String> writer, List<String> payloads) throws Exception {
+        writer.open();
+        for (int i = 0; i < payloads.size(); i += 100) {
+            writer.writeRecords(batch(payloads.subList(i, Math.min(i + 100, payloads.size()))));
+        }
+        writer.close();
+        return read(writer);
+    }
+
+    private static List<String> read(ExternalSortRecordWriter<String> writer) throws Exception {
+        List<String> sorted = new ArrayList<>();
+        RecordReader<String> reader = writer.getSortedRecordReader();
+        reader.open();
+        Record<String> record;
+        while ((record = reader.readRecord()) != null) {
+            sorted.add(record.getPayload());
+        }
+        reader.close();
+        return sorted;
+    }
+
+    private static Batch<String> batch(List<String> payloads) {
+        Batch<String> batch = new Batch<>();
+        for (String payload : payloads) {
+            batch.addRecord(new StringRecord(new Header(1L, "test", LocalDateTime.now()), payload));
+        }
+        return batch;
+    }
+}
@@ -34,9 +34,13 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.jeasy.batch.core.util.Utils.LINE_SEPARATOR;
@@ -50,6 +54,7 @@ import static org.jeasy.batch.core.util.Utils.LINE_SEPARATOR;
 public class FileRecordWriterTest {
 
     private final Path path = Paths.get("target/test.txt");
+    private final Path otherPath = Paths.get("target/test-other.txt");
 
     @Mock
     private Header header;
@@ -74,9 +79,153 @@ public class FileRecordWriterTest {
         assertThat(path).hasContent("foo" + LINE_SEPARATOR + "bar" + LINE_SEPARATOR);
     }
 
+    @Test
+    public void testHeaderAndFooterWriting() throws Exception {
+        FileRecordWriter fileRecordWriter = new FileRecordWriter(otherPath);
+        fileRecordWriter.setHeaderCallback(writer -> writer.write("header"));
+        fileRecordWriter.setFooterCallback(writer -> writer.write("footer"));
+        fileRecordWriter.open();
+        fileRecordWriter.writeRecords(new Batch<>(record1, record2));
+        fileRecordWriter.close();
+
+        assertThat(otherPath).hasContent("header" + LINE_SEPARATOR + "foo" + LINE_SEPARATOR + "bar" + LINE_SEPARATOR + "footer" + LINE_SEPARATOR);
+    }
+
+    @Test
+    public void whenWriterIsClosedTwice_thenFooterShouldBeWrittenOnce() throws Exception {
+        FileRecordWriter fileRecordWriter = new FileRecordWriter(otherPath);
+        fileRecordWriter.setFooterCallback(writer -> writer.write("footer"));
+        fileRecordWriter.open();
+        fileRecordWriter.writeRecords(new Batch<>(record1));
+        fileRecordWriter.close();
+        fileRecordWriter.close();
+
+        assertThat(otherPath).hasContent("foo" + LINE_SEPARATOR + "footer" + LINE_SEPARATOR);
+    }
+
+    @Test
+    public void whenFlushPolicyIsBatch_thenRecordsShouldBeWrittenAtTheEndOfEachBatch() throws Exception {
+        writer.writeRecords(new Batch<>(record1));
+
+        assertThat(path).hasContent("foo" + LINE_SEPARATOR);
+    }
+
+    @Test
+    public void whenFlushPolicyIsClose_thenRecordsShouldBeWrittenWhenTheBufferIsFullOrOnClose() throws Exception {
+        FileRecordWriter fileRecordWriter = new FileRecordWriter(otherPath);
+        fileRecordWriter.setFlushPolicy(FileRecordWriter.FlushPolicy.CLOSE);
+        fileRecordWriter.setLineSeparator("\n");
+        fileRecordWriter.setBufferSize(6);
+        fileRecordWriter.open();
+
+        fileRecordWriter.writeRecords(new Batch<>(record1));
+        assertThat(Files.size(otherPath)).isEqualTo(0);
+        fileRecordWriter.writeRecords(new Batch<>(record2));
+        assertThat(Files.size(otherPath)).isEqualTo(6);
+        fileRecordWriter.writeRecords(new Batch<>(record1));
+        assertThat(Files.size(otherPath)).isEqualTo(6);
+
+        fileRecordWriter.close();
+        assertThat(otherPath).hasContent("foo\nbar\nfoo\n");
+    }
+
+    @Test
+    public void whenFlushPolicyIsBytes_thenRecordsShouldBeWrittenWhenTheThresholdIsReached() throws Exception {
+        FileRecordWriter fileRecordWriter = new FileRecordWriter(otherPath);
+        fileRecordWriter.setFlushPolicy(FileRecordWriter.FlushPolicy.BYTES);
+        fileRecordWriter.setLineSeparator("\n");
+        fileRecordWriter.setFlushThreshold(8);
+        fileRecordWriter.setForce(true);
+        fileRecordWriter.open();
+
+        fileRecordWriter.writeRecords(new Batch<>(record1));
+        assertThat(Files.size(otherPath)).isEqualTo(0);
+        fileRecordWriter.writeRecords(new Batch<>(record2, record1));
+        assertThat(Files.size(otherPath)).isEqualTo(8);
+
+        fileRecordWriter.close();
+        assertThat(otherPath).hasContent("foo\nbar\nfoo\n");
+    }
+
+    @Test
+    public void whenRecordsAreLargerThanTheBuffer_thenTheyShouldBeWrittenEntirely() throws Exception {
+        FileRecordWriter fileRecordWriter = new FileRecordWriter(otherPath);
+        fileRecordWriter.setCharset(StandardCharsets.UTF_8);
+        fileRecordWriter.setBufferSize(4);
+        fileRecordWriter.open();
+        fileRecordWriter.writeRecords(new Batch<>(new StringRecord(header, "ééé€€€ abc")));
+        fileRecordWriter.close();
+
+        assertThat(otherPath).usingCharset(StandardCharsets.UTF_8).hasContent("ééé€€€ abc" + LINE_SEPARATOR);
+    }
+
+    @Test
+    public void whenAppendIsTrue_thenRecordsShouldBeAppended() throws Exception {
+        Files.write(otherPath, ("foo" + LINE_SEPARATOR).getBytes());
+        FileRecordWriter fileRecordWriter = new FileRecordWriter(otherPath);
+        fileRecordWriter.setAppend(true);
+        fileRecordWriter.open();
+        fileRecordWriter.writeRecords(new Batch<>(record2));
+        fileRecordWriter.close();
+
+        assertThat(otherPath).hasContent("foo" + LINE_SEPARATOR + "bar" + LINE_SEPARATOR);
+    }
+
+    @Test
+    public void whenCompressionIsGzip_thenOutputShouldBeCompressed() throws Exception {
+        FileRecordWriter fileRecordWriter = new FileRecordWriter(otherPath);
+        fileRecordWriter.setCompression(FileRecordWriter.Compression.GZIP);
+        fileRecordWriter.setHeaderCallback(writer -> writer.write("header"));
+        fileRecordWriter.open();
+        fileRecordWriter.writeRecords(new Batch<>(record1, record2));
+        fileRecordWriter.close();
+
+        assertThat(decompress(otherPath)).isEqualTo("header" + LINE_SEPARATOR + "foo" + LINE_SEPARATOR + "bar" + LINE_SEPARATOR);
+    }
+
+    @Test
+    public void whenCompressionIsDoneOnSeveralThreads_thenOutputShouldBeAValidGzipFile() throws Exception {
+        FileRecordWriter fileRecordWriter = new FileRecordWriter(otherPath);
+        fileRecordWriter.setCompression(FileRecordWriter.Compression.GZIP);
+        fileRecordWriter.setCompressionThreads(3);
+        fileRecordWriter.setLineSeparator("\n");
+        fileRecordWriter.open();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++) { // several compression blocks
+            Batch<String> batch = new Batch<>();
+            for (int j = 0; j < 10000; j++) {
+                String payload = "record " + i + "-" + j;
+                batch.addRecord(new StringRecord(header, payload));
+                expected.append(payload).append('\n');
+            }
+            fileRecordWriter.writeRecords(batch);
+        }
+        fileRecordWriter.close();
+
+        assertThat(decompress(otherPath)).isEqualTo(expected.toString());
+    }
+
+    @Test
+    public void whenNothingIsWrittenWithParallelCompression_thenOutputShouldBeAnEmptyGzipFile() throws Exception {
+        FileRecordWriter fileRecordWriter = new FileRecordWriter(otherPath);
+        fileRecordWriter.setCompression(FileRecordWriter.Compression.GZIP);
+        fileRecordWriter.setCompressionThreads(2);
+        fileRecordWriter.open();
+        fileRecordWriter.close();
+
+        assertThat(decompress(otherPath)).isEmpty();
+    }
+
+    private static String decompress(Path path) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(path))) {
+            return new String(inputStream.readAllBytes());
+        }
+    }
+
     @After
     public void tearDown() throws Exception {
         writer.close();
         Files.delete(path);
+        Files.deleteIfExists(otherPath);
     }
 }
@@ -0,0 +1,184 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.core.writer;
+
+import org.jeasy.batch.core.record.Batch;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.StringRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link RollingFileRecordWriter}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class RollingFileRecordWriterTest {
+
+    private final Path directory = Paths.get("target/rolling");
+
+    private RollingFileRecordWriter writer;
+
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory();
+        Files.createDirectories(directory);
+        writer = new RollingFileRecordWriter(directory.resolve("out.csv"));
+        writer.setLineSeparator("\n");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteDirectory();
+    }
+
+    @Test
+    public void whenMaxRecordsPerFileIsReached_thenWriterShouldRollToANewFile() throws Exception {
+        writer.setMaxRecordsPerFile(2);
+        writer.setHeaderCallback(w -> w.write("header"));
+        writer.setFooterCallback(w -> w.write("footer"));
+        writer.open();
+        writer.writeRecords(batch("a", "b", "c"));
+        writer.writeRecords(batch("d", "e"));
+        writer.close();
+
+        assertThat(directory.resolve("out-1.csv")).hasContent("header\na\nb\nfooter\n");
+        assertThat(directory.resolve("out-2.csv")).hasContent("header\nc\nd\nfooter\n");
+        assertThat(directory.resolve("out-3.csv")).hasContent("header\ne\nfooter\n");
+        assertThat(directory.resolve("out-4.csv")).doesNotExist();
+    }
+
+    @Test
+    public void whenMaxBytesPerFileIsReached_thenWriterShouldRollToANewFile() throws Exception {
+        writer.setMaxBytesPerFile(5);
+        writer.open();
+        writer.writeRecords(batch("aa", "bb", "cc", "dd"));
+        writer.close();
+
+        assertThat(directory.resolve("out-1.csv")).hasContent("aa\nbb\n");
+        assertThat(directory.resolve("out-2.csv")).hasContent("cc\ndd\n");
+    }
+
+    @Test
+    public void whenRecordsArePartitioned_thenEachPartitionShouldBeWrittenToItsOwnFiles() throws Exception {
+        writer.setPartitionKeyExtractor(record -> record.getPayload().substring(0, 2));
+        writer.setMaxRecordsPerFile(2);
+        writer.setMaxOpenFiles(1);
+        writer.setFooterCallback(w -> w.write("end"));
+        writer.open();
+        writer.writeRecords(batch("EU1", "US1", "EU2", "EU3"));
+        writer.writeRecords(batch("US2", "US3", "AS1"));
+        writer.close();
+
+        assertThat(directory.resolve("out-EU-1.csv")).hasContent("EU1\nEU2\nend\n");
+        assertThat(directory.resolve("out-EU-2.csv")).hasContent("EU3\nend\n");
+        assertThat(directory.resolve("out-US-1.csv")).hasContent("US1\nUS2\nend\n");
+        assertThat(directory.resolve("out-US-2.csv")).hasContent("US3\nend\n");
+        assertThat(directory.resolve("out-AS-1.csv")).hasContent("AS1\nend\n");
+    }
+
+    @Test
+    public void whenParallelWritingIsEnabled_thenRecordsOfEachPartitionShouldBeWrittenInOrder() throws Exception {
+        writer.setPartitionKeyExtractor(record -> String.valueOf(Integer.parseInt(record.getPayload()) % 5));
+        writer.setParallelWriting(true);
+        writer.setMaxOpenFiles(2);
+        writer.open();
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(String.valueOf(i));
+        }
+        writer.writeRecords(batch(records.toArray(new String[0])));
+        writer.close();
+
+        for (int partition = 0; partition < 5; partition++) {
+            StringBuilder expected = new StringBuilder();
+            for (int i = partition; i < 100; i += 5) {
+                expected.append(i).append('\n');
+            }
+            assertThat(directory.resolve("out-" + partition + "-1.csv")).hasContent(expected.toString());
+        }
+    }
+
+    @Test
+    public void whenPartitionKeyContainsPathSeparators_thenItShouldBeRejected() throws Exception {
+        writer.setPartitionKeyExtractor(record -> record.getPayload());
+        writer.open();
+
+        assertThatThrownBy(() -> writer.writeRecords(batch("x/../../escaped")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> writer.writeRecords(batch("sub/dir")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> writer.writeRecords(batch("sub\\dir")))
+                .isInstanceOf(IllegalArgumentException.class);
+        writer.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    public void whenFileNameStrategyIsSet_thenItShouldBeUsed() throws Exception {
+        writer = new RollingFileRecordWriter((key, index) -> directory.resolve("part-" + index + ".txt"));
+        writer.setLineSeparator("\n");
+        writer.setMaxRecordsPerFile(1);
+        writer.open();
+        writer.writeRecords(batch("a", "b"));
+        writer.close();
+
+        assertThat(directory.resolve("part-1.txt")).hasContent("a\n");
+        assertThat(directory.resolve("part-2.txt")).hasContent("b\n");
+    }
+
+    private static Batch<String> batch(String... payloads) {
+        Batch<String> batch = new Batch<>();
+        for (String payload : payloads) {
+            batch.addRecord(new StringRecord(new Header(1L, "test", LocalDateTime.now()), payload));
+        }
+        return batch;
+    }
+
+    private void deleteDirectory() throws Exception {
+        if (Files.exists(directory)) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+}
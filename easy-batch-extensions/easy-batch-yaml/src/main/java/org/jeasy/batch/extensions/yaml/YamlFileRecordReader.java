@@ -26,8 +26,7 @@ package org.jeasy.batch.extensions.yaml;
 import org.jeasy.batch.core.reader.AbstractFileRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
@@ -81,8 +80,8 @@ public class YamlFileRecordReader extends AbstractFileRecordReader<String> {
 
         private Path path;
 
-        Reader(Path path, Charset charset) throws FileNotFoundException {
-            super(new FileInputStream(path.toFile()), charset);
+        Reader(Path path, Charset charset) throws IOException {
+            super(openInputStream(path), charset);
             this.path = path;
         }
 
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.converter.TypeConverter;
+import org.jeasy.batch.core.mapper.AbstractRecordMapper;
+import org.jeasy.batch.core.mapper.BindingPlan;
+import org.jeasy.batch.core.record.Record;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base class of flat file record mappers binding fields to objects with a {@link BindingPlan}.
+ * The plan is compiled lazily on the first record and compiled again when a type converter
+ * is registered.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+abstract class AbstractFlatFileRecordMapper<P> extends AbstractRecordMapper<P> {
+
+    private volatile BindingPlan<P> bindingPlan;
+
+    AbstractFlatFileRecordMapper(Class<P> recordClass) {
+        super(recordClass);
+    }
+
+    @Override
+    public void registerTypeConverter(final TypeConverter<String, ?> typeConverter) {
+        super.registerTypeConverter(typeConverter);
+        bindingPlan = null; // type converters are resolved when the plan is compiled
+    }
+
+    /**
+     * Compile the binding plan of records. Called once, when the first record is mapped.
+     *
+     * @return the binding plan of records
+     */
+    abstract BindingPlan<P> compileBindingPlan();
+
+    BindingPlan<P> getBindingPlan() {
+        BindingPlan<P> plan = bindingPlan;
+        if (plan == null) {
+            plan = compileBindingPlan();
+            bindingPlan = plan;
+        }
+        return plan;
+    }
+
+    /*
+     * Fields returned by an overridden parseRecord method are mapped by name.
+     * Names are looked up by field index, or by position in the list of fields otherwise.
+     */
+    static Map<String, String> toMap(List<Field> fields, String[] fieldNames, boolean namedByIndex) {
+        Map<String, String> fieldsContents = new HashMap<>();
+        int position = 0;
+        for (Field field : fields) {
+            String fieldName = namedByIndex ? fieldNames[field.getIndex()] : fieldNames[position++];
+            fieldsContents.put(fieldName, field.getRawContent());
+        }
+        return fieldsContents;
+    }
+
+    static boolean overridesParseRecord(Class<?> type, Class<?> declaringClass) {
+        for (Class<?> current = type; current != declaringClass; current = current.getSuperclass()) {
+            try {
+                current.getDeclaredMethod("parseRecord", Record.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden at this level
+            }
+        }
+        return false;
+    }
+
+}
@@ -23,7 +23,7 @@
  */
 package org.jeasy.batch.flatfile;
 
-import org.jeasy.batch.core.mapper.AbstractRecordMapper;
+import org.jeasy.batch.core.mapper.BindingPlan;
 import org.jeasy.batch.core.mapper.ObjectMapper;
 import org.jeasy.batch.core.mapper.RecordMapper;
 import org.jeasy.batch.core.record.GenericRecord;
@@ -31,21 +31,28 @@ import org.jeasy.batch.core.record.Record;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 /**
- * DSV to Object mapper implementation. This implementation does not support
- * advanced features like detecting delimiters inside quotes or deep mapping,
- * please consider using another Mapper like {@code ApacheCommonCsvRecordMapper},
+ * DSV to Object mapper implementation. Records are parsed with a {@link DelimitedTokenizer},
+ * which supports delimiters and new lines inside qualified fields as well as escaped
+ * (doubled) qualifiers. This implementation does not support advanced features like
+ * deep mapping, please consider using another Mapper like {@code ApacheCommonCsvRecordMapper},
  * {@code OpenCsvRecordMapper} or {@code UnivocityCsvRecordMapper}.
  *
+ * <p><strong>The delimiter is matched literally and is not a regular expression.</strong>
+ * Delimiters escaped for {@link String#split(String)} (like {@code "\\|"}) must be passed
+ * unescaped (like {@code "|"}), and regular expressions (like {@code "\\s+"}) are not supported.</p>
+ *
+ * <p>New lines inside qualified fields are only parsed if the record reader hands over
+ * records spanning several lines. This is not the case of {@code FlatFileRecordReader},
+ * which reads one record per line.</p>
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
-public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements RecordMapper<String, P> {
+public class DelimitedRecordMapper<P> extends AbstractFlatFileRecordMapper<P> implements RecordMapper<String, P> {
 
     public static final String DEFAULT_DELIMITER = ",";
     public static final String DEFAULT_QUALIFIER = "";
@@ -58,6 +65,8 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
     private List<Integer> fieldsPositions;
     private String[] fieldNames;
     private boolean fieldNamesRetrievedFromHeader;
+    private ThreadLocal<DelimitedTokenizer> tokenizer = newTokenizer();
+    private final boolean parseRecordOverridden = overridesParseRecord(getClass(), DelimitedRecordMapper.class);
 
     /**
      * Create a new {@link DelimitedRecordMapper}.
@@ -137,38 +146,37 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
 
     @Override
     public Record<P> processRecord(final Record<String> record) throws Exception {
-        List<Field> fields = parseRecord(record);
-        Map<String, String> fieldsContents = new HashMap<>();
-        int index = 0;
-        for (Field field : fields) {
-            String fieldName;
-            if (fieldNamesRetrievedFromHeader) {
-                fieldName = fieldNames[field.getIndex()];
-            } else {
-                fieldName = fieldNames[index++];
+        if (parseRecordOverridden) {
+            return new GenericRecord<>(record.getHeader(), objectMapper.mapObject(toMap(parseRecord(record), fieldNames, fieldNamesRetrievedFromHeader)));
+        }
+        DelimitedTokenizer tokenizer = tokenize(record);
+        BindingPlan<P> plan = getBindingPlan();
+        P payload = plan.newInstance();
+        CharSequence tokens = tokenizer.getTokens();
+        int tokenCount = tokenizer.getTokenCount();
+        for (int index = 0; index < tokenCount; index++) {
+            if (plan.isBound(index)) {
+                plan.bind(payload, index, tokens, tokenizer.getTokenStart(index), tokenizer.getTokenEnd(index));
             }
-            String rawContent = field.getRawContent();
-            fieldsContents.put(fieldName, rawContent);
         }
-        return new GenericRecord<>(record.getHeader(), objectMapper.mapObject(fieldsContents));
+        return new GenericRecord<>(record.getHeader(), payload);
     }
 
+    /**
+     * Parse the record into fields. Records are bound to the target object directly
+     * from the tokenizer, without going through this method, unless it is overridden
+     * by a subclass. In that case, fields it returns are mapped by name (slower).
+     *
+     * @param record to parse
+     * @return fields of the record
+     * @throws Exception if the record can not be parsed
+     */
     protected List<Field> parseRecord(final Record<String> record) throws Exception {
-
-        String payload = record.getPayload();
-        String[] tokens = payload.split(delimiter, -1);
-
-        setRecordExpectedLength(tokens);
-        setFieldNames(tokens);
-        checkRecordLength(tokens);
-        checkQualifier(tokens);
-
-        List<Field> fields = new ArrayList<>();
-        int index = 0;
-        for (String token : tokens) {
-            token = trimWhitespaces(token);
-            token = removeQualifier(token);
-            fields.add(new Field(index++, token));
+        DelimitedTokenizer tokenizer = tokenize(record);
+        int tokenCount = tokenizer.getTokenCount();
+        List<Field> fields = new ArrayList<>(tokenCount);
+        for (int index = 0; index < tokenCount; index++) {
+            fields.add(new Field(index, tokenizer.getToken(index)));
         }
         if (fieldsPositions != null) {
             filterFields(fields);
@@ -176,41 +184,57 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
         return fields;
     }
 
-    private void checkQualifier(String[] tokens) throws Exception {
-        if (qualifier.length() > 0) {
-            for (String token : tokens) {
-                if (!token.startsWith(qualifier) || !token.endsWith(qualifier)) {
-                    throw new Exception("field [" + token + "] is not enclosed as expected with '" + qualifier + "'");
-                }
+    private DelimitedTokenizer tokenize(final Record<String> record) throws Exception {
+        DelimitedTokenizer tokenizer = this.tokenizer.get();
+        int tokenCount = tokenizer.tokenize(record.getPayload());
+
+        setRecordExpectedLength(tokenCount);
+        setFieldNames(tokenizer);
+        checkRecordLength(tokenCount);
+        return tokenizer;
+    }
+
+    @Override
+    BindingPlan<P> compileBindingPlan() {
+        // field names and expected length are known at this point (possibly from the header record)
+        String[] columnNames = new String[recordExpectedLength];
+        int index = 0;
+        for (int column = 0; column < columnNames.length; column++) {
+            if (fieldsPositions != null && !fieldsPositions.contains(column)) {
+                continue;
+            }
+            if (fieldNamesRetrievedFromHeader) {
+                columnNames[column] = fieldNames[column];
+            } else if (index < fieldNames.length) {
+                columnNames[column] = fieldNames[index++];
             }
         }
+        return objectMapper.compileBindingPlan(columnNames);
     }
 
-    private void checkRecordLength(String[] tokens) throws Exception {
-        if (tokens.length != recordExpectedLength) {
-            throw new Exception("record length (" + tokens.length + " fields) not equal to expected length of "
+    private void checkRecordLength(int tokenCount) throws Exception {
+        if (tokenCount != recordExpectedLength) {
+            throw new Exception("record length (" + tokenCount + " fields) not equal to expected length of "
                     + recordExpectedLength + " fields");
         }
     }
 
-    private void setFieldNames(String[] tokens) {
+    private void setFieldNames(DelimitedTokenizer tokenizer) {
         // convention over configuration : if field names are not specified, retrieve them from the header record (done only once)
         if (fieldNames == null) {
             fieldNamesRetrievedFromHeader = true;
-            fieldNames = new String[tokens.length];
-            for (int i = 0; i < tokens.length; i++) {
-                String token = tokens[i];
-                token = trimWhitespaces(token);
-                token = removeQualifier(token);
-                fieldNames[i] = token;
+            String[] names = new String[tokenizer.getTokenCount()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = tokenizer.getToken(i);
             }
+            fieldNames = names;
         }
     }
 
-    private void setRecordExpectedLength(String[] tokens) {
+    private void setRecordExpectedLength(int tokenCount) {
         // convention over configuration : if expected record size is not specified, calculate it from the header record
         if (this.recordExpectedLength == 0) {
-            this.recordExpectedLength = tokens.length;
+            this.recordExpectedLength = tokenCount;
         }
     }
 
@@ -224,19 +248,9 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
         }
     }
 
-    private String trimWhitespaces(final String token) {
-        if (trimWhitespaces) {
-            return token.trim();
-        }
-        return token;
-    }
-
-    private String removeQualifier(final String token) {
-        int qualifierLength = qualifier.length();
-        if (qualifierLength > 0) {
-            return token.substring(qualifierLength, token.length() - qualifierLength);
-        }
-        return token;
+    private ThreadLocal<DelimitedTokenizer> newTokenizer() {
+        // tokenizers reuse their buffers, hence one tokenizer per thread since records may be mapped in parallel
+        return ThreadLocal.withInitial(() -> new DelimitedTokenizer(delimiter, qualifier, trimWhitespaces));
     }
 
     /*
@@ -244,17 +258,14 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
      */
 
     /**
-     * Set the delimiter to use.
+     * Set the delimiter to use. The delimiter is matched literally,
+     * it is not a regular expression.
      *
      * @param delimiter the delimiter to use
      */
     public void setDelimiter(final String delimiter) {
-        String prefix = "";
-        //escape the "pipe" character used in regular expression of String.split method
-        if ("|".equals(delimiter)) {
-            prefix = "\\";
-        }
-        this.delimiter = prefix + delimiter;
+        this.delimiter = delimiter;
+        this.tokenizer = newTokenizer();
     }
 
     /**
@@ -264,6 +275,7 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
      */
     public void setTrimWhitespaces(final boolean trimWhitespaces) {
         this.trimWhitespaces = trimWhitespaces;
+        this.tokenizer = newTokenizer();
     }
 
     /**
@@ -273,6 +285,7 @@ public class DelimitedRecordMapper<P> extends AbstractRecordMapper<P> implements
      */
     public void setQualifier(final String qualifier) {
         this.qualifier = qualifier;
+        this.tokenizer = newTokenizer();
     }
 
 }
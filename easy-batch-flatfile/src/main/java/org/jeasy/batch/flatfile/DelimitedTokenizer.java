@@ -0,0 +1,285 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * A single-pass tokenizer of delimited records (like CSV), able to parse
+ * <a href="https://tools.ietf.org/html/rfc4180">RFC 4180</a> records:
+ * <ul>
+ *     <li>delimiters can be of any length and are matched literally (no regular expression is involved)</li>
+ *     <li>when a qualifier is set, all fields must be qualified, and delimiters or new lines inside qualified fields are part of the field
+ *     (new lines are only seen if the tokenized characters span several lines, which is not the case of records
+ *     read by {@code FlatFileRecordReader})</li>
+ *     <li>a doubled qualifier inside a qualified field is an escaped qualifier</li>
+ *     <li>white spaces around fields (and around qualifiers) are optionally trimmed</li>
+ * </ul>
+ *
+ * Tokens are copied in an internal buffer which is reused across records, so
+ * tokenizing a record does not allocate memory once the buffer is large enough.
+ * Tokens of the last tokenized record are available until the next call to
+ * {@code tokenize}. For this reason, this class is <strong>not</strong> thread-safe.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class DelimitedTokenizer {
+
+    private final String delimiter;
+    private final String qualifier;
+    private final boolean trimWhitespaces;
+
+    private char[] buffer = new char[256];
+    private CharBuffer bufferView = CharBuffer.wrap(buffer);
+    private int bufferLength;
+    private int[] tokenStarts = new int[16];
+    private int[] tokenEnds = new int[16];
+    private int tokenCount;
+
+    /**
+     * Create a new {@link DelimitedTokenizer}.
+     *
+     * @param delimiter of fields
+     * @param qualifier of fields, empty if fields are not qualified
+     * @param trimWhitespaces true if white spaces around fields should be trimmed
+     */
+    public DelimitedTokenizer(final String delimiter, final String qualifier, final boolean trimWhitespaces) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("delimiter must not be empty");
+        }
+        this.delimiter = delimiter;
+        this.qualifier = qualifier == null ? "" : qualifier;
+        this.trimWhitespaces = trimWhitespaces;
+    }
+
+    /**
+     * Tokenize the given characters.
+     *
+     * @param chars to tokenize
+     * @param offset of the first character to tokenize
+     * @param length of characters to tokenize
+     * @return the number of tokens
+     * @throws IllegalArgumentException if a field is not qualified as expected
+     */
+    public int tokenize(final char[] chars, final int offset, final int length) {
+        return tokenize(CharBuffer.wrap(chars, offset, length));
+    }
+
+    /**
+     * Tokenize the given record.
+     *
+     * @param record to tokenize
+     * @return the number of tokens
+     * @throws IllegalArgumentException if a field is not qualified as expected
+     */
+    public int tokenize(final CharSequence record) {
+        tokenCount = 0;
+        bufferLength = 0;
+        int length = record.length();
+        int position = 0;
+        while (true) {
+            int tokenStart = bufferLength;
+            if (qualifier.isEmpty()) {
+                position = readUnqualifiedField(record, position, length, tokenStart);
+            } else {
+                position = readQualifiedField(record, position, length);
+            }
+            addToken(tokenStart, bufferLength);
+            if (position >= length) {
+                return tokenCount;
+            }
+            position += delimiter.length(); // skip delimiter
+        }
+    }
+
+    /**
+     * Get the number of tokens of the last tokenized record.
+     *
+     * @return the number of tokens
+     */
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * Get a token of the last tokenized record.
+     *
+     * @param index of the token
+     * @return the token at the given index
+     */
+    public String getToken(final int index) {
+        checkIndex(index);
+        return new String(buffer, tokenStarts[index], tokenEnds[index] - tokenStarts[index]);
+    }
+
+    /**
+     * Get a view of a token of the last tokenized record, without copying it.
+     * The view is valid until the next call to {@code tokenize}.
+     *
+     * @param index of the token
+     * @return a view of the token at the given index
+     */
+    public CharSequence getTokenView(final int index) {
+        checkIndex(index);
+        return CharBuffer.wrap(buffer, tokenStarts[index], tokenEnds[index] - tokenStarts[index]);
+    }
+
+    /**
+     * Get a view of the characters of all tokens of the last tokenized record.
+     * Characters of the token at index {@code i} are between {@link #getTokenStart(int)}
+     * and {@link #getTokenEnd(int)}. The view is valid until the next call to {@code tokenize}.
+     *
+     * @return a view of the characters of all tokens
+     */
+    public CharSequence getTokens() {
+        if (bufferView.array() != buffer) { // the buffer has grown
+            bufferView = CharBuffer.wrap(buffer);
+        }
+        return bufferView;
+    }
+
+    /**
+     * Get the start index of a token in {@link #getTokens()}.
+     *
+     * @param index of the token
+     * @return the index of the first character of the token
+     */
+    public int getTokenStart(final int index) {
+        checkIndex(index);
+        return tokenStarts[index];
+    }
+
+    /**
+     * Get the end index (exclusive) of a token in {@link #getTokens()}.
+     *
+     * @param index of the token
+     * @return the index after the last character of the token
+     */
+    public int getTokenEnd(final int index) {
+        checkIndex(index);
+        return tokenEnds[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= tokenCount) {
+            throw new IndexOutOfBoundsException("token index " + index + " out of bounds for " + tokenCount + " tokens");
+        }
+    }
+
+    // returns the position of the delimiter ending the field, or the record length
+    private int readUnqualifiedField(CharSequence record, int position, int length, int tokenStart) {
+        position = skipWhitespaces(record, position, length);
+        while (position < length && !matches(record, position, length, delimiter)) {
+            append(record.charAt(position++));
+        }
+        if (trimWhitespaces) {
+            while (bufferLength > tokenStart && buffer[bufferLength - 1] <= ' ') {
+                bufferLength--;
+            }
+        }
+        return position;
+    }
+
+    private int readQualifiedField(CharSequence record, int fieldStart, int length) {
+        int position = skipWhitespaces(record, fieldStart, length);
+        if (!matches(record, position, length, qualifier)) {
+            throw notQualified(record, fieldStart, length);
+        }
+        position += qualifier.length();
+        while (position < length) {
+            if (matches(record, position, length, qualifier)) {
+                int next = position + qualifier.length();
+                if (matches(record, next, length, qualifier)) { // escaped qualifier
+                    appendQualifier();
+                    position = next + qualifier.length();
+                    continue;
+                }
+                next = skipWhitespaces(record, next, length);
+                if (next >= length || matches(record, next, length, delimiter)) { // closing qualifier
+                    return next;
+                }
+                appendQualifier(); // qualifier inside the field, kept as is
+                position += qualifier.length();
+            } else {
+                append(record.charAt(position++));
+            }
+        }
+        throw notQualified(record, fieldStart, length); // no closing qualifier
+    }
+
+    private int skipWhitespaces(CharSequence record, int position, int length) {
+        if (trimWhitespaces) {
+            while (position < length && record.charAt(position) <= ' ' && !matches(record, position, length, delimiter)) {
+                position++;
+            }
+        }
+        return position;
+    }
+
+    private boolean matches(CharSequence record, int position, int length, String pattern) {
+        int patternLength = pattern.length();
+        if (position + patternLength > length) {
+            return false;
+        }
+        for (int i = 0; i < patternLength; i++) {
+            if (record.charAt(position + i) != pattern.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IllegalArgumentException notQualified(CharSequence record, int fieldStart, int length) {
+        int fieldEnd = fieldStart;
+        while (fieldEnd < length && !matches(record, fieldEnd, length, delimiter)) {
+            fieldEnd++;
+        }
+        String field = record.subSequence(fieldStart, fieldEnd).toString();
+        return new IllegalArgumentException("field [" + field + "] is not enclosed as expected with '" + qualifier + "'");
+    }
+
+    private void append(char c) {
+        if (bufferLength == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[bufferLength++] = c;
+    }
+
+    private void appendQualifier() {
+        for (int i = 0; i < qualifier.length(); i++) {
+            append(qualifier.charAt(i));
+        }
+    }
+
+    private void addToken(int start, int end) {
+        if (tokenCount == tokenStarts.length) {
+            tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+            tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+        }
+        tokenStarts[tokenCount] = start;
+        tokenEnds[tokenCount] = end;
+        tokenCount++;
+    }
+}
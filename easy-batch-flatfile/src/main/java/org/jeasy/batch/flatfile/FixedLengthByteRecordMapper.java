@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.converter.CharSequenceTypeConverter;
+import org.jeasy.batch.core.mapper.BindingPlan;
+import org.jeasy.batch.core.mapper.ObjectMapper;
+import org.jeasy.batch.core.mapper.RecordMapper;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.util.Utils;
+
+import java.nio.charset.Charset;
+
+/**
+ * Mapper of fixed length records read as raw bytes (see {@link FixedLengthByteRecordReader})
+ * to objects, for files encoded in a single byte charset (like ASCII or EBCDIC code pages).
+ *
+ * Unlike {@link FixedLengthRecordMapper}, records are not decoded to strings: only bound
+ * fields are decoded, and fields converted by a {@link CharSequenceTypeConverter}
+ * (like numbers and dates) are parsed straight from the bytes of the record.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ * @param <P> type of the record's payload
+ */
+public class FixedLengthByteRecordMapper<P> extends AbstractFlatFileRecordMapper<P> implements RecordMapper<byte[], P> {
+
+    public static final boolean DEFAULT_WHITESPACE_TRIMMING = false;
+
+    private final int[] fieldsOffsets;
+    private final String[] fieldNames;
+    private final int recordExpectedLength;
+    private final char[] decodingTable;
+    private boolean trimWhitespaces = DEFAULT_WHITESPACE_TRIMMING;
+
+    /**
+     * Create a new {@link FixedLengthByteRecordMapper} instance for ASCII encoded records.
+     *
+     * @param recordClass  the target domain object class
+     * @param fieldsLength an array of fields length (in bytes) in the same order in the flat file.
+     * @param fieldNames   a String array representing fields name in the same order in the flat file.
+     */
+    public FixedLengthByteRecordMapper(Class<P> recordClass, int[] fieldsLength, String[] fieldNames) {
+        this(recordClass, fieldsLength, fieldNames, Charset.forName("US-ASCII"));
+    }
+
+    /**
+     * Create a new {@link FixedLengthByteRecordMapper} instance.
+     *
+     * @param recordClass  the target domain object class
+     * @param fieldsLength an array of fields length (in bytes) in the same order in the flat file.
+     * @param fieldNames   a String array representing fields name in the same order in the flat file.
+     * @param charset      of records, must be a single byte charset
+     */
+    public FixedLengthByteRecordMapper(Class<P> recordClass, int[] fieldsLength, String[] fieldNames, Charset charset) {
+        super(recordClass);
+        Utils.checkArgument(fieldsLength.length == fieldNames.length,
+                "fields length (" + fieldsLength.length + ") and field names (" + fieldNames.length + ") must have the same size");
+        this.fieldNames = fieldNames.clone();
+        this.decodingTable = SingleByteCharSequence.decodingTable(charset);
+        objectMapper = new ObjectMapper<>(recordClass);
+        fieldsOffsets = new int[fieldsLength.length + 1];
+        for (int i = 0; i < fieldsLength.length; i++) {
+            fieldsOffsets[i + 1] = fieldsOffsets[i] + fieldsLength[i];
+        }
+        recordExpectedLength = fieldsOffsets[fieldsLength.length];
+    }
+
+    @Override
+    public Record<P> processRecord(final Record<byte[]> record) throws Exception {
+        byte[] payload = record.getPayload();
+        if (payload.length != recordExpectedLength) {
+            throw new Exception("record length " + payload.length + " not equal to expected length of " + recordExpectedLength);
+        }
+
+        BindingPlan<P> plan = getBindingPlan();
+        SingleByteCharSequence characters = new SingleByteCharSequence(payload, 0, payload.length, decodingTable);
+        P object = plan.newInstance();
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (plan.isBound(i)) {
+                int start = fieldsOffsets[i];
+                int end = fieldsOffsets[i + 1];
+                if (trimWhitespaces) {
+                    while (start < end && characters.charAt(start) <= ' ') {
+                        start++;
+                    }
+                    while (end > start && characters.charAt(end - 1) <= ' ') {
+                        end--;
+                    }
+                }
+                plan.bind(object, i, characters, start, end);
+            }
+        }
+        return new GenericRecord<>(record.getHeader(), object);
+    }
+
+    @Override
+    BindingPlan<P> compileBindingPlan() {
+        return objectMapper.compileBindingPlan(fieldNames);
+    }
+
+    /**
+     * Trim white spaces when parsing the fixed length record.
+     *
+     * @param trimWhitespaces true if whitespaces should be trimmed
+     */
+    public void setTrimWhitespaces(final boolean trimWhitespaces) {
+        this.trimWhitespaces = trimWhitespaces;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.reader.AbstractFileRecordReader;
+import org.jeasy.batch.core.reader.ProgressAwareRecordReader;
+import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.Record;
+import org.jeasy.batch.core.util.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * A {@link RecordReader} that reads fixed length records as raw bytes from a file.
+ *
+ * Records are read by blocks from a {@link FileChannel} and do not need to be
+ * terminated by a line separator (as in most mainframe extracts). When records
+ * are separated (by a new line for instance), the number of bytes of the separator
+ * should be specified so that it is skipped. The separator of the last record is optional.
+ *
+ * This reader produces records with a {@code byte[]} payload, which can be mapped to objects
+ * without being decoded with a {@link FixedLengthByteRecordMapper}. Its progress is reported in bytes.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class FixedLengthByteRecordReader extends AbstractFileRecordReader<byte[]> implements ProgressAwareRecordReader<byte[]> {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final int recordLength;
+    private final int separatorLength;
+    private final int bufferSize;
+
+    private FileChannel fileChannel;
+    private ByteBuffer buffer;
+    private long totalWork;
+    private long completedWork;
+    private long currentRecordNumber;
+    private boolean endOfFile;
+    private String dataSourceName;
+
+    /**
+     * Create a new {@link FixedLengthByteRecordReader} for records that are not separated.
+     *
+     * @param path of the file to read records from
+     * @param recordLength length of records in bytes
+     */
+    public FixedLengthByteRecordReader(final Path path, final int recordLength) {
+        this(path, recordLength, 0);
+    }
+
+    /**
+     * Create a new {@link FixedLengthByteRecordReader}.
+     *
+     * @param path of the file to read records from
+     * @param recordLength length of records in bytes
+     * @param separatorLength length in bytes of the separator following each record
+     *                        (1 for {@code \n}, 2 for {@code \r\n})
+     */
+    public FixedLengthByteRecordReader(final Path path, final int recordLength, final int separatorLength) {
+        this(path, recordLength, separatorLength, DEFAULT_BUFFER_SIZE);
+    }
+
+    FixedLengthByteRecordReader(final Path path, final int recordLength, final int separatorLength, final int bufferSize) {
+        super(path);
+        Utils.checkArgument(recordLength >= 1, "The record length must be greater than or equal to 1");
+        Utils.checkArgument(separatorLength >= 0, "The separator length must be greater than or equal to 0");
+        this.recordLength = recordLength;
+        this.separatorLength = separatorLength;
+        // the buffer holds at least one record with its separator
+        this.bufferSize = Math.max(bufferSize, recordLength + separatorLength);
+    }
+
+    @Override
+    public void open() throws Exception {
+        fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        totalWork = fileChannel.size();
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+        buffer.flip();
+        endOfFile = false;
+        completedWork = 0;
+        currentRecordNumber = 0;
+        dataSourceName = path.toAbsolutePath().toString();
+    }
+
+    @Override
+    public Record<byte[]> readRecord() throws IOException {
+        if (!fill(recordLength)) {
+            if (buffer.hasRemaining()) {
+                throw new IOException("Truncated record at the end of file " + path + ": expected " + recordLength
+                        + " bytes but found " + buffer.remaining());
+            }
+            return null;
+        }
+        byte[] payload = new byte[recordLength];
+        buffer.get(payload);
+        completedWork += recordLength;
+        if (separatorLength > 0) {
+            fill(separatorLength);
+            int skipped = Math.min(separatorLength, buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            completedWork += skipped;
+        }
+        Header header = new Header(++currentRecordNumber, dataSourceName, LocalDateTime.now());
+        return new GenericRecord<>(header, payload);
+    }
+
+    @Override
+    public long getTotalWork() {
+        return totalWork;
+    }
+
+    @Override
+    public long getCompletedWork() {
+        return completedWork;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fileChannel != null) {
+            fileChannel.close();
+        }
+    }
+
+    // make sure the buffer has the given number of bytes, unless the end of file is reached
+    private boolean fill(int length) throws IOException {
+        if (buffer.remaining() >= length) {
+            return true;
+        }
+        buffer.compact();
+        while (!endOfFile && buffer.position() < length) {
+            endOfFile = fileChannel.read(buffer) < 0;
+        }
+        buffer.flip();
+        return buffer.remaining() >= length;
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A format in {@link java.util.Formatter} syntax compiled once to append fields
+ * in a {@link StringBuilder} without parsing the format for each record.
+ *
+ * Plain text as well as {@code %s} (with optional width, precision and {@code -} flag)
+ * and {@code %d} (with optional width and {@code -} or {@code 0} flag) specifiers are
+ * formatted directly. Other specifiers are formatted individually with
+ * {@link String#format(Locale, String, Object...)}, and formats with explicit argument
+ * indexes are entirely formatted with it, so that the output is always the same as
+ * with {@link String#format(Locale, String, Object...)}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class FixedLengthFormat {
+
+    // same syntax as in java.util.Formatter
+    private static final Pattern SPECIFIER = Pattern.compile("%(\\d+\\$)?([-#+ 0,(<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])");
+
+    private final String format;
+    private final Segment[] segments;
+
+    FixedLengthFormat(final String format) {
+        this.format = format;
+        this.segments = compile(format);
+    }
+
+    /**
+     * Format fields and append them to the given builder.
+     *
+     * @param locale to use to format fields
+     * @param asciiDigits true if the locale formats numbers with ASCII digits
+     * @param fields to format
+     * @param builder to append formatted fields to
+     */
+    void format(final Locale locale, final boolean asciiDigits, final Iterable<Object> fields, final StringBuilder builder) {
+        if (segments == null) {
+            List<Object> arguments = new ArrayList<>();
+            fields.forEach(arguments::add);
+            builder.append(String.format(locale, format, arguments.toArray()));
+            return;
+        }
+        Iterator<Object> iterator = fields.iterator();
+        for (Segment segment : segments) {
+            if (segment.type == SegmentType.LITERAL) {
+                builder.append(segment.text);
+                continue;
+            }
+            if (!iterator.hasNext()) {
+                throw new MissingFormatArgumentException(segment.text);
+            }
+            Object field = iterator.next();
+            if (segment.type == SegmentType.STRING && field != null && !(field instanceof Formattable)) {
+                appendString(segment, String.valueOf(field), builder);
+            } else if (segment.type == SegmentType.INTEGER && asciiDigits && isIntegral(field) && ((Number) field).longValue() != Long.MIN_VALUE) {
+                appendInteger(segment, ((Number) field).longValue(), builder);
+            } else {
+                builder.append(String.format(locale, segment.text, field));
+            }
+        }
+    }
+
+    private static void appendString(Segment segment, String value, StringBuilder builder) {
+        int length = segment.precision >= 0 ? Math.min(segment.precision, value.length()) : value.length();
+        int padding = segment.width - length;
+        if (!segment.leftJustify) {
+            pad(builder, ' ', padding);
+        }
+        builder.append(value, 0, length);
+        if (segment.leftJustify) {
+            pad(builder, ' ', padding);
+        }
+    }
+
+    private static void appendInteger(Segment segment, long value, StringBuilder builder) {
+        long magnitude = Math.abs(value);
+        int length = (value < 0 ? 1 : 0) + digits(magnitude);
+        int padding = segment.width - length;
+        if (segment.zeroPad) {
+            if (value < 0) {
+                builder.append('-');
+            }
+            pad(builder, '0', padding);
+            builder.append(magnitude);
+            return;
+        }
+        if (!segment.leftJustify) {
+            pad(builder, ' ', padding);
+        }
+        builder.append(value);
+        if (segment.leftJustify) {
+            pad(builder, ' ', padding);
+        }
+    }
+
+    private static int digits(long magnitude) {
+        int digits = 1;
+        while (magnitude >= 10) {
+            magnitude /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static void pad(StringBuilder builder, char c, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+    }
+
+    private static boolean isIntegral(Object field) {
+        return field instanceof Integer || field instanceof Long || field instanceof Short || field instanceof Byte;
+    }
+
+    // returns null if the format cannot be compiled, in which case it is entirely formatted with String.format
+    private static Segment[] compile(String format) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        Matcher matcher = SPECIFIER.matcher(format);
+        int index = 0;
+        while (index < format.length()) {
+            int percent = format.indexOf('%', index);
+            if (percent < 0) {
+                literal.append(format, index, format.length());
+                break;
+            }
+            literal.append(format, index, percent);
+            if (!matcher.find(percent) || matcher.start() != percent) {
+                return null; // invalid specifier, let String.format report it
+            }
+            index = matcher.end();
+            String flags = matcher.group(2) == null ? "" : matcher.group(2);
+            char conversion = matcher.group(6).charAt(0);
+            if (matcher.group(1) != null || flags.contains("<")) {
+                return null; // explicit argument indexes
+            }
+            if (conversion == '%' || conversion == 'n') {
+                if (!matcher.group().equals("%" + conversion)) {
+                    return null;
+                }
+                literal.append(conversion == '%' ? "%" : System.lineSeparator());
+                continue;
+            }
+            if (literal.length() > 0) {
+                segments.add(Segment.literal(literal.toString()));
+                literal.setLength(0);
+            }
+            segments.add(Segment.field(matcher, flags, conversion));
+        }
+        if (literal.length() > 0) {
+            segments.add(Segment.literal(literal.toString()));
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    private enum SegmentType {
+        LITERAL, STRING, INTEGER, OTHER
+    }
+
+    private static final class Segment {
+
+        private final SegmentType type;
+        private final String text; // literal text or specifier
+        private final int width;
+        private final int precision;
+        private final boolean leftJustify;
+        private final boolean zeroPad;
+
+        private Segment(SegmentType type, String text, int width, int precision, boolean leftJustify, boolean zeroPad) {
+            this.type = type;
+            this.text = text;
+            this.width = width;
+            this.precision = precision;
+            this.leftJustify = leftJustify;
+            this.zeroPad = zeroPad;
+        }
+
+        static Segment literal(String text) {
+            return new Segment(SegmentType.LITERAL, text, -1, -1, false, false);
+        }
+
+        static Segment field(Matcher matcher, String flags, char conversion) {
+            int width = matcher.group(3) == null ? -1 : Integer.parseInt(matcher.group(3));
+            int precision = matcher.group(4) == null ? -1 : Integer.parseInt(matcher.group(4).substring(1));
+            boolean leftJustify = flags.equals("-");
+            boolean zeroPad = flags.equals("0");
+            SegmentType type = SegmentType.OTHER;
+            // flags without a width are illegal: String.format reports them
+            boolean validFlags = flags.isEmpty() || ((leftJustify || zeroPad) && width >= 0);
+            if (matcher.group(5) == null && validFlags) {
+                if (conversion == 's' && !zeroPad) {
+                    type = SegmentType.STRING;
+                } else if (conversion == 'd' && precision < 0) {
+                    type = SegmentType.INTEGER;
+                }
+            }
+            return new Segment(type, matcher.group(), width, precision, leftJustify, zeroPad);
+        }
+    }
+}
@@ -23,16 +23,14 @@
  */
 package org.jeasy.batch.flatfile;
 
-import org.jeasy.batch.core.mapper.AbstractRecordMapper;
+import org.jeasy.batch.core.mapper.BindingPlan;
 import org.jeasy.batch.core.mapper.ObjectMapper;
 import org.jeasy.batch.core.mapper.RecordMapper;
 import org.jeasy.batch.core.record.GenericRecord;
 import org.jeasy.batch.core.record.Record;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Fixed Length Record to Object mapper implementation.
@@ -40,7 +38,7 @@ import java.util.Map;
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  * @param <P> type of the record's payload
  */
-public class FixedLengthRecordMapper<P> extends AbstractRecordMapper<P> implements RecordMapper<String, P> {
+public class FixedLengthRecordMapper<P> extends AbstractFlatFileRecordMapper<P> implements RecordMapper<String, P> {
 
     public static final boolean DEFAULT_WHITESPACE_TRIMMING = false;
 
@@ -49,6 +47,7 @@ public class FixedLengthRecordMapper<P> extends AbstractRecordMapper<P> implemen
     private String[] fieldNames;
     private int recordExpectedLength;
     private boolean trimWhitespaces = DEFAULT_WHITESPACE_TRIMMING;
+    private final boolean parseRecordOverridden = overridesParseRecord(getClass(), FixedLengthRecordMapper.class);
 
     /**
      * Create a new {@link FixedLengthRecordMapper} instance.
@@ -70,37 +69,83 @@ public class FixedLengthRecordMapper<P> extends AbstractRecordMapper<P> implemen
 
     @Override
     public Record<P> processRecord(final Record<String> record) throws Exception {
+        if (parseRecordOverridden) {
+            return new GenericRecord<>(record.getHeader(), objectMapper.mapObject(toMap(parseRecord(record), fieldNames, true)));
+        }
+        String payload = record.getPayload();
+        checkRecordLength(payload);
 
-        List<Field> fields = parseRecord(record);
-        Map<String, String> fieldsContents = new HashMap<>();
-        for (Field field : fields) {
-            String fieldName = fieldNames[field.getIndex()];
-            String fieldValue = field.getRawContent();
-            fieldsContents.put(fieldName, fieldValue);
+        BindingPlan<P> plan = getBindingPlan();
+        P object = plan.newInstance();
+        for (int i = 0; i < fieldsLength.length; i++) {
+            if (plan.isBound(i)) {
+                int start = getTokenStart(payload, i);
+                plan.bind(object, i, payload, start, getTokenEnd(payload, i, start));
+            }
         }
-        return new GenericRecord<>(record.getHeader(), objectMapper.mapObject(fieldsContents));
+        return new GenericRecord<>(record.getHeader(), object);
     }
 
+    /**
+     * Parse the record into fields. Records are bound to the target object directly
+     * from the payload, without going through this method, unless it is overridden
+     * by a subclass. In that case, fields it returns are mapped by name (slower).
+     *
+     * @param record to parse
+     * @return fields of the record
+     * @throws Exception if the record can not be parsed
+     */
     protected List<Field> parseRecord(final Record<String> record) throws Exception {
 
         String payload = record.getPayload();
-        int recordLength = payload.length();
+        checkRecordLength(payload);
 
+        List<Field> fields = new ArrayList<>(fieldsLength.length);
+        for (int i = 0; i < fieldsLength.length; i++) {
+            fields.add(new Field(i, getToken(payload, i)));
+        }
+
+        return fields;
+    }
+
+    private void checkRecordLength(String payload) throws Exception {
+        int recordLength = payload.length();
         if (recordLength != recordExpectedLength) {
             throw new Exception("record length " + recordLength + " not equal to expected length of " + recordExpectedLength);
         }
+    }
 
-        List<Field> fields = new ArrayList<>();
-        for (int i = 0; i < fieldsLength.length; i++) {
-            String token = payload.substring(fieldsOffsets[i], fieldsOffsets[i + 1]);
-            token = trimWhitespaces(token);
-            Field field = new Field(i, token);
-            fields.add(field);
+    // extract (and trim if needed) the field at the given index with a single copy
+    private String getToken(String payload, int index) {
+        int start = getTokenStart(payload, index);
+        return payload.substring(start, getTokenEnd(payload, index, start));
+    }
+
+    private int getTokenStart(String payload, int index) {
+        int start = fieldsOffsets[index];
+        if (trimWhitespaces) {
+            int end = fieldsOffsets[index + 1];
+            while (start < end && payload.charAt(start) <= ' ') {
+                start++;
+            }
         }
+        return start;
+    }
 
-        return fields;
+    private int getTokenEnd(String payload, int index, int start) {
+        int end = fieldsOffsets[index + 1];
+        if (trimWhitespaces) {
+            while (end > start && payload.charAt(end - 1) <= ' ') {
+                end--;
+            }
+        }
+        return end;
     }
 
+    @Override
+    BindingPlan<P> compileBindingPlan() {
+        return objectMapper.compileBindingPlan(fieldNames);
+    }
 
     // utility method to calculate field offsets used to extract fields from record.
     private int[] calculateOffsets(final int[] lengths) {
@@ -112,13 +157,6 @@ public class FixedLengthRecordMapper<P> extends AbstractRecordMapper<P> implemen
         return offsets;
     }
 
-    private String trimWhitespaces(final String token) {
-        if (trimWhitespaces) {
-            return token.trim();
-        }
-        return token;
-    }
-
     /**
      * Trim white spaces when parsing the fixed length record.
      *
@@ -31,11 +31,13 @@ import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 import org.jeasy.batch.core.util.Utils;
 
+import java.text.DecimalFormatSymbols;
 import java.util.Locale;
-import java.util.stream.StreamSupport;
 
 /**
- * Marshals a POJO to fixed length format using {@link String#format(Locale, String, Object...)}.
+ * Marshals a POJO to fixed length format using a format in {@link java.util.Formatter} syntax.
+ * The format is compiled once and common specifiers like {@code %-10s} or {@code %05d}
+ * are applied without {@link String#format(Locale, String, Object...)}, with the same output.
  *
  * <strong>This marshaller can be used to left/right pad fields with white spaces to a fixed length.
  * However, it does NOT truncate data if a field value is longer than the specified
@@ -47,8 +49,10 @@ import java.util.stream.StreamSupport;
 public class FixedLengthRecordMarshaller<P> implements RecordMarshaller<P, String> {
 
     private FieldExtractor<P> fieldExtractor;
-    private String format;
+    private FixedLengthFormat format;
     private Locale locale = Locale.getDefault();
+    private boolean asciiDigits = hasAsciiDigits(locale);
+    private final ThreadLocal<StringBuilder> builder = ThreadLocal.withInitial(StringBuilder::new);
 
     /**
      * Create a new {@link FixedLengthRecordMarshaller}. This constructor will
@@ -72,15 +76,16 @@ public class FixedLengthRecordMarshaller<P> implements RecordMarshaller<P, Strin
         Utils.checkNotNull(fieldExtractor, "field extractor");
         Utils.checkNotNull(format, "format");
         this.fieldExtractor = fieldExtractor;
-        this.format = format;
+        this.format = new FixedLengthFormat(format);
     }
 
     @Override
     public StringRecord processRecord(final Record<P> record) throws Exception {
         Header header = record.getHeader();
-        Object[] fields = toArray(fieldExtractor.extractFields(record.getPayload()));
-        String payload = String.format(locale, format, fields);
-        return new StringRecord(header, payload);
+        StringBuilder payload = builder.get();
+        payload.setLength(0);
+        format.format(locale, asciiDigits, fieldExtractor.extractFields(record.getPayload()), payload);
+        return new StringRecord(header, payload.toString());
     }
 
     /**
@@ -89,10 +94,11 @@ public class FixedLengthRecordMarshaller<P> implements RecordMarshaller<P, Strin
      */
     public void setLocale(Locale locale) {
         this.locale = locale;
+        this.asciiDigits = hasAsciiDigits(locale);
     }
 
-    // SDD: https://stackoverflow.com/a/51875471/5019386
-    private Object[] toArray(Iterable<Object> iterable) {
-        return StreamSupport.stream(iterable.spliterator(), false).toArray(Object[]::new);
+    // numbers are formatted with the zero digit of the locale
+    private static boolean hasAsciiDigits(Locale locale) {
+        return locale == null || DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
     }
 }
@@ -24,6 +24,7 @@
 package org.jeasy.batch.flatfile;
 
 import org.jeasy.batch.core.reader.AbstractFileRecordReader;
+import org.jeasy.batch.core.reader.ProgressAwareRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
 import org.jeasy.batch.core.record.Header;
 import org.jeasy.batch.core.record.StringRecord;
@@ -31,7 +32,9 @@ import org.jeasy.batch.core.record.StringRecord;
 import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
@@ -39,14 +42,22 @@ import java.time.LocalDateTime;
 /**
  * A {@link RecordReader} implementation that reads data from a flat file.
  *
- * This reader produces {@link StringRecord} instances.
+ * This reader produces {@link StringRecord} instances. Gzip compressed files
+ * are transparently decompressed.
+ *
+ * The progress of this reader is reported in bytes: the total work is the file
+ * size and the completed work is the position of the reader in the file (which
+ * may be slightly ahead of the last returned record because of buffering). For
+ * compressed files, both are measured on compressed bytes.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class FlatFileRecordReader extends AbstractFileRecordReader<String> {
+public class FlatFileRecordReader extends AbstractFileRecordReader<String> implements ProgressAwareRecordReader<String> {
 
     private BufferedReader bufferedReader;
+    private FileChannel fileChannel;
     private long currentRecordNumber;
+    private long fileSize;
 
     /**
      * Create a new {@link FlatFileRecordReader}.
@@ -81,7 +92,26 @@ public class FlatFileRecordReader extends AbstractFileRecordReader<String> {
     @Override
     public void open() throws Exception {
         currentRecordNumber = 0;
-        bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(path.toFile()), charset));
+        boolean compressed = isGzipCompressed(path);
+        FileInputStream fileInputStream = new FileInputStream(path.toFile());
+        fileChannel = fileInputStream.getChannel();
+        fileSize = fileChannel.size();
+        InputStream inputStream = compressed ? decompress(fileInputStream) : fileInputStream;
+        bufferedReader = new BufferedReader(new InputStreamReader(inputStream, charset));
+    }
+
+    @Override
+    public long getTotalWork() {
+        return fileSize;
+    }
+
+    @Override
+    public long getCompletedWork() {
+        try {
+            return fileChannel.position();
+        } catch (IOException e) {
+            return fileSize; // the channel is closed
+        }
     }
 
     @Override
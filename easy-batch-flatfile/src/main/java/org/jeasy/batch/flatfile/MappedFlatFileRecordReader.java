@@ -0,0 +1,294 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.reader.AbstractFileRecordReader;
+import org.jeasy.batch.core.reader.ProgressAwareRecordReader;
+import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.StringRecord;
+import org.jeasy.batch.core.util.Utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link RecordReader} that reads lines of a flat file (or of a chunk of it)
+ * through memory mapped windows of the file.
+ *
+ * A large file can be split in chunks aligned to line boundaries with
+ * {@link #split(Path, Charset, int)}, each chunk being read by its own reader,
+ * so that the file can be processed by parallel jobs without splitting it on disk.
+ * Record numbers are those of lines in the whole file, so records of different
+ * chunks have the same headers as if the file was read by a {@link FlatFileRecordReader}.
+ *
+ * Lines are terminated by {@code \n} or {@code \r\n}. Only charsets in which a line feed
+ * is encoded as the single byte {@code 0x0A} (like ASCII, ISO-8859-* or UTF-8) are supported.
+ *
+ * This reader produces {@link StringRecord} instances. Its progress is reported in bytes.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class MappedFlatFileRecordReader extends AbstractFileRecordReader<String> implements ProgressAwareRecordReader<String> {
+
+    static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final long start;
+    private final long end;
+    private final long firstRecordNumber;
+    private final int windowSize;
+
+    private FileChannel fileChannel;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long limit; // end of this reader, bounded by the size of the file when opened
+    private long currentRecordNumber;
+    private byte[] lineBuffer = new byte[1024];
+    private String dataSourceName;
+
+    /**
+     * Create a new {@link MappedFlatFileRecordReader} reading the whole file.
+     *
+     * @param path of the file to read records from
+     */
+    public MappedFlatFileRecordReader(final Path path) {
+        this(path, Charset.defaultCharset());
+    }
+
+    /**
+     * Create a new {@link MappedFlatFileRecordReader} reading the whole file.
+     *
+     * @param path of the file to read records from
+     * @param charset of the input file
+     */
+    public MappedFlatFileRecordReader(final Path path, final Charset charset) {
+        this(path, charset, 0, Long.MAX_VALUE, 1, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFlatFileRecordReader(final Path path, final Charset charset, final long start, final long end,
+                               final long firstRecordNumber, final int windowSize) {
+        super(path, charset);
+        checkCharset(charset);
+        this.start = start;
+        this.end = end;
+        this.firstRecordNumber = firstRecordNumber;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Split a file in chunks aligned to line boundaries. Chunks have roughly the same size
+     * in bytes. A chunk may be empty if the file has fewer lines than the number of chunks.
+     * Lines of each chunk are counted (in parallel) to number records as in the whole file.
+     *
+     * @param path of the file to split
+     * @param charset of the file
+     * @param chunks number of chunks
+     * @return a reader for each chunk, in the order of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static List<MappedFlatFileRecordReader> split(final Path path, final Charset charset, final int chunks) throws IOException {
+        return split(path, charset, chunks, DEFAULT_WINDOW_SIZE);
+    }
+
+    static List<MappedFlatFileRecordReader> split(final Path path, final Charset charset, final int chunks, final int windowSize) throws IOException {
+        Utils.checkArgument(chunks >= 1, "The number of chunks must be greater than or equal to 1");
+        checkCharset(charset);
+        long[] boundaries = new long[chunks + 1];
+        long[] lineCounts = new long[chunks];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            boundaries[chunks] = size;
+            for (int i = 1; i < chunks; i++) {
+                long target = Math.max(boundaries[i - 1], size / chunks * i);
+                boundaries[i] = target == 0 ? 0 : nextLineStart(channel, target - 1, size, windowSize);
+            }
+            // the last chunk is not counted: no other chunk starts after it
+            IntStream.range(0, chunks - 1).parallel().forEach(i -> {
+                try {
+                    lineCounts[i] = countLines(channel, boundaries[i], boundaries[i + 1], windowSize);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        List<MappedFlatFileRecordReader> readers = new ArrayList<>(chunks);
+        long firstRecordNumber = 1;
+        for (int i = 0; i < chunks; i++) {
+            readers.add(new MappedFlatFileRecordReader(path, charset, boundaries[i], boundaries[i + 1], firstRecordNumber, windowSize));
+            firstRecordNumber += lineCounts[i];
+        }
+        return readers;
+    }
+
+    @Override
+    public void open() throws Exception {
+        fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        long size = fileChannel.size();
+        position = Math.min(start, size);
+        limit = Math.min(end, size);
+        window = null;
+        currentRecordNumber = firstRecordNumber;
+        dataSourceName = path.toAbsolutePath().toString();
+    }
+
+    @Override
+    public StringRecord readRecord() throws IOException {
+        if (position >= limit) {
+            return null;
+        }
+        long lineFeed = indexOfLineFeed(limit);
+        long lineEnd = lineFeed;
+        if (lineEnd > position && byteAt(lineEnd - 1) == CARRIAGE_RETURN) {
+            lineEnd--;
+        }
+        int length = (int) (lineEnd - position);
+        if (lineBuffer.length < length) {
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        }
+        window.position((int) (position - windowStart));
+        window.get(lineBuffer, 0, length);
+        position = Math.min(lineFeed + 1, limit);
+        Header header = new Header(currentRecordNumber++, dataSourceName, LocalDateTime.now());
+        return new StringRecord(header, new String(lineBuffer, 0, length, charset));
+    }
+
+    @Override
+    public long getTotalWork() {
+        return limit - start;
+    }
+
+    @Override
+    public long getCompletedWork() {
+        return position - start;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null; // the mapping is released when the buffer is garbage collected
+        if (fileChannel != null) {
+            fileChannel.close();
+        }
+    }
+
+    /**
+     * Get the position in the file of the first byte of this reader.
+     *
+     * @return the start position of this reader
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Get the number of the first record of this reader.
+     *
+     * @return the number of the first record of this reader
+     */
+    public long getFirstRecordNumber() {
+        return firstRecordNumber;
+    }
+
+    // returns the position of the next line feed from the current position, or the limit
+    private long indexOfLineFeed(long limit) throws IOException {
+        ensureMapped(position, limit);
+        long index = position;
+        while (true) {
+            long windowEnd = windowStart + window.limit();
+            for (; index < windowEnd; index++) {
+                if (window.get((int) (index - windowStart)) == LINE_FEED) {
+                    return index;
+                }
+            }
+            if (windowEnd >= limit) {
+                return limit;
+            }
+            if (windowStart == position) {
+                throw new IOException("Line at position " + position + " of file " + path + " is longer than " + windowSize + " bytes");
+            }
+            mapWindow(position, limit); // slide the window to the start of the line
+        }
+    }
+
+    private byte byteAt(long index) {
+        return window.get((int) (index - windowStart));
+    }
+
+    private void ensureMapped(long from, long limit) throws IOException {
+        if (window == null || from < windowStart || from >= windowStart + window.limit()) {
+            mapWindow(from, limit);
+        }
+    }
+
+    private void mapWindow(long from, long limit) throws IOException {
+        windowStart = from;
+        window = fileChannel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(windowSize, limit - from));
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size, int windowSize) throws IOException {
+        for (long windowStart = from; windowStart < size; windowStart += windowSize) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(windowSize, size - windowStart));
+            for (int i = 0; i < buffer.limit(); i++) {
+                if (buffer.get(i) == LINE_FEED) {
+                    return windowStart + i + 1;
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long countLines(FileChannel channel, long from, long to, int windowSize) throws IOException {
+        long lines = 0;
+        for (long windowStart = from; windowStart < to; windowStart += windowSize) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(windowSize, to - windowStart));
+            for (int i = 0; i < buffer.limit(); i++) {
+                if (buffer.get(i) == LINE_FEED) {
+                    lines++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static void checkCharset(Charset charset) {
+        Utils.checkArgument(Arrays.equals("\n".getBytes(charset), new byte[]{LINE_FEED}),
+                "Charset " + charset + " is not supported: a line feed must be encoded as a single byte");
+    }
+
+}
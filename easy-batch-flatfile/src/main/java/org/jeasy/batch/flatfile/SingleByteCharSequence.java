@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.util.Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A {@link CharSequence} view over bytes encoded in a single byte charset.
+ * Characters are decoded lazily with a lookup table, so only the characters
+ * that are actually read are decoded.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class SingleByteCharSequence implements CharSequence {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private final char[] table;
+
+    SingleByteCharSequence(byte[] bytes, int offset, int length, char[] table) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.table = table;
+    }
+
+    /**
+     * Create the table of characters of each byte value in the given charset.
+     *
+     * @param charset a single byte charset
+     * @return the decoding table of the charset
+     * @throws IllegalArgumentException if the charset is not a single byte charset
+     */
+    static char[] decodingTable(Charset charset) {
+        Utils.checkArgument(charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1
+                        && charset.newDecoder().maxCharsPerByte() == 1,
+                "Charset " + charset + " is not a single byte charset");
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        char[] table = new char[256];
+        for (int b = 0; b < table.length; b++) {
+            try {
+                CharBuffer decoded = decoder.reset().decode(ByteBuffer.wrap(new byte[]{(byte) b}));
+                table[b] = decoded.hasRemaining() ? decoded.get() : '\uFFFD';
+            } catch (CharacterCodingException e) { // not thrown with REPLACE actions
+                table[b] = '\uFFFD';
+            }
+        }
+        return table;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return table[bytes[offset + index] & 0xFF];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new SingleByteCharSequence(bytes, offset + start, end - start, table);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = table[bytes[offset + i] & 0xFF];
+        }
+        return new String(chars);
+    }
+}
@@ -23,6 +23,7 @@
  */
 package org.jeasy.batch.flatfile;
 
+import org.jeasy.batch.core.converter.TypeConverter;
 import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 import org.junit.Before;
@@ -131,6 +132,40 @@ public class DelimitedRecordMapperTest {
         validateRecord(record);
     }
 
+    @Test
+    public void testRecordParsingWithRegularExpressionCharacterDelimiter() throws Exception {
+        delimitedRecordMapper.setDelimiter(".");
+        when(record.getPayload()).thenReturn("foo.bar.30.1990-12-12.true");
+        validateRecord(record);
+    }
+
+    @Test
+    public void testRecordParsingWithDelimiterInsideQualifiedField() throws Exception {
+        delimitedRecordMapper.setQualifier("\"");
+        when(record.getPayload()).thenReturn("\"foo, jr\",\"bar\",\"30\",\"1990-12-12\",\"true\"");
+        List<Field> fields = delimitedRecordMapper.parseRecord(record);
+        assertThat(fields).extracting("rawContent")
+          .containsExactly("foo, jr", "bar", "30", "1990-12-12", "true");
+    }
+
+    @Test
+    public void testRecordParsingWithEscapedQualifier() throws Exception {
+        delimitedRecordMapper.setQualifier("\"");
+        when(record.getPayload()).thenReturn("\"foo \"\"the boss\"\"\",\"bar\",\"30\",\"1990-12-12\",\"true\"");
+        List<Field> fields = delimitedRecordMapper.parseRecord(record);
+        assertThat(fields).extracting("rawContent")
+          .containsExactly("foo \"the boss\"", "bar", "30", "1990-12-12", "true");
+    }
+
+    @Test
+    public void testRecordParsingWithNewLineInsideQualifiedField() throws Exception {
+        delimitedRecordMapper.setQualifier("'");
+        when(record.getPayload()).thenReturn("'foo','bar\nbaz','30','1990-12-12','true'");
+        List<Field> fields = delimitedRecordMapper.parseRecord(record);
+        assertThat(fields).extracting("rawContent")
+          .containsExactly("foo", "bar\nbaz", "30", "1990-12-12", "true");
+    }
+
     @Test
     public void testFieldSubsetMapping() throws Exception {
         delimitedRecordMapper = new DelimitedRecordMapper<>(Person.class,
@@ -185,4 +220,39 @@ public class DelimitedRecordMapperTest {
         assertThat(person.isMarried()).isTrue();
     }
 
+    @Test
+    public void testRecordMappingWithCustomTypeConverter() throws Exception {
+        Record<Person> actual = delimitedRecordMapper.processRecord(record);
+        assertThat(actual.getPayload().getFirstName()).isEqualTo("foo");
+
+        // registering a type converter after a first record has been mapped should be taken into account
+        delimitedRecordMapper.registerTypeConverter(new TypeConverter<String, String>() {
+            @Override
+            public String convert(String value) {
+                return value.toUpperCase();
+            }
+        });
+        actual = delimitedRecordMapper.processRecord(record);
+
+        assertThat(actual.getPayload().getFirstName()).isEqualTo("FOO");
+        assertThat(actual.getPayload().getAge()).isEqualTo(30);
+    }
+
+    @Test
+    public void whenParseRecordIsOverridden_thenItShouldBeUsedToMapRecords() throws Exception {
+        delimitedRecordMapper = new DelimitedRecordMapper<Person>(Person.class, "firstName", "lastName", "age", "birthDate", "married") {
+            @Override
+            protected List<Field> parseRecord(Record<String> record) throws Exception {
+                List<Field> fields = super.parseRecord(record);
+                fields.set(0, new Field(0, fields.get(0).getRawContent().toUpperCase()));
+                return fields;
+            }
+        };
+
+        Person person = delimitedRecordMapper.processRecord(record).getPayload();
+
+        assertThat(person.getFirstName()).isEqualTo("FOO");
+        assertThat(person.getAge()).isEqualTo(30);
+    }
+
 }
@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DelimitedTokenizerTest {
+
+    @Test
+    public void testTokenize() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "", false);
+
+        int tokenCount = tokenizer.tokenize("foo,bar,,baz");
+
+        assertThat(tokenCount).isEqualTo(4);
+        assertThat(tokens(tokenizer)).containsExactly("foo", "bar", "", "baz");
+    }
+
+    @Test
+    public void testTokenizeEmptyRecord() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "", false);
+
+        assertThat(tokenizer.tokenize("")).isEqualTo(1);
+        assertThat(tokenizer.getToken(0)).isEmpty();
+    }
+
+    @Test
+    public void testTokenizeWithTrailingDelimiter() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "", false);
+
+        assertThat(tokenizer.tokenize("foo,")).isEqualTo(2);
+        assertThat(tokens(tokenizer)).containsExactly("foo", "");
+    }
+
+    @Test
+    public void testTokenizeCharArray() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(";", "", false);
+        char[] chars = "xxfoo;barxx".toCharArray();
+
+        assertThat(tokenizer.tokenize(chars, 2, 7)).isEqualTo(2);
+        assertThat(tokens(tokenizer)).containsExactly("foo", "bar");
+    }
+
+    @Test
+    public void testTokenizeWithMultipleCharactersDelimiter() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer("::", "", false);
+
+        tokenizer.tokenize("foo::b:ar::baz");
+
+        assertThat(tokens(tokenizer)).containsExactly("foo", "b:ar", "baz");
+    }
+
+    @Test
+    public void testTokenizeWithWhitespacesTrimming() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "\"", true);
+
+        tokenizer.tokenize("  \"foo \" ,\t\"bar\"  ");
+
+        assertThat(tokens(tokenizer)).containsExactly("foo ", "bar");
+    }
+
+    @Test
+    public void testTokenizeWithSpaceDelimiterAndWhitespacesTrimming() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(" ", "", true);
+
+        tokenizer.tokenize("foo bar  baz");
+
+        assertThat(tokens(tokenizer)).containsExactly("foo", "bar", "", "baz");
+    }
+
+    @Test
+    public void testTokenizeQualifiedFields() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "\"", false);
+
+        tokenizer.tokenize("\"a,b\",\"say \"\"hello\"\"\",\"line1\r\nline2\",\"\"");
+
+        assertThat(tokens(tokenizer)).containsExactly("a,b", "say \"hello\"", "line1\r\nline2", "");
+    }
+
+    @Test
+    public void testTokenizeKeepsUnescapedQualifierInsideField() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "'", false);
+
+        tokenizer.tokenize("'it's',''''");
+
+        assertThat(tokens(tokenizer)).containsExactly("it's", "'");
+    }
+
+    @Test
+    public void testUnqualifiedFieldIsRejected() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "'", false);
+
+        try {
+            tokenizer.tokenize("'foo',bar");
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessage("field [bar] is not enclosed as expected with '''");
+            return;
+        }
+        throw new AssertionError("An IllegalArgumentException should have been thrown");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnterminatedQualifiedFieldIsRejected() {
+        new DelimitedTokenizer(",", "'", false).tokenize("'foo','bar");
+    }
+
+    @Test
+    public void testTokenizerIsReusable() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "", false);
+        StringBuilder longRecord = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            longRecord.append("token").append(i).append(',');
+        }
+
+        assertThat(tokenizer.tokenize(longRecord)).isEqualTo(1001);
+        assertThat(tokenizer.getToken(999)).isEqualTo("token999");
+
+        assertThat(tokenizer.tokenize("foo,bar")).isEqualTo(2);
+        assertThat(tokens(tokenizer)).containsExactly("foo", "bar");
+        assertThat(tokenizer.getTokenView(1).toString()).isEqualTo("bar");
+    }
+
+    @Test
+    public void testTokenRanges() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "'", false);
+
+        tokenizer.tokenize("'foo','b''ar'");
+
+        CharSequence tokens = tokenizer.getTokens();
+        assertThat(tokens.subSequence(tokenizer.getTokenStart(0), tokenizer.getTokenEnd(0)).toString()).isEqualTo("foo");
+        assertThat(tokens.subSequence(tokenizer.getTokenStart(1), tokenizer.getTokenEnd(1)).toString()).isEqualTo("b'ar");
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetTokenOutOfBounds() {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", "", false);
+        tokenizer.tokenize("foo,bar");
+        tokenizer.getToken(2);
+    }
+
+    private static String[] tokens(DelimitedTokenizer tokenizer) {
+        String[] tokens = new String[tokenizer.getTokenCount()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokenizer.getToken(i);
+        }
+        return tokens;
+    }
+}
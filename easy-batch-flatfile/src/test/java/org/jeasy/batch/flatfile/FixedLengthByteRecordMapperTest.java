@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.record.GenericRecord;
+import org.jeasy.batch.core.record.Header;
+import org.jeasy.batch.core.record.Record;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FixedLengthByteRecordMapperTest {
+
+    private static final int[] FIELDS_LENGTH = {5, 5, 3, 5};
+    private static final String[] FIELD_NAMES = {"firstName", "lastName", "age", "married"};
+
+    @Test
+    public void whenRecordIsWellFormed_thenFieldsShouldBeDecodedAndConverted() throws Exception {
+        FixedLengthByteRecordMapper<Person> mapper = new FixedLengthByteRecordMapper<>(Person.class, FIELDS_LENGTH, FIELD_NAMES);
+        mapper.setTrimWhitespaces(true);
+
+        Person person = mapper.processRecord(record("foo  bar  042true ", StandardCharsets.US_ASCII)).getPayload();
+
+        assertThat(person.getFirstName()).isEqualTo("foo");
+        assertThat(person.getLastName()).isEqualTo("bar");
+        assertThat(person.getAge()).isEqualTo(42);
+        assertThat(person.isMarried()).isTrue();
+    }
+
+    @Test
+    public void whenFieldsAreNotTrimmed_thenRawValuesShouldBeKept() throws Exception {
+        FixedLengthByteRecordMapper<Person> mapper = new FixedLengthByteRecordMapper<>(Person.class, FIELDS_LENGTH, FIELD_NAMES);
+
+        Person person = mapper.processRecord(record("foo  bar  042true ", StandardCharsets.US_ASCII)).getPayload();
+
+        assertThat(person.getFirstName()).isEqualTo("foo  ");
+        assertThat(person.getAge()).isEqualTo(42);
+    }
+
+    @Test
+    public void whenAFieldIsNotBound_thenItShouldBeIgnored() throws Exception {
+        FixedLengthByteRecordMapper<Person> mapper = new FixedLengthByteRecordMapper<>(Person.class, FIELDS_LENGTH,
+                new String[]{"firstName", null, "age", null});
+        mapper.setTrimWhitespaces(true);
+
+        Person person = mapper.processRecord(record("foo  bar  042true ", StandardCharsets.US_ASCII)).getPayload();
+
+        assertThat(person.getFirstName()).isEqualTo("foo");
+        assertThat(person.getLastName()).isNull();
+        assertThat(person.getAge()).isEqualTo(42);
+        assertThat(person.isMarried()).isFalse();
+    }
+
+    @Test
+    public void whenRecordIsEncodedInEbcdic_thenFieldsShouldBeDecoded() throws Exception {
+        Charset ebcdic = Charset.forName("IBM037");
+        FixedLengthByteRecordMapper<Person> mapper = new FixedLengthByteRecordMapper<>(Person.class, FIELDS_LENGTH, FIELD_NAMES, ebcdic);
+        mapper.setTrimWhitespaces(true);
+
+        Person person = mapper.processRecord(record("foo  bar  -12true ", ebcdic)).getPayload();
+
+        assertThat(person.getFirstName()).isEqualTo("foo");
+        assertThat(person.getLastName()).isEqualTo("bar");
+        assertThat(person.getAge()).isEqualTo(-12);
+        assertThat(person.isMarried()).isTrue();
+    }
+
+    @Test
+    public void whenRecordLengthIsNotTheExpectedOne_thenMappingShouldFail() {
+        FixedLengthByteRecordMapper<Person> mapper = new FixedLengthByteRecordMapper<>(Person.class, FIELDS_LENGTH, FIELD_NAMES);
+
+        assertThatThrownBy(() -> mapper.processRecord(record("foo", StandardCharsets.US_ASCII)))
+                .hasMessage("record length 3 not equal to expected length of 18");
+    }
+
+    @Test
+    public void whenCharsetIsNotASingleByteCharset_thenItShouldBeRejected() {
+        assertThatThrownBy(() -> new FixedLengthByteRecordMapper<>(Person.class, FIELDS_LENGTH, FIELD_NAMES, StandardCharsets.UTF_8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void whenFieldsLengthAndNamesDoNotMatch_thenMapperShouldBeRejected() {
+        assertThatThrownBy(() -> new FixedLengthByteRecordMapper<>(Person.class, new int[]{4, 2}, FIELD_NAMES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Record<byte[]> record(String payload, Charset charset) {
+        return new GenericRecord<>(new Header(1L, "test", LocalDateTime.now()), payload.getBytes(charset));
+    }
+}
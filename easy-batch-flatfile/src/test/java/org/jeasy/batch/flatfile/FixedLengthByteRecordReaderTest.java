@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.record.Record;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FixedLengthByteRecordReaderTest {
+
+    private Path path = Paths.get("target/fixed-length.dat");
+
+    @Before
+    public void setUp() throws Exception {
+        Files.deleteIfExists(path);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void whenRecordsAreNotSeparated_thenRecordsShouldBeReadByLength() throws Exception {
+        write("aaaabbbbcccc");
+        FixedLengthByteRecordReader reader = new FixedLengthByteRecordReader(path, 4);
+
+        assertThat(readAll(reader)).containsExactly("1:aaaa", "2:bbbb", "3:cccc");
+        assertThat(reader.getCompletedWork()).isEqualTo(reader.getTotalWork()).isEqualTo(12);
+    }
+
+    @Test
+    public void whenRecordsAreSeparated_thenSeparatorsShouldBeSkipped() throws Exception {
+        write("aaaa\r\nbbbb\r\ncccc");
+        FixedLengthByteRecordReader reader = new FixedLengthByteRecordReader(path, 4, 2);
+
+        assertThat(readAll(reader)).containsExactly("1:aaaa", "2:bbbb", "3:cccc");
+        assertThat(reader.getCompletedWork()).isEqualTo(reader.getTotalWork());
+    }
+
+    @Test
+    public void whenBufferIsSmallerThanTheFile_thenRecordsShouldSpanBufferRefills() throws Exception {
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            String record = String.format("%05d", i);
+            content.append(record).append('\n');
+            expected.add(i + ":" + record);
+        }
+        write(content.toString());
+        FixedLengthByteRecordReader reader = new FixedLengthByteRecordReader(path, 5, 1, 7);
+
+        assertThat(readAll(reader)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void whenLastRecordIsTruncated_thenReadRecordShouldFail() throws Exception {
+        write("aaaabb");
+        FixedLengthByteRecordReader reader = new FixedLengthByteRecordReader(path, 4);
+        reader.open();
+
+        assertThat(reader.readRecord().getPayload()).isEqualTo("aaaa".getBytes(StandardCharsets.US_ASCII));
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class);
+        reader.close();
+    }
+
+    @Test
+    public void whenFileIsEmpty_thenNoRecordShouldBeRead() throws Exception {
+        write("");
+        FixedLengthByteRecordReader reader = new FixedLengthByteRecordReader(path, 4);
+
+        assertThat(readAll(reader)).isEmpty();
+    }
+
+    @Test
+    public void whenReaderIsReopened_thenNumberingAndProgressShouldRestart() throws Exception {
+        write("aaaabbbb");
+        FixedLengthByteRecordReader reader = new FixedLengthByteRecordReader(path, 4);
+        readAll(reader);
+
+        assertThat(readAll(reader)).containsExactly("1:aaaa", "2:bbbb");
+        assertThat(reader.getCompletedWork()).isEqualTo(8);
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static List<String> readAll(FixedLengthByteRecordReader reader) throws Exception {
+        List<String> records = new ArrayList<>();
+        reader.open();
+        Record<byte[]> record;
+        while ((record = reader.readRecord()) != null) {
+            records.add(record.getHeader().getNumber() + ":" + new String(record.getPayload(), StandardCharsets.US_ASCII));
+        }
+        reader.close();
+        return records;
+    }
+}
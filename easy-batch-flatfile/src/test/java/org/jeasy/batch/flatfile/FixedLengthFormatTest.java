@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FixedLengthFormatTest {
+
+    @Test
+    public void stringSpecifiersShouldBeFormattedAsWithStringFormat() {
+        assertSameAsStringFormat("%s|%5s|%-5s|%.2s|%5.2s|%-5.2s|%2s", "abc", "abc", "abc", "abc", "abc", "abc", "abcdef");
+        assertSameAsStringFormat("%5s%-5s%s", null, 42, BigDecimal.TEN);
+    }
+
+    @Test
+    public void integerSpecifiersShouldBeFormattedAsWithStringFormat() {
+        assertSameAsStringFormat("%d|%5d|%-5d|%05d|%05d|%2d", 42, 42L, (short) 42, (byte) 42, -42, 123456);
+        assertSameAsStringFormat("%d|%05d|%d|%05d", Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, 0);
+        assertSameAsStringFormat("%5d|%05d|%d", null, BigInteger.valueOf(-7), 3);
+    }
+
+    @Test
+    public void otherSpecifiersShouldBeFormattedAsWithStringFormat() {
+        assertSameAsStringFormat("%%|%8.2f|%S|%x|%,d|%+d|%n", 3.14159, "abc", 255, 1234567, 5);
+        assertSameAsStringFormat("%2$s%1$s", "a", "b");
+        assertSameAsStringFormat("%s %<s", "a");
+    }
+
+    @Test
+    public void integersShouldBeFormattedWithTheDigitsOfTheLocale() {
+        Locale arabic = Locale.forLanguageTag("ar-EG");
+        List<Object> fields = Arrays.asList(42, 7);
+        StringBuilder builder = new StringBuilder();
+
+        new FixedLengthFormat("%d%05d").format(arabic, false, fields, builder);
+
+        assertThat(builder.toString()).isEqualTo(String.format(arabic, "%d%05d", 42, 7));
+    }
+
+    @Test
+    public void whenFieldsAreMissing_thenFormatShouldFail() {
+        assertThatThrownBy(() -> new FixedLengthFormat("%s%s").format(Locale.US, true, Arrays.asList("a"), new StringBuilder()))
+                .isInstanceOf(MissingFormatArgumentException.class);
+    }
+
+    private static void assertSameAsStringFormat(String format, Object... fields) {
+        StringBuilder builder = new StringBuilder();
+        new FixedLengthFormat(format).format(Locale.US, true, Arrays.asList(fields), builder);
+        assertThat(builder.toString()).isEqualTo(String.format(Locale.US, format, fields));
+    }
+}
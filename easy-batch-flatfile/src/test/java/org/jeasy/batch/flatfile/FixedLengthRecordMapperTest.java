@@ -23,6 +23,7 @@
  */
 package org.jeasy.batch.flatfile;
 
+import org.jeasy.batch.core.record.Record;
 import org.jeasy.batch.core.record.StringRecord;
 import org.junit.Before;
 import org.junit.Test;
@@ -75,4 +76,23 @@ public class FixedLengthRecordMapperTest {
             .containsExactly("aa", "bb", "cc");
     }
 
+    @Test
+    public void whenParseRecordIsOverridden_thenItShouldBeUsedToMapRecords() throws Exception {
+        fixedLengthRecordMapper = new FixedLengthRecordMapper<Bean>(Bean.class,
+                new int[]{4, 2, 3},
+                new String[]{"field1", "field2", "field3"}) {
+            @Override
+            protected List<Field> parseRecord(Record<String> record) throws Exception {
+                List<Field> fields = super.parseRecord(record);
+                fields.set(0, new Field(0, fields.get(0).getRawContent().toUpperCase()));
+                return fields;
+            }
+        };
+
+        Bean bean = fixedLengthRecordMapper.processRecord(record).getPayload();
+
+        assertThat(bean.getField1()).isEqualTo("AAAA");
+        assertThat(bean.getField2()).isEqualTo("bb");
+    }
+
 }
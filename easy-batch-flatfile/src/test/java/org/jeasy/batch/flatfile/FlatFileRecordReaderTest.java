@@ -29,8 +29,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.FileNotFoundException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -69,6 +72,20 @@ public class FlatFileRecordReaderTest {
         assertThat(record).isNull();
     }
 
+    @Test
+    public void progressShouldBeReportedInBytes() throws Exception {
+        flatFileRecordReader = new FlatFileRecordReader(dataSource);
+        flatFileRecordReader.open();
+        assertThat(flatFileRecordReader.getTotalWork()).isEqualTo(Files.size(dataSource));
+        assertThat(flatFileRecordReader.getCompletedWork()).isEqualTo(0);
+
+        while (flatFileRecordReader.readRecord() != null) {
+            // read all records
+        }
+
+        assertThat(flatFileRecordReader.getCompletedWork()).isEqualTo(Files.size(dataSource));
+    }
+
     @Test(expected = FileNotFoundException.class)
     public void whenInputFileDoesNotExist_thenOpeningTheReaderShouldThrowFileNotFoundException() throws Exception {
         flatFileRecordReader = new FlatFileRecordReader(nonExistingDataSource);
@@ -82,9 +99,26 @@ public class FlatFileRecordReaderTest {
         assertThat(flatFileRecordReader.readRecord()).isNull();
     }
 
+    @Test
+    public void whenInputFileIsGzipCompressed_thenRecordsShouldBeDecompressed() throws Exception {
+        Path compressedDataSource = Paths.get("target/tweets.csv.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(compressedDataSource))) {
+            Files.copy(dataSource, outputStream);
+        }
+        flatFileRecordReader = new FlatFileRecordReader(compressedDataSource);
+        flatFileRecordReader.open();
+
+        assertThat(flatFileRecordReader.readRecord().getPayload()).isEqualTo("id,user,message");
+        assertThat(flatFileRecordReader.readRecord().getPayload()).isEqualTo("1,foo,easy batch rocks! #EasyBatch");
+        assertThat(flatFileRecordReader.readRecord().getPayload()).isEqualTo("2,bar,@foo I do confirm :-)");
+        assertThat(flatFileRecordReader.readRecord()).isNull();
+        assertThat(flatFileRecordReader.getCompletedWork()).isEqualTo(Files.size(compressedDataSource));
+    }
+
     @After
     public void tearDown() throws Exception {
         flatFileRecordReader.close();
+        Files.deleteIfExists(Paths.get("target/tweets.csv.gz"));
     }
 
 }
@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.batch.flatfile;
+
+import org.jeasy.batch.core.record.StringRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MappedFlatFileRecordReaderTest {
+
+    private static final Charset UTF_8 = StandardCharsets.UTF_8;
+
+    private Path dataSource = Paths.get("src/test/resources/tweets.csv");
+    private Path path = Paths.get("target/mapped.txt");
+
+    @Before
+    public void setUp() throws Exception {
+        Files.deleteIfExists(path);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void whenReadingTheWholeFile_thenRecordsShouldBeTheSameAsWithFlatFileRecordReader() throws Exception {
+        MappedFlatFileRecordReader reader = new MappedFlatFileRecordReader(dataSource, UTF_8);
+        reader.open();
+        StringRecord record = reader.readRecord();
+        assertThat(record.getHeader().getNumber()).isEqualTo(1L);
+        assertThat(record.getHeader().getSource()).isEqualTo(dataSource.toAbsolutePath().toString());
+        assertThat(record.getPayload()).isEqualTo("id,user,message");
+
+        record = reader.readRecord();
+        assertThat(record.getHeader().getNumber()).isEqualTo(2L);
+        assertThat(record.getPayload()).isEqualTo("1,foo,easy batch rocks! #EasyBatch");
+
+        record = reader.readRecord();
+        assertThat(record.getHeader().getNumber()).isEqualTo(3L);
+        assertThat(record.getPayload()).isEqualTo("2,bar,@foo I do confirm :-)");
+
+        assertThat(reader.readRecord()).isNull();
+        assertThat(reader.getCompletedWork()).isEqualTo(reader.getTotalWork()).isEqualTo(Files.size(dataSource));
+        reader.close();
+    }
+
+    @Test
+    public void whenFileIsSplit_thenChunksShouldCoverAllLinesWithFileRecordNumbers() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            lines.add("line " + i + " é" + "x".repeat(i % 17));
+        }
+        Files.write(path, lines, UTF_8);
+
+        for (int chunks : new int[]{1, 2, 3, 7, 64}) {
+            List<MappedFlatFileRecordReader> readers = MappedFlatFileRecordReader.split(path, UTF_8, chunks);
+            assertThat(readers).hasSize(chunks);
+            assertThat(readAll(readers)).containsExactlyElementsOf(numbered(lines));
+        }
+    }
+
+    @Test
+    public void whenChunksAreMoreThanLines_thenExtraChunksShouldBeEmpty() throws Exception {
+        Files.write(path, "a\nb\n".getBytes(UTF_8));
+
+        List<MappedFlatFileRecordReader> readers = MappedFlatFileRecordReader.split(path, UTF_8, 5);
+
+        assertThat(readAll(readers)).containsExactly("1:a", "2:b");
+    }
+
+    @Test
+    public void whenLinesAreLongerThanWindow_thenTheWindowShouldSlide() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            lines.add("record-" + i);
+        }
+        Files.write(path, lines, UTF_8);
+
+        List<MappedFlatFileRecordReader> readers = MappedFlatFileRecordReader.split(path, UTF_8, 3, 16);
+
+        assertThat(readAll(readers)).containsExactlyElementsOf(numbered(lines));
+    }
+
+    @Test
+    public void whenALineIsLongerThanTheWindow_thenReadRecordShouldFail() throws Exception {
+        Files.write(path, "a line longer than the window\n".getBytes(UTF_8));
+        MappedFlatFileRecordReader reader = new MappedFlatFileRecordReader(path, UTF_8, 0, Long.MAX_VALUE, 1, 8);
+        reader.open();
+
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class);
+        reader.close();
+    }
+
+    @Test
+    public void carriageReturnsShouldBeRemovedAndLastLineMayNotBeTerminated() throws Exception {
+        Files.write(path, "a\r\n\r\nb\r\nc".getBytes(UTF_8));
+
+        List<MappedFlatFileRecordReader> readers = MappedFlatFileRecordReader.split(path, UTF_8, 2);
+
+        assertThat(readAll(readers)).containsExactly("1:a", "2:", "3:b", "4:c");
+    }
+
+    @Test
+    public void whenFileIsEmpty_thenNoRecordShouldBeRead() throws Exception {
+        Files.createFile(path);
+
+        List<MappedFlatFileRecordReader> readers = MappedFlatFileRecordReader.split(path, UTF_8, 3);
+
+        assertThat(readAll(readers)).isEmpty();
+    }
+
+    @Test
+    public void whenLineFeedIsNotASingleByte_thenCharsetShouldBeRejected() {
+        assertThatThrownBy(() -> new MappedFlatFileRecordReader(dataSource, StandardCharsets.UTF_16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> readAll(List<MappedFlatFileRecordReader> readers) throws Exception {
+        List<String> records = new ArrayList<>();
+        for (MappedFlatFileRecordReader reader : readers) {
+            reader.open();
+            StringRecord record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record.getHeader().getNumber() + ":" + record.getPayload());
+            }
+            assertThat(reader.getCompletedWork()).isEqualTo(reader.getTotalWork());
+            reader.close();
+        }
+        return records;
+    }
+
+    private static List<String> numbered(List<String> lines) {
+        List<String> numbered = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            numbered.add((i + 1) + ":" + lines.get(i));
+        }
+        return numbered;
+    }
+}
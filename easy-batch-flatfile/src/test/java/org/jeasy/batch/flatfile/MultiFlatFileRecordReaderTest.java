@@ -30,13 +30,19 @@ import org.jeasy.batch.core.processor.RecordCollector;
 import org.jeasy.batch.core.record.Record;
 import org.junit.Test;
 
+import java.io.FileNotFoundException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class MultiFlatFileRecordReaderTest {
 
@@ -67,4 +73,85 @@ public class MultiFlatFileRecordReaderTest {
         assertThat(records).hasSize(6);
 
     }
+
+    @Test
+    public void compressedAndUncompressedFilesShouldBeRead() throws Exception {
+        // given
+        Path plainFile = Paths.get("src/test/resources/tweets.csv");
+        Path compressedFile = Paths.get("target/tweets-copy.csv.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(compressedFile))) {
+            Files.copy(plainFile, outputStream);
+        }
+        MultiFlatFileRecordReader multiFileRecordReader = new MultiFlatFileRecordReader(Arrays.asList(compressedFile, plainFile));
+
+        // when
+        multiFileRecordReader.open();
+        List<String> payloads = new ArrayList<>();
+        Record<String> record;
+        while ((record = multiFileRecordReader.readRecord()) != null) {
+            payloads.add(record.getPayload());
+        }
+        multiFileRecordReader.close();
+        Files.delete(compressedFile);
+
+        // then
+        List<String> lines = Files.readAllLines(plainFile);
+        assertThat(payloads).hasSize(2 * lines.size());
+        assertThat(payloads.subList(0, lines.size())).isEqualTo(lines);
+        assertThat(payloads.subList(lines.size(), payloads.size())).isEqualTo(lines);
+    }
+
+    @Test
+    public void whenFilesArePrefetched_thenAllRecordsShouldBeReadInOrder() throws Exception {
+        // given
+        List<Path> files = new ArrayList<>();
+        List<String> expectedPayloads = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Path file = Paths.get("target/prefetched-" + i + ".txt");
+            List<String> lines = new ArrayList<>();
+            for (int j = 0; j < i % 7; j++) { // including empty files
+                lines.add("file " + i + " line " + j);
+            }
+            Files.write(file, lines);
+            files.add(file);
+            expectedPayloads.addAll(lines);
+        }
+        MultiFlatFileRecordReader multiFileRecordReader = new MultiFlatFileRecordReader(files);
+        multiFileRecordReader.setPrefetchedFiles(3);
+        multiFileRecordReader.setPrefetchedRecordsPerFile(2);
+
+        // when
+        multiFileRecordReader.open();
+        List<String> payloads = new ArrayList<>();
+        Record<String> record;
+        while ((record = multiFileRecordReader.readRecord()) != null) {
+            payloads.add(record.getPayload());
+        }
+        multiFileRecordReader.close();
+        for (Path file : files) {
+            Files.delete(file);
+        }
+
+        // then
+        assertThat(payloads).isEqualTo(expectedPayloads);
+    }
+
+    @Test
+    public void whenAPrefetchedFileCannotBeOpened_thenReadingShouldFailWhenReachingIt() throws Exception {
+        // given
+        Path file = Paths.get("src/test/resources/tweets.csv");
+        Path missingFile = Paths.get("target/missing.csv");
+        MultiFlatFileRecordReader multiFileRecordReader = new MultiFlatFileRecordReader(Arrays.asList(file, missingFile, file));
+        multiFileRecordReader.setPrefetchedFiles(2);
+
+        // when
+        multiFileRecordReader.open();
+        for (int i = 0; i < Files.readAllLines(file).size(); i++) {
+            assertThat(multiFileRecordReader.readRecord()).isNotNull();
+        }
+
+        // then
+        assertThatThrownBy(multiFileRecordReader::readRecord).isInstanceOf(FileNotFoundException.class);
+        multiFileRecordReader.close();
+    }
 }
@@ -23,6 +23,7 @@
  */
 package org.jeasy.batch.jdbc;
 
+import org.jeasy.batch.core.reader.ProgressAwareRecordReader;
 import org.jeasy.batch.core.reader.RecordReader;
 import org.jeasy.batch.core.record.Header;
 import org.slf4j.Logger;
@@ -43,9 +44,12 @@ import static org.jeasy.batch.core.util.Utils.checkNotNull;
  *
  * This reader produces {@link JdbcRecord} instances.
  *
+ * The progress of this reader is reported in records when a count query
+ * is provided with {@link #setCountQuery(String)}.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class JdbcRecordReader implements RecordReader<ResultSet> {
+public class JdbcRecordReader implements ProgressAwareRecordReader<ResultSet> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JdbcRecordReader.class.getSimpleName());
 
@@ -55,7 +59,9 @@ public class JdbcRecordReader implements RecordReader<ResultSet> {
     private ResultSet resultSet;
     private String query;
     private String dataSourceName;
-    private long currentRecordNumber;
+    private volatile long currentRecordNumber;
+    private String countQuery;
+    private long totalRecords = -1;
 
     // parameters
     private int maxRows;
@@ -90,10 +96,31 @@ public class JdbcRecordReader implements RecordReader<ResultSet> {
         if (queryTimeout >= 1) {
             statement.setQueryTimeout(queryTimeout);
         }
+        if (countQuery != null) {
+            totalRecords = countRecords();
+        }
         resultSet = statement.executeQuery(query);
         dataSourceName = getDataSourceName();
     }
 
+    private long countRecords() throws SQLException {
+        try (Statement countStatement = connection.createStatement();
+             ResultSet countResultSet = countStatement.executeQuery(countQuery)) {
+            long count = countResultSet.next() ? countResultSet.getLong(1) : 0;
+            return maxRows >= 1 ? Math.min(count, maxRows) : count;
+        }
+    }
+
+    @Override
+    public long getTotalWork() {
+        return totalRecords;
+    }
+
+    @Override
+    public long getCompletedWork() {
+        return currentRecordNumber;
+    }
+
     private boolean hasNextRecord() {
         try {
             return resultSet.next();
@@ -156,6 +183,18 @@ public class JdbcRecordReader implements RecordReader<ResultSet> {
         this.fetchSize = fetchSize;
     }
 
+    /**
+     * Set a query returning the number of records to read (typically a {@code SELECT COUNT(*)}
+     * with the same criteria as the reading query). When set, this query is executed when the
+     * reader is opened and the job reports its progress and estimated end time.
+     *
+     * @param countQuery the count query
+     */
+    public void setCountQuery(final String countQuery) {
+        checkNotNull(countQuery, "count query");
+        this.countQuery = countQuery;
+    }
+
     /**
      * Set the statement query timeout.
      *
@@ -67,6 +67,25 @@ public class JdbcRecordReaderTest extends AbstractDatabaseTest {
         assertThat(jdbcRecordReader.readRecord()).isNull();
     }
 
+    @Test
+    public void whenCountQueryIsSet_thenProgressShouldBeReportedInRecords() throws Exception {
+        jdbcRecordReader.setCountQuery("select count(*) from tweet");
+        jdbcRecordReader.open();
+        long totalRecords = jdbcRecordReader.getTotalWork();
+        assertThat(totalRecords).isGreaterThan(0);
+        assertThat(jdbcRecordReader.getCompletedWork()).isEqualTo(0);
+
+        jdbcRecordReader.readRecord();
+
+        assertThat(jdbcRecordReader.getCompletedWork()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenCountQueryIsNotSet_thenTotalWorkShouldBeUnknown() throws Exception {
+        jdbcRecordReader.open();
+        assertThat(jdbcRecordReader.getTotalWork()).isNegative();
+    }
+
     @After
     public void tearDown() throws Exception {
         jdbcRecordReader.close();
@@ -24,6 +24,7 @@
 package org.jeasy.batch.jms;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
@@ -32,7 +33,7 @@ import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.Session;
 
-import org.jeasy.batch.core.reader.RecordReader;
+import org.jeasy.batch.core.reader.PollableRecordReader;
 import org.jeasy.batch.core.record.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,9 +48,12 @@ import static org.jeasy.batch.core.util.Utils.checkNotNull;
  *
  * It will stop reading records after a given timeout (defaults to {@link #DEFAULT_TIMEOUT}).
  *
+ * This reader is a {@link PollableRecordReader}, so it can be used with a
+ * job's max batch latency to close partial batches at low traffic.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
-public class JmsRecordReader implements RecordReader<Message> {
+public class JmsRecordReader implements PollableRecordReader<Message> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JmsRecordReader.class.getSimpleName());
 
@@ -103,7 +107,16 @@ public class JmsRecordReader implements RecordReader<Message> {
 
     @Override
     public JmsRecord readRecord() throws Exception {
-        Message message = messageConsumer.receive(timeout); // return null when timed out (See its javadoc)
+        return toRecord(messageConsumer.receive(timeout)); // return null when timed out (See its javadoc)
+    }
+
+    @Override
+    public JmsRecord pollRecord(long timeout, TimeUnit unit) throws Exception {
+        // receive(0) blocks indefinitely, so wait at least 1ms
+        return toRecord(messageConsumer.receive(Math.max(1, unit.toMillis(timeout))));
+    }
+
+    private JmsRecord toRecord(Message message) {
         if (message == null) {
             return null;
         }
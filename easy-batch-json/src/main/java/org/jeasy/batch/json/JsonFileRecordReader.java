@@ -25,8 +25,7 @@ package org.jeasy.batch.json;
 
 import org.jeasy.batch.core.reader.AbstractFileRecordReader;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
@@ -90,8 +89,8 @@ public class JsonFileRecordReader extends AbstractFileRecordReader<String> {
 
         private Path path;
 
-        Reader(Path path, Charset charset) throws FileNotFoundException {
-            super(new FileInputStream(path.toFile()), charset);
+        Reader(Path path, Charset charset) throws IOException {
+            super(openInputStream(path), charset);
             this.path = path;
         }
 
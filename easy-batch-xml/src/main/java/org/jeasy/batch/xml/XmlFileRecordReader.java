@@ -25,8 +25,7 @@ package org.jeasy.batch.xml;
 
 import org.jeasy.batch.core.reader.AbstractFileRecordReader;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
@@ -85,8 +84,8 @@ public class XmlFileRecordReader extends AbstractFileRecordReader<String> {
 
         private Path path;
 
-        Reader(Path path, String rootElementName, Charset charset) throws FileNotFoundException {
-            super(new FileInputStream(path.toFile()), rootElementName, charset);
+        Reader(Path path, String rootElementName, Charset charset) throws IOException {
+            super(openInputStream(path), rootElementName, charset);
             this.path = path;
         }
 